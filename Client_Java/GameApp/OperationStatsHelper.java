@@ -0,0 +1,131 @@
+package GameApp;
+
+
+/**
+* GameApp/OperationStatsHelper.java .
+* Generated by the IDL-to-Java compiler (portable), version "3.2"
+* from CORBA_IDLs/Game.idl
+* Monday, October 19, 2026 5:18:49 AM UTC
+*/
+
+abstract public class OperationStatsHelper
+{
+  private static String  _id = "IDL:GameApp/OperationStats:1.0";
+
+  public static void insert (org.omg.CORBA.Any a, GameApp.OperationStats that)
+  {
+    org.omg.CORBA.portable.OutputStream out = a.create_output_stream ();
+    a.type (type ());
+    write (out, that);
+    a.read_value (out.create_input_stream (), type ());
+  }
+
+  public static GameApp.OperationStats extract (org.omg.CORBA.Any a)
+  {
+    return read (a.create_input_stream ());
+  }
+
+  private static org.omg.CORBA.TypeCode __typeCode = null;
+  private static boolean __active = false;
+  synchronized public static org.omg.CORBA.TypeCode type ()
+  {
+    if (__typeCode == null)
+    {
+      synchronized (org.omg.CORBA.TypeCode.class)
+      {
+        if (__typeCode == null)
+        {
+          if (__active)
+          {
+            return org.omg.CORBA.ORB.init().create_recursive_tc ( _id );
+          }
+          __active = true;
+          org.omg.CORBA.StructMember[] _members0 = new org.omg.CORBA.StructMember [9];
+          org.omg.CORBA.TypeCode _tcOf_members0 = null;
+          _tcOf_members0 = org.omg.CORBA.ORB.init ().create_string_tc (0);
+          _members0[0] = new org.omg.CORBA.StructMember (
+            "operation",
+            _tcOf_members0,
+            null);
+          _tcOf_members0 = org.omg.CORBA.ORB.init ().get_primitive_tc (org.omg.CORBA.TCKind.tk_longlong);
+          _members0[1] = new org.omg.CORBA.StructMember (
+            "calls",
+            _tcOf_members0,
+            null);
+          _tcOf_members0 = org.omg.CORBA.ORB.init ().get_primitive_tc (org.omg.CORBA.TCKind.tk_longlong);
+          _members0[2] = new org.omg.CORBA.StructMember (
+            "errors",
+            _tcOf_members0,
+            null);
+          _tcOf_members0 = org.omg.CORBA.ORB.init ().get_primitive_tc (org.omg.CORBA.TCKind.tk_double);
+          _members0[3] = new org.omg.CORBA.StructMember (
+            "averageMillis",
+            _tcOf_members0,
+            null);
+          _tcOf_members0 = org.omg.CORBA.ORB.init ().get_primitive_tc (org.omg.CORBA.TCKind.tk_longlong);
+          _members0[4] = new org.omg.CORBA.StructMember (
+            "accountedCalls",
+            _tcOf_members0,
+            null);
+          _tcOf_members0 = org.omg.CORBA.ORB.init ().get_primitive_tc (org.omg.CORBA.TCKind.tk_double);
+          _members0[5] = new org.omg.CORBA.StructMember (
+            "cpuMillisPerCall",
+            _tcOf_members0,
+            null);
+          _tcOf_members0 = org.omg.CORBA.ORB.init ().get_primitive_tc (org.omg.CORBA.TCKind.tk_double);
+          _members0[6] = new org.omg.CORBA.StructMember (
+            "allocatedKBPerCall",
+            _tcOf_members0,
+            null);
+          _tcOf_members0 = org.omg.CORBA.ORB.init ().get_primitive_tc (org.omg.CORBA.TCKind.tk_double);
+          _members0[7] = new org.omg.CORBA.StructMember (
+            "cpuMillisTotal",
+            _tcOf_members0,
+            null);
+          _tcOf_members0 = org.omg.CORBA.ORB.init ().get_primitive_tc (org.omg.CORBA.TCKind.tk_double);
+          _members0[8] = new org.omg.CORBA.StructMember (
+            "allocatedMBTotal",
+            _tcOf_members0,
+            null);
+          __typeCode = org.omg.CORBA.ORB.init ().create_struct_tc (GameApp.OperationStatsHelper.id (), "OperationStats", _members0);
+          __active = false;
+        }
+      }
+    }
+    return __typeCode;
+  }
+
+  public static String id ()
+  {
+    return _id;
+  }
+
+  public static GameApp.OperationStats read (org.omg.CORBA.portable.InputStream istream)
+  {
+    GameApp.OperationStats value = new GameApp.OperationStats ();
+    value.operation = istream.read_string ();
+    value.calls = istream.read_longlong ();
+    value.errors = istream.read_longlong ();
+    value.averageMillis = istream.read_double ();
+    value.accountedCalls = istream.read_longlong ();
+    value.cpuMillisPerCall = istream.read_double ();
+    value.allocatedKBPerCall = istream.read_double ();
+    value.cpuMillisTotal = istream.read_double ();
+    value.allocatedMBTotal = istream.read_double ();
+    return value;
+  }
+
+  public static void write (org.omg.CORBA.portable.OutputStream ostream, GameApp.OperationStats value)
+  {
+    ostream.write_string (value.operation);
+    ostream.write_longlong (value.calls);
+    ostream.write_longlong (value.errors);
+    ostream.write_double (value.averageMillis);
+    ostream.write_longlong (value.accountedCalls);
+    ostream.write_double (value.cpuMillisPerCall);
+    ostream.write_double (value.allocatedKBPerCall);
+    ostream.write_double (value.cpuMillisTotal);
+    ostream.write_double (value.allocatedMBTotal);
+  }
+
+}
@@ -0,0 +1,38 @@
+package GameApp;
+
+/**
+* GameApp/OperationStatsHolder.java .
+* Generated by the IDL-to-Java compiler (portable), version "3.2"
+* from CORBA_IDLs/Game.idl
+* Monday, October 19, 2026 5:18:49 AM UTC
+*/
+
+public final class OperationStatsHolder implements org.omg.CORBA.portable.Streamable
+{
+  public GameApp.OperationStats value = null;
+
+  public OperationStatsHolder ()
+  {
+  }
+
+  public OperationStatsHolder (GameApp.OperationStats initialValue)
+  {
+    value = initialValue;
+  }
+
+  public void _read (org.omg.CORBA.portable.InputStream i)
+  {
+    value = GameApp.OperationStatsHelper.read (i);
+  }
+
+  public void _write (org.omg.CORBA.portable.OutputStream o)
+  {
+    GameApp.OperationStatsHelper.write (o, value);
+  }
+
+  public org.omg.CORBA.TypeCode _type ()
+  {
+    return GameApp.OperationStatsHelper.type ();
+  }
+
+}
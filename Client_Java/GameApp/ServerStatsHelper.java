@@ -0,0 +1,194 @@
+package GameApp;
+
+
+/**
+* GameApp/ServerStatsHelper.java .
+* Generated by the IDL-to-Java compiler (portable), version "3.2"
+* from CORBA_IDLs/Game.idl
+* Monday, October 19, 2026 5:18:49 AM UTC
+*/
+
+abstract public class ServerStatsHelper
+{
+  private static String  _id = "IDL:GameApp/ServerStats:1.0";
+
+  public static void insert (org.omg.CORBA.Any a, GameApp.ServerStats that)
+  {
+    org.omg.CORBA.portable.OutputStream out = a.create_output_stream ();
+    a.type (type ());
+    write (out, that);
+    a.read_value (out.create_input_stream (), type ());
+  }
+
+  public static GameApp.ServerStats extract (org.omg.CORBA.Any a)
+  {
+    return read (a.create_input_stream ());
+  }
+
+  private static org.omg.CORBA.TypeCode __typeCode = null;
+  private static boolean __active = false;
+  synchronized public static org.omg.CORBA.TypeCode type ()
+  {
+    if (__typeCode == null)
+    {
+      synchronized (org.omg.CORBA.TypeCode.class)
+      {
+        if (__typeCode == null)
+        {
+          if (__active)
+          {
+            return org.omg.CORBA.ORB.init().create_recursive_tc ( _id );
+          }
+          __active = true;
+          org.omg.CORBA.StructMember[] _members0 = new org.omg.CORBA.StructMember [18];
+          org.omg.CORBA.TypeCode _tcOf_members0 = null;
+          _tcOf_members0 = org.omg.CORBA.ORB.init ().get_primitive_tc (org.omg.CORBA.TCKind.tk_longlong);
+          _members0[0] = new org.omg.CORBA.StructMember (
+            "uptimeSeconds",
+            _tcOf_members0,
+            null);
+          _tcOf_members0 = org.omg.CORBA.ORB.init ().get_primitive_tc (org.omg.CORBA.TCKind.tk_long);
+          _members0[1] = new org.omg.CORBA.StructMember (
+            "loggedInUsers",
+            _tcOf_members0,
+            null);
+          _tcOf_members0 = org.omg.CORBA.ORB.init ().get_primitive_tc (org.omg.CORBA.TCKind.tk_long);
+          _members0[2] = new org.omg.CORBA.StructMember (
+            "waitingLobbies",
+            _tcOf_members0,
+            null);
+          _tcOf_members0 = org.omg.CORBA.ORB.init ().get_primitive_tc (org.omg.CORBA.TCKind.tk_long);
+          _members0[3] = new org.omg.CORBA.StructMember (
+            "activeGames",
+            _tcOf_members0,
+            null);
+          _tcOf_members0 = org.omg.CORBA.ORB.init ().get_primitive_tc (org.omg.CORBA.TCKind.tk_long);
+          _members0[4] = new org.omg.CORBA.StructMember (
+            "finishedGames",
+            _tcOf_members0,
+            null);
+          _tcOf_members0 = org.omg.CORBA.ORB.init ().get_primitive_tc (org.omg.CORBA.TCKind.tk_long);
+          _members0[5] = new org.omg.CORBA.StructMember (
+            "activeTimers",
+            _tcOf_members0,
+            null);
+          _tcOf_members0 = org.omg.CORBA.ORB.init ().get_primitive_tc (org.omg.CORBA.TCKind.tk_longlong);
+          _members0[6] = new org.omg.CORBA.StructMember (
+            "totalGuesses",
+            _tcOf_members0,
+            null);
+          _tcOf_members0 = org.omg.CORBA.ORB.init ().get_primitive_tc (org.omg.CORBA.TCKind.tk_double);
+          _members0[7] = new org.omg.CORBA.StructMember (
+            "guessesPerSecond",
+            _tcOf_members0,
+            null);
+          _tcOf_members0 = org.omg.CORBA.ORB.init ().get_primitive_tc (org.omg.CORBA.TCKind.tk_longlong);
+          _members0[8] = new org.omg.CORBA.StructMember (
+            "dbCalls",
+            _tcOf_members0,
+            null);
+          _tcOf_members0 = org.omg.CORBA.ORB.init ().get_primitive_tc (org.omg.CORBA.TCKind.tk_longlong);
+          _members0[9] = new org.omg.CORBA.StructMember (
+            "dbErrors",
+            _tcOf_members0,
+            null);
+          _tcOf_members0 = org.omg.CORBA.ORB.init ().get_primitive_tc (org.omg.CORBA.TCKind.tk_double);
+          _members0[10] = new org.omg.CORBA.StructMember (
+            "dbLatencyMillis",
+            _tcOf_members0,
+            null);
+          _tcOf_members0 = org.omg.CORBA.ORB.init ().get_primitive_tc (org.omg.CORBA.TCKind.tk_long);
+          _members0[11] = new org.omg.CORBA.StructMember (
+            "resultQueueDepth",
+            _tcOf_members0,
+            null);
+          _tcOf_members0 = org.omg.CORBA.ORB.init ().get_primitive_tc (org.omg.CORBA.TCKind.tk_long);
+          _members0[12] = new org.omg.CORBA.StructMember (
+            "pendingStatsPlayers",
+            _tcOf_members0,
+            null);
+          _tcOf_members0 = org.omg.CORBA.ORB.init ().get_primitive_tc (org.omg.CORBA.TCKind.tk_boolean);
+          _members0[13] = new org.omg.CORBA.StructMember (
+            "operationAccounting",
+            _tcOf_members0,
+            null);
+          _tcOf_members0 = org.omg.CORBA.ORB.init ().get_primitive_tc (org.omg.CORBA.TCKind.tk_long);
+          _members0[14] = new org.omg.CORBA.StructMember (
+            "admissionQueue",
+            _tcOf_members0,
+            null);
+          _tcOf_members0 = org.omg.CORBA.ORB.init ().get_primitive_tc (org.omg.CORBA.TCKind.tk_longlong);
+          _members0[15] = new org.omg.CORBA.StructMember (
+            "admissionRejected",
+            _tcOf_members0,
+            null);
+          _tcOf_members0 = org.omg.CORBA.ORB.init ().get_primitive_tc (org.omg.CORBA.TCKind.tk_boolean);
+          _members0[16] = new org.omg.CORBA.StructMember (
+            "shedding",
+            _tcOf_members0,
+            null);
+          _tcOf_members0 = org.omg.CORBA.ORB.init ().get_primitive_tc (org.omg.CORBA.TCKind.tk_double);
+          _members0[17] = new org.omg.CORBA.StructMember (
+            "loopDelayMillis",
+            _tcOf_members0,
+            null);
+          __typeCode = org.omg.CORBA.ORB.init ().create_struct_tc (GameApp.ServerStatsHelper.id (), "ServerStats", _members0);
+          __active = false;
+        }
+      }
+    }
+    return __typeCode;
+  }
+
+  public static String id ()
+  {
+    return _id;
+  }
+
+  public static GameApp.ServerStats read (org.omg.CORBA.portable.InputStream istream)
+  {
+    GameApp.ServerStats value = new GameApp.ServerStats ();
+    value.uptimeSeconds = istream.read_longlong ();
+    value.loggedInUsers = istream.read_long ();
+    value.waitingLobbies = istream.read_long ();
+    value.activeGames = istream.read_long ();
+    value.finishedGames = istream.read_long ();
+    value.activeTimers = istream.read_long ();
+    value.totalGuesses = istream.read_longlong ();
+    value.guessesPerSecond = istream.read_double ();
+    value.dbCalls = istream.read_longlong ();
+    value.dbErrors = istream.read_longlong ();
+    value.dbLatencyMillis = istream.read_double ();
+    value.resultQueueDepth = istream.read_long ();
+    value.pendingStatsPlayers = istream.read_long ();
+    value.operationAccounting = istream.read_boolean ();
+    value.admissionQueue = istream.read_long ();
+    value.admissionRejected = istream.read_longlong ();
+    value.shedding = istream.read_boolean ();
+    value.loopDelayMillis = istream.read_double ();
+    return value;
+  }
+
+  public static void write (org.omg.CORBA.portable.OutputStream ostream, GameApp.ServerStats value)
+  {
+    ostream.write_longlong (value.uptimeSeconds);
+    ostream.write_long (value.loggedInUsers);
+    ostream.write_long (value.waitingLobbies);
+    ostream.write_long (value.activeGames);
+    ostream.write_long (value.finishedGames);
+    ostream.write_long (value.activeTimers);
+    ostream.write_longlong (value.totalGuesses);
+    ostream.write_double (value.guessesPerSecond);
+    ostream.write_longlong (value.dbCalls);
+    ostream.write_longlong (value.dbErrors);
+    ostream.write_double (value.dbLatencyMillis);
+    ostream.write_long (value.resultQueueDepth);
+    ostream.write_long (value.pendingStatsPlayers);
+    ostream.write_boolean (value.operationAccounting);
+    ostream.write_long (value.admissionQueue);
+    ostream.write_longlong (value.admissionRejected);
+    ostream.write_boolean (value.shedding);
+    ostream.write_double (value.loopDelayMillis);
+  }
+
+}
@@ -5,7 +5,7 @@ package GameApp;
 * GameApp/StringSeqHelper.java .
 * Generated by the IDL-to-Java compiler (portable), version "3.2"
 * from CORBA_IDLs/Game.idl
-* Monday, 2 June 2025 1:32:45 PM AWST
+* Monday, October 19, 2026 5:18:49 AM UTC
 */
 
 abstract public class StringSeqHelper
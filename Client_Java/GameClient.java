@@ -30,6 +30,7 @@ public class GameClient extends JFrame {
     
     // Player components
     private JButton startGameButton;
+    private JComboBox<String> difficultyCombo;
     private JButton viewLeaderboardButton;
     
     // Game components
@@ -60,6 +61,17 @@ public class GameClient extends JFrame {
     private JTextArea searchResults;
     private JButton searchButton;
     
+    // Leaderboard tab components
+    private JTextArea standingsArea;
+    private JComboBox<String> standingsWindowCombo;
+    private int standingsOffset = 0;
+    private static final int STANDINGS_PAGE_SIZE = 20;
+    
+    // Server Status tab components
+    private JTextArea serverStatusArea;
+    private JCheckBox accountingCheckBox;
+    private Timer serverStatusTimer;
+    
     // Game config components
     private JTextField waitTimeField;
     private JTextField roundTimeField;
@@ -71,9 +83,15 @@ public class GameClient extends JFrame {
     // Matchmaking countdown components
     private Timer matchmakingTimer;
     private int remainingWaitTime;
+    private static final int MATCHMAKING_TIMEOUT_GRACE = 5; // seconds to wait for the server's lobby timeout
     private boolean isWaitingForMatch = false;
     private boolean hasShownGameStartCountdown = false;
     private String gameId = null; // Store the current game ID    
+    
+    // While the server has no free game slot we hold a place in its line by asking again
+    // (it drops players who haven't asked for a while)
+    private Timer admissionRetryTimer;
+    private static final int ADMISSION_RETRY_MILLIS = 2000;
     public GameClient(ORB orb) {
         this.orb = orb;
         initializeGUI();
@@ -94,14 +112,7 @@ public class GameClient extends JFrame {
     
     private void connectToServer() {
         try {
-            // Use the ORB that was initialized with command line arguments in main()
-            ORB orb = this.orb;
-
-            org.omg.CORBA.Object objRef = orb.resolve_initial_references("NameService");
-            NamingContextExt ncRef = NamingContextExtHelper.narrow(objRef);
-
-            NameComponent path[] = ncRef.to_name("Game");
-            gameService = GameServiceHelper.narrow(ncRef.resolve(path));
+            gameService = reconnecting(resolveGameService());
 
             log("Connected to Game Server successfully!");
         } catch (Exception e) {
@@ -111,6 +122,42 @@ public class GameClient extends JFrame {
         }
     }
 
+    private GameService resolveGameService() throws Exception {
+        // Use the ORB that was initialized with command line arguments in main()
+        ORB orb = this.orb;
+
+        org.omg.CORBA.Object objRef = orb.resolve_initial_references("NameService");
+        NamingContextExt ncRef = NamingContextExtHelper.narrow(objRef);
+
+        NameComponent path[] = ncRef.to_name("Game");
+        return GameServiceHelper.narrow(ncRef.resolve(path));
+    }
+    
+    // A restarted server registers a new object reference, so the old one stops working.
+    // Calls that fail to reach the server look the service up again and are retried once;
+    // the restarted server restores our session, so nothing else has to change.
+    private GameService reconnecting(GameService initial) {
+        java.util.concurrent.atomic.AtomicReference<GameService> current = new java.util.concurrent.atomic.AtomicReference<>(initial);
+        return (GameService) java.lang.reflect.Proxy.newProxyInstance(GameService.class.getClassLoader(),
+                new Class<?>[]{GameService.class}, (proxy, method, args) -> {
+                    try {
+                        return method.invoke(current.get(), args);
+                    } catch (java.lang.reflect.InvocationTargetException e) {
+                        Throwable cause = e.getCause();
+                        if (!(cause instanceof COMM_FAILURE || cause instanceof TRANSIENT || cause instanceof OBJECT_NOT_EXIST)) {
+                            throw cause;
+                        }
+                        log("Lost connection to server, looking it up again...");
+                        current.set(resolveGameService());
+                        try {
+                            return method.invoke(current.get(), args);
+                        } catch (java.lang.reflect.InvocationTargetException retry) {
+                            throw retry.getCause();
+                        }
+                    }
+                });
+    }
+
     private void initializeGUI() {
         setTitle("What's The Word - Game Client");
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
@@ -233,17 +280,23 @@ public class GameClient extends JFrame {
         gbc.insets = new Insets(20, 20, 30, 20);
         menuPanel.add(welcomeLabel, gbc);
         
+        // Word difficulty for the next game; players are only matched with the same choice
+        difficultyCombo = new JComboBox<>(new String[]{"Any Difficulty", "Easy", "Medium", "Hard"});
+        difficultyCombo.setPreferredSize(new Dimension(200, 30));
+        gbc.gridy = 1;
+        gbc.insets = new Insets(10, 20, 10, 20);
+        menuPanel.add(difficultyCombo, gbc);
+        
         startGameButton = new JButton("Start Game");
         startGameButton.setPreferredSize(new Dimension(200, 40));
         startGameButton.addActionListener(e -> startGame());
-        gbc.gridy = 1;
-        gbc.insets = new Insets(10, 20, 10, 20);
+        gbc.gridy = 2;
         menuPanel.add(startGameButton, gbc);
         
         viewLeaderboardButton = new JButton("View Leaderboard");
         viewLeaderboardButton.setPreferredSize(new Dimension(200, 40));
         viewLeaderboardButton.addActionListener(e -> viewLeaderboard());
-        gbc.gridy = 2;
+        gbc.gridy = 3;
         menuPanel.add(viewLeaderboardButton, gbc);
         
         playerPanel.add(menuPanel, BorderLayout.CENTER);
@@ -403,12 +456,57 @@ public class GameClient extends JFrame {
         updateConfigButton.addActionListener(e -> updateGameConfig());
         configPanel.add(updateConfigButton, gbc);
         
+        gbc.gridy = 3;
+        JButton reloadDictionaryButton = new JButton("Reload Word Dictionary");
+        reloadDictionaryButton.addActionListener(e -> reloadDictionary());
+        configPanel.add(reloadDictionaryButton, gbc);
+        
         configTab.add(configPanel, BorderLayout.NORTH);
         adminTabbedPane.addTab("Game Configuration", configTab);
+        
+        // Leaderboard tab: the full standings, a page at a time
+        JPanel standingsTab = new JPanel(new BorderLayout());
+        standingsArea = new JTextArea(20, 50);
+        standingsArea.setEditable(false);
+        standingsArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+        standingsTab.add(new JScrollPane(standingsArea), BorderLayout.CENTER);
+        JPanel standingsButtons = new JPanel(new FlowLayout());
+        standingsWindowCombo = new JComboBox<>(new String[]{"All Time", "Daily", "Weekly"});
+        standingsWindowCombo.addActionListener(e -> loadStandings(0));
+        standingsButtons.add(standingsWindowCombo);
+        JButton previousPageButton = new JButton("< Previous");
+        previousPageButton.addActionListener(e -> loadStandings(standingsOffset - STANDINGS_PAGE_SIZE));
+        standingsButtons.add(previousPageButton);
+        JButton nextPageButton = new JButton("Next >");
+        nextPageButton.addActionListener(e -> loadStandings(standingsOffset + STANDINGS_PAGE_SIZE));
+        standingsButtons.add(nextPageButton);
+        standingsTab.add(standingsButtons, BorderLayout.SOUTH);
+        adminTabbedPane.addTab("Leaderboard", standingsTab);
+        
+        // Server Status tab: live counters, refreshed every 2 seconds while the tab is open
+        JPanel serverStatusTab = new JPanel(new BorderLayout());
+        serverStatusArea = new JTextArea(20, 50);
+        serverStatusArea.setEditable(false);
+        serverStatusArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+        serverStatusTab.add(new JScrollPane(serverStatusArea), BorderLayout.CENTER);
+        JPanel serverStatusOptions = new JPanel(new FlowLayout());
+        accountingCheckBox = new JCheckBox("Measure CPU and allocation per operation");
+        accountingCheckBox.addActionListener(e -> setOperationAccounting(accountingCheckBox.isSelected()));
+        serverStatusOptions.add(accountingCheckBox);
+        serverStatusTab.add(serverStatusOptions, BorderLayout.SOUTH);
+        adminTabbedPane.addTab("Server Status", serverStatusTab);
+        serverStatusTimer = new Timer(2000, e -> loadServerStatus());
+        
         // Add change listener to automatically load config when tab is selected
         adminTabbedPane.addChangeListener(e -> {
+            serverStatusTimer.stop();
             if (adminTabbedPane.getSelectedIndex() == 1) { // Game Configuration tab
                 loadCurrentConfig();
+            } else if (adminTabbedPane.getSelectedIndex() == 2) { // Leaderboard tab
+                loadStandings(standingsOffset);
+            } else if (adminTabbedPane.getSelectedIndex() == 3) { // Server Status tab
+                loadServerStatus();
+                serverStatusTimer.start();
             }
         });
         
@@ -491,7 +589,11 @@ public class GameClient extends JFrame {
             } else {
                 // Handle different error types with specific messages
                 String errorMessage;
-                if ("ALREADY_LOGGED_IN".equals(loginResult)) {
+                if (loginResult.startsWith(GameService.BUSY + ":")) {
+                    // BUSY:retrySeconds:reason
+                    String[] busy = loginResult.split(":", 3);
+                    errorMessage = busy[2] + ". Please try again in " + busy[1] + " seconds.";
+                } else if ("ALREADY_LOGGED_IN".equals(loginResult)) {
                     errorMessage = "User is currently logged in. Please try again later or contact an administrator.";
                 } else if ("INVALID_CREDENTIALS".equals(loginResult)) {
                     errorMessage = "Login failed! Invalid username or password.";
@@ -527,9 +629,17 @@ public class GameClient extends JFrame {
     
     // Player methods
     private void startGame() {
+        stopAdmissionRetry();
         try {
-            log("Starting game...");
-            String[] result = gameService.startGame(username);
+            String[] result;
+            if (difficultyCombo.getSelectedIndex() > 0) {
+                String difficulty = ((String) difficultyCombo.getSelectedItem()).toUpperCase();
+                log("Starting game (" + difficulty + " words)...");
+                result = gameService.startGameWithMode(username, difficulty, 0, 0);
+            } else {
+                log("Starting game...");
+                result = gameService.startGame(username);
+            }
             
             if (result.length > 0) {
                 if (result[0].equals("SUCCESS")) {                    
@@ -563,6 +673,15 @@ public class GameClient extends JFrame {
                         startMatchmakingCountdown();
                         startGameStatusPolling();
                     }
+                } else if (result[0].equals(GameService.QUEUED)) {
+                    log(result[1] + " - number " + result[2] + " in line, about " + result[3] + " seconds");
+                    startGameButton.setText("In line: #" + result[2] + ", ~" + result[3] + " s");
+                    startGameButton.setEnabled(false);
+                    scheduleAdmissionRetry();
+                } else if (result[0].equals(GameService.BUSY)) {
+                    String message = result[1] + ". Please try again in " + result[2] + " seconds.";
+                    JOptionPane.showMessageDialog(this, message, "Server Busy", JOptionPane.WARNING_MESSAGE);
+                    log("Server busy: " + message);
                 } else {
                     JOptionPane.showMessageDialog(this, "Failed to start game: " + result[1], "Game Error", JOptionPane.ERROR_MESSAGE);
                     log("Failed to start game: " + result[1]);
@@ -575,7 +694,30 @@ public class GameClient extends JFrame {
             log("Error starting game: " + e.getMessage());
             JOptionPane.showMessageDialog(this, "Error starting game: " + e.getMessage(), "Game Error", JOptionPane.ERROR_MESSAGE);
         }
-    }    private void startGameStatusPolling() {
+    }
+    
+    private void scheduleAdmissionRetry() {
+        admissionRetryTimer = new Timer(ADMISSION_RETRY_MILLIS, e -> {
+            if (isLoggedIn && !inGame) {
+                startGame();
+            } else {
+                stopAdmissionRetry();
+            }
+        });
+        admissionRetryTimer.setRepeats(false);
+        admissionRetryTimer.start();
+    }
+    
+    private void stopAdmissionRetry() {
+        if (admissionRetryTimer != null) {
+            admissionRetryTimer.stop();
+            admissionRetryTimer = null;
+        }
+        startGameButton.setText("Start Game");
+        startGameButton.setEnabled(true);
+    }
+    
+    private void startGameStatusPolling() {
         // Check if timer is already running to avoid conflicts
         Timer existingTimer = (Timer) gamePanel.getClientProperty("statusTimer");
         if (existingTimer != null && existingTimer.isRunning()) {
@@ -600,6 +742,11 @@ public class GameClient extends JFrame {
         }
         try {
             String status = gameService.getPartialWord(username);
+            // Server closed our lobby because nobody joined in time
+            if (status != null && status.startsWith("Lobby closed")) {
+                handleMatchmakingTimeout(status.substring(status.indexOf(":") + 1).trim());
+                return;
+            }
             if (status != null && !status.isEmpty()) {                
                 // Check if match was found (game actually started) while waiting
                 if (isWaitingForMatch && !status.contains("Waiting") && !status.contains("No active game")) {
@@ -672,7 +819,10 @@ public class GameClient extends JFrame {
                         String dialogTitle;
                         String message;
                         
-                        if (status.contains("Congratulations! You won the game!")) {
+                        if (status.contains("forfeited the game")) {
+                            dialogTitle = "Victory!";
+                            message = "Your opponent disconnected.\n\nYou win the game by forfeit!";
+                        } else if (status.contains("Congratulations! You won the game!")) {
                             dialogTitle = "Victory!";
                             message = "Congratulations!\n\nYou won the game by winning 3 rounds!\n\nWell played!";                        } else {
                             // Extract winner name from status message
@@ -817,9 +967,24 @@ public class GameClient extends JFrame {
     private void viewLeaderboard() {
         try {
             String leaderboard = gameService.getLeaderboard();
+            int rank = gameService.getRank(username);
+            if (rank > 0) {
+                leaderboard += "\nYour rank: #" + rank + "\n";
+            }
+            leaderboard += "\n" + gameService.getPlayerStats(username) + "\n";
+            // Recent form: only round wins from the last day and the last week count here
+            for (String window : new String[]{"DAILY", "WEEKLY"}) {
+                leaderboard += "\n" + gameService.getWindowedLeaderboard(window, 0, 5);
+                int windowRank = gameService.getWindowedRank(username, window);
+                if (windowRank > 0) {
+                    leaderboard += "\nYour rank: #" + windowRank + "\n";
+                }
+            }
             JTextArea textArea = new JTextArea(leaderboard);
             textArea.setEditable(false);
             textArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+            textArea.setLineWrap(true);
+            textArea.setWrapStyleWord(true);
             JScrollPane scrollPane = new JScrollPane(textArea);
             scrollPane.setPreferredSize(new Dimension(400, 300));
             
@@ -945,8 +1110,103 @@ public class GameClient extends JFrame {
             JOptionPane.showMessageDialog(this, "Error: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
         }
     }    
+    private void loadStandings(int offset) {
+        try {
+            String[] windows = {"ALL", "DAILY", "WEEKLY"};
+            String window = windows[standingsWindowCombo.getSelectedIndex()];
+            String page = gameService.getWindowedLeaderboard(window, Math.max(0, offset), STANDINGS_PAGE_SIZE);
+            // Stay on the last page rather than paging past the end
+            if (offset > 0 && page.indexOf('\n') == page.length() - 1) {
+                return;
+            }
+            standingsOffset = Math.max(0, offset);
+            standingsArea.setText(page);
+            standingsArea.setCaretPosition(0);
+        } catch (Exception e) {
+            log("Error loading leaderboard: " + e.getMessage());
+        }
+    }
+    
+    private void loadServerStatus() {
+        if (!isLoggedIn || !serverStatusArea.isShowing()) {
+            serverStatusTimer.stop();
+            return;
+        }
+        try {
+            ServerStats stats = gameService.getServerStats();
+            StringBuilder text = new StringBuilder("SERVER STATUS\n\n");
+            text.append(String.format("Uptime:               %dh %02dm %02ds%n",
+                    stats.uptimeSeconds / 3600, stats.uptimeSeconds / 60 % 60, stats.uptimeSeconds % 60));
+            text.append(String.format("Logged-in users:      %d%n", stats.loggedInUsers));
+            text.append(String.format("Waiting lobbies:      %d%n", stats.waitingLobbies));
+            text.append(String.format("Active games:         %d%n", stats.activeGames));
+            text.append(String.format("Finished games:       %d (not yet cleaned up)%n", stats.finishedGames));
+            text.append(String.format("Active timers:        %d%n", stats.activeTimers));
+            text.append(String.format("Guesses per second:   %.1f (%d total)%n", stats.guessesPerSecond, stats.totalGuesses));
+            text.append(String.format("Database latency:     %.2f ms (%d calls, %d errors)%n",
+                    stats.dbLatencyMillis, stats.dbCalls, stats.dbErrors));
+            text.append(String.format("Results queue:        %d games%n", stats.resultQueueDepth));
+            text.append(String.format("Unsaved player stats: %d players%n", stats.pendingStatsPlayers));
+            text.append(String.format("Game loop delay:      %.2f ms%s%n", stats.loopDelayMillis,
+                    stats.shedding ? " (shedding new lobbies and logins)" : ""));
+            text.append(String.format("Waiting for a game:   %d players (%d refused as busy)%n", stats.admissionQueue, stats.admissionRejected));
+            accountingCheckBox.setSelected(stats.operationAccounting);
+            
+            // Heaviest allocators first; CPU and allocation only cover calls measured while accounting was on
+            OperationStats[] operations = gameService.getOperationStats();
+            java.util.Arrays.sort(operations, (a, b) -> Double.compare(b.allocatedMBTotal, a.allocatedMBTotal));
+            text.append(String.format("%n%-24s %9s %7s %9s %9s %10s %9s%n",
+                    "Operation", "Calls", "Errors", "Avg ms", "CPU ms", "Alloc KB", "Alloc MB"));
+            text.append(String.format("%-24s %9s %7s %9s %9s %10s %9s%n", "", "", "", "", "per call", "per call", "total"));
+            for (OperationStats op : operations) {
+                text.append(String.format("%-24s %9d %7d %9.2f %9.3f %10.1f %9.1f%n", op.operation, op.calls, op.errors,
+                        op.averageMillis, op.cpuMillisPerCall, op.allocatedKBPerCall, op.allocatedMBTotal));
+            }
+            int caret = serverStatusArea.getCaretPosition();
+            serverStatusArea.setText(text.toString());
+            serverStatusArea.setCaretPosition(Math.min(caret, serverStatusArea.getDocument().getLength()));
+        } catch (Exception e) {
+            serverStatusTimer.stop();
+            log("Error loading server status: " + e.getMessage());
+        }
+    }
+    
+    private void setOperationAccounting(boolean enabled) {
+        try {
+            if (!gameService.setOperationAccounting(enabled)) {
+                accountingCheckBox.setSelected(false);
+                JOptionPane.showMessageDialog(this, "The server's JVM cannot measure CPU or allocation per thread.",
+                        "Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            log("Operation accounting " + (enabled ? "enabled" : "disabled"));
+            loadServerStatus();
+        } catch (Exception e) {
+            log("Error switching operation accounting: " + e.getMessage());
+        }
+    }
+    
+    private void reloadDictionary() {
+        try {
+            // Running games keep their words; only games started after this use the new list
+            String result = gameService.reloadDictionary();
+            log(result);
+            if (result.startsWith("ERROR")) {
+                JOptionPane.showMessageDialog(this, result, "Error", JOptionPane.ERROR_MESSAGE);
+            } else {
+                JOptionPane.showMessageDialog(this, result, "Success", JOptionPane.INFORMATION_MESSAGE);
+            }
+        } catch (Exception e) {
+            log("Dictionary reload error: " + e.getMessage());
+            JOptionPane.showMessageDialog(this, "Error: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+    
     private void logout() {
         try {
+            if (startGameButton != null) {
+                stopAdmissionRetry();
+            }
             if (inGame) {
                 // Call the server to quit the game first
                 gameService.quitGame(username);
@@ -1058,20 +1318,23 @@ public class GameClient extends JFrame {
             // Only update display if still waiting for match
             if (isWaitingForMatch) {
                 // Update the game status area with countdown
+                int shownTime = Math.max(0, remainingWaitTime);
                 SwingUtilities.invokeLater(() -> {
-                    gameStatusArea.setText("Waiting for another player...\n" + "Time remaining: " + remainingWaitTime + " seconds\n" + "Please wait while we find you a match.");
+                    gameStatusArea.setText("Waiting for another player...\n" + "Time remaining: " + shownTime + " seconds\n" + "Please wait while we find you a match.");
                 });
             }
             
-            if (remainingWaitTime <= 0) {
-                handleMatchmakingTimeout();
+            // The server closes the lobby itself and reports it through the status poll;
+            // only give up locally if that notice never arrives
+            if (remainingWaitTime <= -MATCHMAKING_TIMEOUT_GRACE) {
+                handleMatchmakingTimeout("No match found within the time limit.");
             }
         });
         
         matchmakingTimer.start();
     }
     
-    private void handleMatchmakingTimeout() {
+    private void handleMatchmakingTimeout(String reason) {
         // Stop the countdown timer
         if (matchmakingTimer != null) {
             matchmakingTimer.stop();
@@ -1098,7 +1361,7 @@ public class GameClient extends JFrame {
         // Show "No match found" dialog and return to main menu
         SwingUtilities.invokeLater(() -> {
             JOptionPane.showMessageDialog(this,
-                "No match found within the time limit.\nReturning to main menu.",
+                reason + "\nReturning to main menu.",
                 "No Match Found",
                 JOptionPane.INFORMATION_MESSAGE);
             
@@ -1162,13 +1425,13 @@ public class GameClient extends JFrame {
                 if (isLoggedIn && sessionToken != null && username != null) {
                     String result = gameService.checkSessionStatus(username, sessionToken);
                     
-                    if (result.startsWith("DISPLACED:") || result.startsWith("FORCE_LOGOUT:")) {
+                    if (result.startsWith("DISPLACED:") || result.startsWith("FORCE_LOGOUT:") || result.equals("NO_SESSION")) {
                         // Stop the timer
                         sessionCheckTimer.stop();
                         
-                        // Extract message after the colon
+                        // Extract message after the colon (NO_SESSION means the server expired our lease)
                         String message = result.contains(":") ? result.substring(result.indexOf(":") + 1) : 
-                                        "This account has been logged in from another client.";
+                                        "Your session has expired because the server lost contact with this client.";
                         
                         // Show message and logout
                         SwingUtilities.invokeLater(() -> {
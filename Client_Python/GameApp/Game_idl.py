@@ -35,6 +35,71 @@ _0_GameApp._tc_StringSeq = omniORB.tcInternal.createTypeCode(_0_GameApp._ad_Stri
 omniORB.registerType(StringSeq._NP_RepositoryId, _0_GameApp._ad_StringSeq, _0_GameApp._tc_StringSeq)
 del StringSeq
 
+# struct ServerStats
+_0_GameApp.ServerStats = omniORB.newEmptyClass()
+class ServerStats (omniORB.StructBase):
+    _NP_RepositoryId = "IDL:GameApp/ServerStats:1.0"
+
+    def __init__(self, uptimeSeconds, loggedInUsers, waitingLobbies, activeGames, finishedGames, activeTimers, totalGuesses, guessesPerSecond, dbCalls, dbErrors, dbLatencyMillis, resultQueueDepth, pendingStatsPlayers, operationAccounting, admissionQueue, admissionRejected, shedding, loopDelayMillis):
+        self.uptimeSeconds = uptimeSeconds
+        self.loggedInUsers = loggedInUsers
+        self.waitingLobbies = waitingLobbies
+        self.activeGames = activeGames
+        self.finishedGames = finishedGames
+        self.activeTimers = activeTimers
+        self.totalGuesses = totalGuesses
+        self.guessesPerSecond = guessesPerSecond
+        self.dbCalls = dbCalls
+        self.dbErrors = dbErrors
+        self.dbLatencyMillis = dbLatencyMillis
+        self.resultQueueDepth = resultQueueDepth
+        self.pendingStatsPlayers = pendingStatsPlayers
+        self.operationAccounting = operationAccounting
+        self.admissionQueue = admissionQueue
+        self.admissionRejected = admissionRejected
+        self.shedding = shedding
+        self.loopDelayMillis = loopDelayMillis
+
+_0_GameApp.ServerStats = ServerStats
+_0_GameApp._d_ServerStats  = (omniORB.tcInternal.tv_struct, ServerStats, ServerStats._NP_RepositoryId, "ServerStats", "uptimeSeconds", omniORB.tcInternal.tv_longlong, "loggedInUsers", omniORB.tcInternal.tv_long, "waitingLobbies", omniORB.tcInternal.tv_long, "activeGames", omniORB.tcInternal.tv_long, "finishedGames", omniORB.tcInternal.tv_long, "activeTimers", omniORB.tcInternal.tv_long, "totalGuesses", omniORB.tcInternal.tv_longlong, "guessesPerSecond", omniORB.tcInternal.tv_double, "dbCalls", omniORB.tcInternal.tv_longlong, "dbErrors", omniORB.tcInternal.tv_longlong, "dbLatencyMillis", omniORB.tcInternal.tv_double, "resultQueueDepth", omniORB.tcInternal.tv_long, "pendingStatsPlayers", omniORB.tcInternal.tv_long, "operationAccounting", omniORB.tcInternal.tv_boolean, "admissionQueue", omniORB.tcInternal.tv_long, "admissionRejected", omniORB.tcInternal.tv_longlong, "shedding", omniORB.tcInternal.tv_boolean, "loopDelayMillis", omniORB.tcInternal.tv_double)
+_0_GameApp._tc_ServerStats = omniORB.tcInternal.createTypeCode(_0_GameApp._d_ServerStats)
+omniORB.registerType(ServerStats._NP_RepositoryId, _0_GameApp._d_ServerStats, _0_GameApp._tc_ServerStats)
+del ServerStats
+
+# struct OperationStats
+_0_GameApp.OperationStats = omniORB.newEmptyClass()
+class OperationStats (omniORB.StructBase):
+    _NP_RepositoryId = "IDL:GameApp/OperationStats:1.0"
+
+    def __init__(self, operation, calls, errors, averageMillis, accountedCalls, cpuMillisPerCall, allocatedKBPerCall, cpuMillisTotal, allocatedMBTotal):
+        self.operation = operation
+        self.calls = calls
+        self.errors = errors
+        self.averageMillis = averageMillis
+        self.accountedCalls = accountedCalls
+        self.cpuMillisPerCall = cpuMillisPerCall
+        self.allocatedKBPerCall = allocatedKBPerCall
+        self.cpuMillisTotal = cpuMillisTotal
+        self.allocatedMBTotal = allocatedMBTotal
+
+_0_GameApp.OperationStats = OperationStats
+_0_GameApp._d_OperationStats  = (omniORB.tcInternal.tv_struct, OperationStats, OperationStats._NP_RepositoryId, "OperationStats", "operation", (omniORB.tcInternal.tv_string,0), "calls", omniORB.tcInternal.tv_longlong, "errors", omniORB.tcInternal.tv_longlong, "averageMillis", omniORB.tcInternal.tv_double, "accountedCalls", omniORB.tcInternal.tv_longlong, "cpuMillisPerCall", omniORB.tcInternal.tv_double, "allocatedKBPerCall", omniORB.tcInternal.tv_double, "cpuMillisTotal", omniORB.tcInternal.tv_double, "allocatedMBTotal", omniORB.tcInternal.tv_double)
+_0_GameApp._tc_OperationStats = omniORB.tcInternal.createTypeCode(_0_GameApp._d_OperationStats)
+omniORB.registerType(OperationStats._NP_RepositoryId, _0_GameApp._d_OperationStats, _0_GameApp._tc_OperationStats)
+del OperationStats
+
+# typedef ... OperationStatsSeq
+class OperationStatsSeq:
+    _NP_RepositoryId = "IDL:GameApp/OperationStatsSeq:1.0"
+    def __init__(self, *args, **kw):
+        raise RuntimeError("Cannot construct objects of this type.")
+_0_GameApp.OperationStatsSeq = OperationStatsSeq
+_0_GameApp._d_OperationStatsSeq  = (omniORB.tcInternal.tv_sequence, omniORB.typeMapping["IDL:GameApp/OperationStats:1.0"], 0)
+_0_GameApp._ad_OperationStatsSeq = (omniORB.tcInternal.tv_alias, OperationStatsSeq._NP_RepositoryId, "OperationStatsSeq", (omniORB.tcInternal.tv_sequence, omniORB.typeMapping["IDL:GameApp/OperationStats:1.0"], 0))
+_0_GameApp._tc_OperationStatsSeq = omniORB.tcInternal.createTypeCode(_0_GameApp._ad_OperationStatsSeq)
+omniORB.registerType(OperationStatsSeq._NP_RepositoryId, _0_GameApp._ad_OperationStatsSeq, _0_GameApp._tc_OperationStatsSeq)
+del OperationStatsSeq
+
 # interface GameService
 _0_GameApp._d_GameService = (omniORB.tcInternal.tv_objref, "IDL:GameApp/GameService:1.0", "GameService")
 omniORB.typeMapping["IDL:GameApp/GameService:1.0"] = _0_GameApp._d_GameService
@@ -47,6 +112,9 @@ class GameService :
 
     _nil = CORBA.Object._nil
 
+    QUEUED = "QUEUED"
+    BUSY = "BUSY"
+
 
 _0_GameApp.GameService = GameService
 _0_GameApp._tc_GameService = omniORB.tcInternal.createTypeCode(_0_GameApp._d_GameService)
@@ -68,6 +136,16 @@ GameService._d_searchPlayer = (((omniORB.tcInternal.tv_string,0), ), ((omniORB.t
 GameService._d_setGameConfig = ((omniORB.tcInternal.tv_long, omniORB.tcInternal.tv_long), (omniORB.tcInternal.tv_boolean, ), None)
 GameService._d_getGameConfig = ((), ((omniORB.tcInternal.tv_string,0), ), None)
 GameService._d_checkSessionStatus = (((omniORB.tcInternal.tv_string,0), (omniORB.tcInternal.tv_string,0)), ((omniORB.tcInternal.tv_string,0), ), None)
+GameService._d_reloadDictionary = ((), ((omniORB.tcInternal.tv_string,0), ), None)
+GameService._d_startGameWithMode = (((omniORB.tcInternal.tv_string,0), (omniORB.tcInternal.tv_string,0), omniORB.tcInternal.tv_long, omniORB.tcInternal.tv_long), (omniORB.typeMapping["IDL:GameApp/StringSeq:1.0"], ), None)
+GameService._d_getRank = (((omniORB.tcInternal.tv_string,0), ), (omniORB.tcInternal.tv_long, ), None)
+GameService._d_getLeaderboardPage = ((omniORB.tcInternal.tv_long, omniORB.tcInternal.tv_long), ((omniORB.tcInternal.tv_string,0), ), None)
+GameService._d_getWindowedLeaderboard = (((omniORB.tcInternal.tv_string,0), omniORB.tcInternal.tv_long, omniORB.tcInternal.tv_long), ((omniORB.tcInternal.tv_string,0), ), None)
+GameService._d_getWindowedRank = (((omniORB.tcInternal.tv_string,0), (omniORB.tcInternal.tv_string,0)), (omniORB.tcInternal.tv_long, ), None)
+GameService._d_getPlayerStats = (((omniORB.tcInternal.tv_string,0), ), ((omniORB.tcInternal.tv_string,0), ), None)
+GameService._d_getServerStats = ((), (omniORB.typeMapping["IDL:GameApp/ServerStats:1.0"], ), None)
+GameService._d_getOperationStats = ((), (omniORB.typeMapping["IDL:GameApp/OperationStatsSeq:1.0"], ), None)
+GameService._d_setOperationAccounting = ((omniORB.tcInternal.tv_boolean, ), (omniORB.tcInternal.tv_boolean, ), None)
 
 # GameService object reference
 class _objref_GameService (CORBA.Object):
@@ -121,6 +199,36 @@ class _objref_GameService (CORBA.Object):
     def checkSessionStatus(self, *args):
         return self._obj.invoke("checkSessionStatus", _0_GameApp.GameService._d_checkSessionStatus, args)
 
+    def reloadDictionary(self, *args):
+        return self._obj.invoke("reloadDictionary", _0_GameApp.GameService._d_reloadDictionary, args)
+
+    def startGameWithMode(self, *args):
+        return self._obj.invoke("startGameWithMode", _0_GameApp.GameService._d_startGameWithMode, args)
+
+    def getRank(self, *args):
+        return self._obj.invoke("getRank", _0_GameApp.GameService._d_getRank, args)
+
+    def getLeaderboardPage(self, *args):
+        return self._obj.invoke("getLeaderboardPage", _0_GameApp.GameService._d_getLeaderboardPage, args)
+
+    def getWindowedLeaderboard(self, *args):
+        return self._obj.invoke("getWindowedLeaderboard", _0_GameApp.GameService._d_getWindowedLeaderboard, args)
+
+    def getWindowedRank(self, *args):
+        return self._obj.invoke("getWindowedRank", _0_GameApp.GameService._d_getWindowedRank, args)
+
+    def getPlayerStats(self, *args):
+        return self._obj.invoke("getPlayerStats", _0_GameApp.GameService._d_getPlayerStats, args)
+
+    def getServerStats(self, *args):
+        return self._obj.invoke("getServerStats", _0_GameApp.GameService._d_getServerStats, args)
+
+    def getOperationStats(self, *args):
+        return self._obj.invoke("getOperationStats", _0_GameApp.GameService._d_getOperationStats, args)
+
+    def setOperationAccounting(self, *args):
+        return self._obj.invoke("setOperationAccounting", _0_GameApp.GameService._d_setOperationAccounting, args)
+
 omniORB.registerObjref(GameService._NP_RepositoryId, _objref_GameService)
 _0_GameApp._objref_GameService = _objref_GameService
 del GameService, _objref_GameService
@@ -131,7 +239,7 @@ class GameService (PortableServer.Servant):
     _NP_RepositoryId = _0_GameApp.GameService._NP_RepositoryId
 
 
-    _omni_op_d = {"login": _0_GameApp.GameService._d_login, "getUserType": _0_GameApp.GameService._d_getUserType, "startGame": _0_GameApp.GameService._d_startGame, "guessLetter": _0_GameApp.GameService._d_guessLetter, "getPartialWord": _0_GameApp.GameService._d_getPartialWord, "getLeaderboard": _0_GameApp.GameService._d_getLeaderboard, "quitGame": _0_GameApp.GameService._d_quitGame, "logout": _0_GameApp.GameService._d_logout, "createPlayer": _0_GameApp.GameService._d_createPlayer, "updatePlayer": _0_GameApp.GameService._d_updatePlayer, "deletePlayer": _0_GameApp.GameService._d_deletePlayer, "searchPlayer": _0_GameApp.GameService._d_searchPlayer, "setGameConfig": _0_GameApp.GameService._d_setGameConfig, "getGameConfig": _0_GameApp.GameService._d_getGameConfig, "checkSessionStatus": _0_GameApp.GameService._d_checkSessionStatus}
+    _omni_op_d = {"login": _0_GameApp.GameService._d_login, "getUserType": _0_GameApp.GameService._d_getUserType, "startGame": _0_GameApp.GameService._d_startGame, "guessLetter": _0_GameApp.GameService._d_guessLetter, "getPartialWord": _0_GameApp.GameService._d_getPartialWord, "getLeaderboard": _0_GameApp.GameService._d_getLeaderboard, "quitGame": _0_GameApp.GameService._d_quitGame, "logout": _0_GameApp.GameService._d_logout, "createPlayer": _0_GameApp.GameService._d_createPlayer, "updatePlayer": _0_GameApp.GameService._d_updatePlayer, "deletePlayer": _0_GameApp.GameService._d_deletePlayer, "searchPlayer": _0_GameApp.GameService._d_searchPlayer, "setGameConfig": _0_GameApp.GameService._d_setGameConfig, "getGameConfig": _0_GameApp.GameService._d_getGameConfig, "checkSessionStatus": _0_GameApp.GameService._d_checkSessionStatus, "reloadDictionary": _0_GameApp.GameService._d_reloadDictionary, "startGameWithMode": _0_GameApp.GameService._d_startGameWithMode, "getRank": _0_GameApp.GameService._d_getRank, "getLeaderboardPage": _0_GameApp.GameService._d_getLeaderboardPage, "getWindowedLeaderboard": _0_GameApp.GameService._d_getWindowedLeaderboard, "getWindowedRank": _0_GameApp.GameService._d_getWindowedRank, "getPlayerStats": _0_GameApp.GameService._d_getPlayerStats, "getServerStats": _0_GameApp.GameService._d_getServerStats, "getOperationStats": _0_GameApp.GameService._d_getOperationStats, "setOperationAccounting": _0_GameApp.GameService._d_setOperationAccounting}
 
 GameService._omni_skeleton = GameService
 _0_GameApp__POA.GameService = GameService
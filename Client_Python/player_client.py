@@ -7,6 +7,29 @@ from GameApp import GameApp
 import atexit
 import signal
 
+LOBBY_TIMEOUT_GRACE = 5  # seconds to wait for the server's lobby timeout
+
+class ReconnectingService:
+    # A restarted server registers a new object reference, so the old one stops working.
+    # Calls that fail to reach the server look the service up again and are retried once;
+    # the restarted server restores our session, so nothing else has to change.
+    def __init__(self, resolve, service):
+        self._resolve = resolve
+        self._service = service
+
+    def __getattr__(self, name):
+        def call(*args):
+            try:
+                return getattr(self._service, name)(*args)
+            except (CORBA.COMM_FAILURE, CORBA.TRANSIENT, CORBA.OBJECT_NOT_EXIST):
+                print("Lost connection to server, looking it up again...")
+                service = self._resolve()
+                if service is None:
+                    raise
+                self._service = service
+                return getattr(self._service, name)(*args)
+        return call
+
 class PythonPlayerClient:    
     def __init__(self):
         self.orb = None
@@ -33,26 +56,10 @@ class PythonPlayerClient:
             args = ["-ORBInitRef", f"NameService=corbaname::{host}:{port}"]
             self.orb = CORBA.ORB_init(args, CORBA.ORB_ID)
             
-            # Get the root naming context
-            obj = self.orb.resolve_initial_references("NameService")
-            root_context = obj._narrow(CosNaming.NamingContext)
-            
-            if root_context is None:
-                print("ERROR: Failed to narrow the root naming context")
-                return False
-                # Resolve the game service
-            name = [CosNaming.NameComponent("Game", "")]
-            try:
-                obj = root_context.resolve(name)
-            except CosNaming.NamingContext.NotFound:
-                print("ERROR: Game service not found in naming service")
-                return False
-                # Narrow to GameService
-            self.game_service = obj._narrow(GameApp.GameService)
-            
-            if self.game_service is None:
-                print("ERROR: Failed to narrow to GameService")
+            service = self.resolve_game_service()
+            if service is None:
                 return False
+            self.game_service = ReconnectingService(self.resolve_game_service, service)
                 
             print("Successfully connected to game service!")
             return True
@@ -63,6 +70,28 @@ class PythonPlayerClient:
             print(f"Error during initialization: {e}")
             return False
     
+    def resolve_game_service(self):
+        # Look up the game service in the naming service; None if it can't be found
+        obj = self.orb.resolve_initial_references("NameService")
+        root_context = obj._narrow(CosNaming.NamingContext)
+        
+        if root_context is None:
+            print("ERROR: Failed to narrow the root naming context")
+            return None
+            # Resolve the game service
+        name = [CosNaming.NameComponent("Game", "")]
+        try:
+            obj = root_context.resolve(name)
+        except CosNaming.NamingContext.NotFound:
+            print("ERROR: Game service not found in naming service")
+            return None
+            # Narrow to GameService
+        service = obj._narrow(GameApp.GameService)
+        
+        if service is None:
+            print("ERROR: Failed to narrow to GameService")
+        return service
+    
     def login(self):
         # Handle user login
         username = input("Enter username: ").strip()
@@ -125,6 +154,10 @@ class PythonPlayerClient:
                     print(f"ERROR: Unknown user type: {user_type}")
                     self.game_service.logout(username)
                     return
+            elif result.startswith(GameApp.GameService.BUSY + ":"):
+                # BUSY:retrySeconds:reason
+                busy = result.split(":", 2)
+                print(f"Login failed: {busy[2]}. Please try again in {busy[1]} seconds.")
             else:
                 print(f"Login failed: {result}")
                 
@@ -162,13 +195,13 @@ class PythonPlayerClient:
                     if self.session_token and self.username:
                         result = self.game_service.checkSessionStatus(self.username, self.session_token)
                         
-                        if result.startswith("DISPLACED:") or result.startswith("FORCE_LOGOUT:"):
+                        if result.startswith("DISPLACED:") or result.startswith("FORCE_LOGOUT:") or result == "NO_SESSION":
                             self.displaced = True  # Set flag FIRST
                             self.session_monitoring = False
                             self.is_logged_in = False
                             
-                            # Extract message after the colon
-                            message = result.split(":", 1)[1] if ":" in result else "This account has been logged in from another client."
+                            # Extract message after the colon (NO_SESSION means the server expired our lease)
+                            message = result.split(":", 1)[1] if ":" in result else "Your session has expired because the server lost contact with this client."
                             print("\n\n*** IMPORTANT ***")
                             print(message)
                             print("You have been logged out.")
@@ -208,7 +241,18 @@ class PythonPlayerClient:
             return 10
     def start_game(self):
         try:
-            result = self.game_service.startGame(self.username)
+            # Players are only matched with lobbies that chose the same difficulty
+            difficulty = input("Word difficulty (easy/medium/hard, Enter for any): ").strip().upper()
+            while True:
+                if difficulty in ("EASY", "MEDIUM", "HARD"):
+                    result = self.game_service.startGameWithMode(self.username, difficulty, 0, 0)
+                else:
+                    result = self.game_service.startGame(self.username)
+                if len(result) < 4 or result[0] != GameApp.GameService.QUEUED:
+                    break
+                # No free game slot yet; asking again keeps our place in the server's line
+                print(f"{result[1]} - number {result[2]} in line, about {result[3]} seconds")
+                time.sleep(2)
             if len(result) >= 2:
                 status = result[0]
                 message = result[1]
@@ -231,6 +275,8 @@ class PythonPlayerClient:
                     
                     # Enter the game loop
                     self.play_game_loop()
+                elif status == GameApp.GameService.BUSY:
+                    print(f"Server busy: {message}. Please try again in {result[2]} seconds.")
                 else:
                     print(f"Failed to start game: {message}")            
                     
@@ -269,6 +315,12 @@ class PythonPlayerClient:
             try:
                 # Get current game status
                 status = self.game_service.getPartialWord(self.username)
+                # Server closed the lobby because nobody joined in time
+                if status.startswith("Lobby closed"):
+                    reason = status.split(":", 1)[1].strip()
+                    print(f"\nTIMEOUT: {reason}")
+                    print("Returning to main menu...")
+                    break
                 # Clear screen for clean output during waiting
                 if waiting_for_start or any(keyword in status.lower() for keyword in ['waiting', 'starting']):
                     self.clear_screen()
@@ -304,7 +356,9 @@ class PythonPlayerClient:
                             remaining = self.wait_timeout
                             print(f"WAITING: Another player needed to join... (Timeout in {self.wait_timeout} seconds)")
                         
-                        if remaining <= 0:
+                        # The server closes the lobby itself; only give up locally if its
+                        # notice never arrives
+                        if remaining <= 0 and time.time() - self.wait_start_time > self.wait_timeout + LOBBY_TIMEOUT_GRACE:
                             print("\nTIMEOUT: No player joined within the time limit!")
                             print("Returning to main menu...")
                             try:
@@ -422,6 +476,17 @@ class PythonPlayerClient:
             leaderboard = self.game_service.getLeaderboard()
             print("\n=== LEADERBOARD ===")
             print(leaderboard)
+            rank = self.game_service.getRank(self.username)
+            if rank > 0:
+                print(f"Your rank: #{rank}")
+            print(self.game_service.getPlayerStats(self.username))
+            # Recent form: only round wins from the last day and the last week count here
+            for window in ("DAILY", "WEEKLY"):
+                print()
+                print(self.game_service.getWindowedLeaderboard(window, 0, 5))
+                rank = self.game_service.getWindowedRank(self.username, window)
+                if rank > 0:
+                    print(f"Your rank: #{rank}")
         except CORBA.Exception as e:
             print(f"CORBA Exception getting leaderboard: {e}")
         except Exception as e:
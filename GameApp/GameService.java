@@ -5,9 +5,13 @@ package GameApp;
 * GameApp/GameService.java .
 * Generated by the IDL-to-Java compiler (portable), version "3.2"
 * from CORBA_IDLs/Game.idl
-* Monday, 2 June 2025 1:32:45 PM AWST
+* Monday, October 19, 2026 5:18:49 AM UTC
 */
 
 public interface GameService extends GameServiceOperations, org.omg.CORBA.Object, org.omg.CORBA.portable.IDLEntity 
 {
+
+  // opening a lobby, and login returns "BUSY:seconds:reason" instead of a new session
+  public static final String QUEUED = "QUEUED";
+  public static final String BUSY = "BUSY";
 } // interface GameService
@@ -5,7 +5,7 @@ package GameApp;
 * GameApp/GameServiceOperations.java .
 * Generated by the IDL-to-Java compiler (portable), version "3.2"
 * from CORBA_IDLs/Game.idl
-* Monday, 2 June 2025 1:32:45 PM AWST
+* Monday, October 19, 2026 5:18:49 AM UTC
 */
 
 public interface GameServiceOperations 
@@ -27,4 +27,14 @@ public interface GameServiceOperations
   boolean setGameConfig (int waitTime, int roundDuration);
   String getGameConfig ();
   String checkSessionStatus (String username, String sessionToken);
+  String reloadDictionary ();
+  String[] startGameWithMode (String username, String difficulty, int minLength, int maxLength);
+  int getRank (String username);
+  String getLeaderboardPage (int offset, int count);
+  String getWindowedLeaderboard (String window, int offset, int count);
+  int getWindowedRank (String username, String window);
+  String getPlayerStats (String username);
+  GameApp.ServerStats getServerStats ();
+  GameApp.OperationStats[] getOperationStats ();
+  boolean setOperationAccounting (boolean enabled);
 } // interface GameServiceOperations
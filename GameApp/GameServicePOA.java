@@ -5,7 +5,7 @@ package GameApp;
 * GameApp/GameServicePOA.java .
 * Generated by the IDL-to-Java compiler (portable), version "3.2"
 * from CORBA_IDLs/Game.idl
-* Monday, 2 June 2025 1:32:45 PM AWST
+* Monday, October 19, 2026 5:18:49 AM UTC
 */
 
 public abstract class GameServicePOA extends org.omg.PortableServer.Servant
@@ -32,6 +32,16 @@ public abstract class GameServicePOA extends org.omg.PortableServer.Servant
     _methods.put ("setGameConfig", new java.lang.Integer (12));
     _methods.put ("getGameConfig", new java.lang.Integer (13));
     _methods.put ("checkSessionStatus", new java.lang.Integer (14));
+    _methods.put ("reloadDictionary", new java.lang.Integer (15));
+    _methods.put ("startGameWithMode", new java.lang.Integer (16));
+    _methods.put ("getRank", new java.lang.Integer (17));
+    _methods.put ("getLeaderboardPage", new java.lang.Integer (18));
+    _methods.put ("getWindowedLeaderboard", new java.lang.Integer (19));
+    _methods.put ("getWindowedRank", new java.lang.Integer (20));
+    _methods.put ("getPlayerStats", new java.lang.Integer (21));
+    _methods.put ("getServerStats", new java.lang.Integer (22));
+    _methods.put ("getOperationStats", new java.lang.Integer (23));
+    _methods.put ("setOperationAccounting", new java.lang.Integer (24));
   }
 
   public org.omg.CORBA.portable.OutputStream _invoke (String $method,
@@ -197,6 +207,110 @@ public abstract class GameServicePOA extends org.omg.PortableServer.Servant
          break;
        }
 
+       case 15:  // GameApp/GameService/reloadDictionary
+       {
+         String $result = null;
+         $result = this.reloadDictionary ();
+         out = $rh.createReply();
+         out.write_string ($result);
+         break;
+       }
+
+       case 16:  // GameApp/GameService/startGameWithMode
+       {
+         String username = in.read_string ();
+         String difficulty = in.read_string ();
+         int minLength = in.read_long ();
+         int maxLength = in.read_long ();
+         String $result[] = null;
+         $result = this.startGameWithMode (username, difficulty, minLength, maxLength);
+         out = $rh.createReply();
+         GameApp.StringSeqHelper.write (out, $result);
+         break;
+       }
+
+       case 17:  // GameApp/GameService/getRank
+       {
+         String username = in.read_string ();
+         int $result = (int)0;
+         $result = this.getRank (username);
+         out = $rh.createReply();
+         out.write_long ($result);
+         break;
+       }
+
+       case 18:  // GameApp/GameService/getLeaderboardPage
+       {
+         int offset = in.read_long ();
+         int count = in.read_long ();
+         String $result = null;
+         $result = this.getLeaderboardPage (offset, count);
+         out = $rh.createReply();
+         out.write_string ($result);
+         break;
+       }
+
+       case 19:  // GameApp/GameService/getWindowedLeaderboard
+       {
+         String window = in.read_string ();
+         int offset = in.read_long ();
+         int count = in.read_long ();
+         String $result = null;
+         $result = this.getWindowedLeaderboard (window, offset, count);
+         out = $rh.createReply();
+         out.write_string ($result);
+         break;
+       }
+
+       case 20:  // GameApp/GameService/getWindowedRank
+       {
+         String username = in.read_string ();
+         String window = in.read_string ();
+         int $result = (int)0;
+         $result = this.getWindowedRank (username, window);
+         out = $rh.createReply();
+         out.write_long ($result);
+         break;
+       }
+
+       case 21:  // GameApp/GameService/getPlayerStats
+       {
+         String username = in.read_string ();
+         String $result = null;
+         $result = this.getPlayerStats (username);
+         out = $rh.createReply();
+         out.write_string ($result);
+         break;
+       }
+
+       case 22:  // GameApp/GameService/getServerStats
+       {
+         GameApp.ServerStats $result = null;
+         $result = this.getServerStats ();
+         out = $rh.createReply();
+         GameApp.ServerStatsHelper.write (out, $result);
+         break;
+       }
+
+       case 23:  // GameApp/GameService/getOperationStats
+       {
+         GameApp.OperationStats $result[] = null;
+         $result = this.getOperationStats ();
+         out = $rh.createReply();
+         GameApp.OperationStatsSeqHelper.write (out, $result);
+         break;
+       }
+
+       case 24:  // GameApp/GameService/setOperationAccounting
+       {
+         boolean enabled = in.read_boolean ();
+         boolean $result = false;
+         $result = this.setOperationAccounting (enabled);
+         out = $rh.createReply();
+         out.write_boolean ($result);
+         break;
+       }
+
        default:
          throw new org.omg.CORBA.BAD_OPERATION (0, org.omg.CORBA.CompletionStatus.COMPLETED_MAYBE);
     }
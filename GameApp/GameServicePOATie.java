@@ -0,0 +1,167 @@
+package GameApp;
+
+
+/**
+* GameApp/GameServicePOATie.java .
+* Generated by the IDL-to-Java compiler (portable), version "3.2"
+* from CORBA_IDLs/Game.idl
+* Monday, October 19, 2026 5:18:49 AM UTC
+*/
+
+public class GameServicePOATie extends GameServicePOA
+{
+
+  // Constructors
+
+  public GameServicePOATie ( GameApp.GameServiceOperations delegate ) {
+      this._impl = delegate;
+  }
+  public GameServicePOATie ( GameApp.GameServiceOperations delegate , org.omg.PortableServer.POA poa ) {
+      this._impl = delegate;
+      this._poa      = poa;
+  }
+  public GameApp.GameServiceOperations _delegate() {
+      return this._impl;
+  }
+  public void _delegate (GameApp.GameServiceOperations delegate ) {
+      this._impl = delegate;
+  }
+  public org.omg.PortableServer.POA _default_POA() {
+      if(_poa != null) {
+          return _poa;
+      }
+      else {
+          return super._default_POA();
+      }
+  }
+  public String login (String username, String password)
+  {
+    return _impl.login(username, password);
+  } // login
+
+  public String getUserType (String username)
+  {
+    return _impl.getUserType(username);
+  } // getUserType
+
+  public String[] startGame (String username)
+  {
+    return _impl.startGame(username);
+  } // startGame
+
+  public boolean guessLetter (String username, char letter)
+  {
+    return _impl.guessLetter(username, letter);
+  } // guessLetter
+
+  public String getPartialWord (String username)
+  {
+    return _impl.getPartialWord(username);
+  } // getPartialWord
+
+  public String getLeaderboard ()
+  {
+    return _impl.getLeaderboard();
+  } // getLeaderboard
+
+  public void quitGame (String username)
+  {
+    _impl.quitGame(username);
+  } // quitGame
+
+  public void logout (String username)
+  {
+    _impl.logout(username);
+  } // logout
+
+
+  // Admin functions
+  public boolean createPlayer (String username, String password)
+  {
+    return _impl.createPlayer(username, password);
+  } // createPlayer
+
+  public boolean updatePlayer (String username, String newPassword)
+  {
+    return _impl.updatePlayer(username, newPassword);
+  } // updatePlayer
+
+  public boolean deletePlayer (String username)
+  {
+    return _impl.deletePlayer(username);
+  } // deletePlayer
+
+  public String searchPlayer (String username)
+  {
+    return _impl.searchPlayer(username);
+  } // searchPlayer
+
+  public boolean setGameConfig (int waitTime, int roundDuration)
+  {
+    return _impl.setGameConfig(waitTime, roundDuration);
+  } // setGameConfig
+
+  public String getGameConfig ()
+  {
+    return _impl.getGameConfig();
+  } // getGameConfig
+
+  public String checkSessionStatus (String username, String sessionToken)
+  {
+    return _impl.checkSessionStatus(username, sessionToken);
+  } // checkSessionStatus
+
+  public String reloadDictionary ()
+  {
+    return _impl.reloadDictionary();
+  } // reloadDictionary
+
+  public String[] startGameWithMode (String username, String difficulty, int minLength, int maxLength)
+  {
+    return _impl.startGameWithMode(username, difficulty, minLength, maxLength);
+  } // startGameWithMode
+
+  public int getRank (String username)
+  {
+    return _impl.getRank(username);
+  } // getRank
+
+  public String getLeaderboardPage (int offset, int count)
+  {
+    return _impl.getLeaderboardPage(offset, count);
+  } // getLeaderboardPage
+
+  public String getWindowedLeaderboard (String window, int offset, int count)
+  {
+    return _impl.getWindowedLeaderboard(window, offset, count);
+  } // getWindowedLeaderboard
+
+  public int getWindowedRank (String username, String window)
+  {
+    return _impl.getWindowedRank(username, window);
+  } // getWindowedRank
+
+  public String getPlayerStats (String username)
+  {
+    return _impl.getPlayerStats(username);
+  } // getPlayerStats
+
+  public GameApp.ServerStats getServerStats ()
+  {
+    return _impl.getServerStats();
+  } // getServerStats
+
+  public GameApp.OperationStats[] getOperationStats ()
+  {
+    return _impl.getOperationStats();
+  } // getOperationStats
+
+  public boolean setOperationAccounting (boolean enabled)
+  {
+    return _impl.setOperationAccounting(enabled);
+  } // setOperationAccounting
+
+  private GameApp.GameServiceOperations _impl;
+  private org.omg.PortableServer.POA _poa;
+
+} // class GameServicePOATie
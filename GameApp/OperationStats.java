@@ -0,0 +1,40 @@
+package GameApp;
+
+
+/**
+* GameApp/OperationStats.java .
+* Generated by the IDL-to-Java compiler (portable), version "3.2"
+* from CORBA_IDLs/Game.idl
+* Monday, October 19, 2026 5:18:49 AM UTC
+*/
+
+public final class OperationStats implements org.omg.CORBA.portable.IDLEntity
+{
+  public String operation = null;
+  public long calls = (long)0;
+  public long errors = (long)0;
+  public double averageMillis = (double)0;
+  public long accountedCalls = (long)0;
+  public double cpuMillisPerCall = (double)0;
+  public double allocatedKBPerCall = (double)0;
+  public double cpuMillisTotal = (double)0;
+  public double allocatedMBTotal = (double)0;
+
+  public OperationStats ()
+  {
+  } // ctor
+
+  public OperationStats (String _operation, long _calls, long _errors, double _averageMillis, long _accountedCalls, double _cpuMillisPerCall, double _allocatedKBPerCall, double _cpuMillisTotal, double _allocatedMBTotal)
+  {
+    operation = _operation;
+    calls = _calls;
+    errors = _errors;
+    averageMillis = _averageMillis;
+    accountedCalls = _accountedCalls;
+    cpuMillisPerCall = _cpuMillisPerCall;
+    allocatedKBPerCall = _allocatedKBPerCall;
+    cpuMillisTotal = _cpuMillisTotal;
+    allocatedMBTotal = _allocatedMBTotal;
+  } // ctor
+
+} // class OperationStats
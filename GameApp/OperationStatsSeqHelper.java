@@ -0,0 +1,62 @@
+package GameApp;
+
+
+/**
+* GameApp/OperationStatsSeqHelper.java .
+* Generated by the IDL-to-Java compiler (portable), version "3.2"
+* from CORBA_IDLs/Game.idl
+* Monday, October 19, 2026 5:18:49 AM UTC
+*/
+
+abstract public class OperationStatsSeqHelper
+{
+  private static String  _id = "IDL:GameApp/OperationStatsSeq:1.0";
+
+  public static void insert (org.omg.CORBA.Any a, GameApp.OperationStats[] that)
+  {
+    org.omg.CORBA.portable.OutputStream out = a.create_output_stream ();
+    a.type (type ());
+    write (out, that);
+    a.read_value (out.create_input_stream (), type ());
+  }
+
+  public static GameApp.OperationStats[] extract (org.omg.CORBA.Any a)
+  {
+    return read (a.create_input_stream ());
+  }
+
+  private static org.omg.CORBA.TypeCode __typeCode = null;
+  synchronized public static org.omg.CORBA.TypeCode type ()
+  {
+    if (__typeCode == null)
+    {
+      __typeCode = GameApp.OperationStatsHelper.type ();
+      __typeCode = org.omg.CORBA.ORB.init ().create_sequence_tc (0, __typeCode);
+      __typeCode = org.omg.CORBA.ORB.init ().create_alias_tc (GameApp.OperationStatsSeqHelper.id (), "OperationStatsSeq", __typeCode);
+    }
+    return __typeCode;
+  }
+
+  public static String id ()
+  {
+    return _id;
+  }
+
+  public static GameApp.OperationStats[] read (org.omg.CORBA.portable.InputStream istream)
+  {
+    GameApp.OperationStats value[] = null;
+    int _len0 = istream.read_long ();
+    value = new GameApp.OperationStats[_len0];
+    for (int _o1 = 0;_o1 < value.length; ++_o1)
+      value[_o1] = GameApp.OperationStatsHelper.read (istream);
+    return value;
+  }
+
+  public static void write (org.omg.CORBA.portable.OutputStream ostream, GameApp.OperationStats[] value)
+  {
+    ostream.write_long (value.length);
+    for (int _i0 = 0;_i0 < value.length; ++_i0)
+      GameApp.OperationStatsHelper.write (ostream, value[_i0]);
+  }
+
+}
@@ -0,0 +1,39 @@
+package GameApp;
+
+
+/**
+* GameApp/OperationStatsSeqHolder.java .
+* Generated by the IDL-to-Java compiler (portable), version "3.2"
+* from CORBA_IDLs/Game.idl
+* Monday, October 19, 2026 5:18:49 AM UTC
+*/
+
+public final class OperationStatsSeqHolder implements org.omg.CORBA.portable.Streamable
+{
+  public GameApp.OperationStats value[] = null;
+
+  public OperationStatsSeqHolder ()
+  {
+  }
+
+  public OperationStatsSeqHolder (GameApp.OperationStats[] initialValue)
+  {
+    value = initialValue;
+  }
+
+  public void _read (org.omg.CORBA.portable.InputStream i)
+  {
+    value = GameApp.OperationStatsSeqHelper.read (i);
+  }
+
+  public void _write (org.omg.CORBA.portable.OutputStream o)
+  {
+    GameApp.OperationStatsSeqHelper.write (o, value);
+  }
+
+  public org.omg.CORBA.TypeCode _type ()
+  {
+    return GameApp.OperationStatsSeqHelper.type ();
+  }
+
+}
@@ -0,0 +1,58 @@
+package GameApp;
+
+
+/**
+* GameApp/ServerStats.java .
+* Generated by the IDL-to-Java compiler (portable), version "3.2"
+* from CORBA_IDLs/Game.idl
+* Monday, October 19, 2026 5:18:49 AM UTC
+*/
+
+public final class ServerStats implements org.omg.CORBA.portable.IDLEntity
+{
+  public long uptimeSeconds = (long)0;
+  public int loggedInUsers = (int)0;
+  public int waitingLobbies = (int)0;
+  public int activeGames = (int)0;
+  public int finishedGames = (int)0;
+  public int activeTimers = (int)0;
+  public long totalGuesses = (long)0;
+  public double guessesPerSecond = (double)0;
+  public long dbCalls = (long)0;
+  public long dbErrors = (long)0;
+  public double dbLatencyMillis = (double)0;
+  public int resultQueueDepth = (int)0;
+  public int pendingStatsPlayers = (int)0;
+  public boolean operationAccounting = false;
+  public int admissionQueue = (int)0;
+  public long admissionRejected = (long)0;
+  public boolean shedding = false;
+  public double loopDelayMillis = (double)0;
+
+  public ServerStats ()
+  {
+  } // ctor
+
+  public ServerStats (long _uptimeSeconds, int _loggedInUsers, int _waitingLobbies, int _activeGames, int _finishedGames, int _activeTimers, long _totalGuesses, double _guessesPerSecond, long _dbCalls, long _dbErrors, double _dbLatencyMillis, int _resultQueueDepth, int _pendingStatsPlayers, boolean _operationAccounting, int _admissionQueue, long _admissionRejected, boolean _shedding, double _loopDelayMillis)
+  {
+    uptimeSeconds = _uptimeSeconds;
+    loggedInUsers = _loggedInUsers;
+    waitingLobbies = _waitingLobbies;
+    activeGames = _activeGames;
+    finishedGames = _finishedGames;
+    activeTimers = _activeTimers;
+    totalGuesses = _totalGuesses;
+    guessesPerSecond = _guessesPerSecond;
+    dbCalls = _dbCalls;
+    dbErrors = _dbErrors;
+    dbLatencyMillis = _dbLatencyMillis;
+    resultQueueDepth = _resultQueueDepth;
+    pendingStatsPlayers = _pendingStatsPlayers;
+    operationAccounting = _operationAccounting;
+    admissionQueue = _admissionQueue;
+    admissionRejected = _admissionRejected;
+    shedding = _shedding;
+    loopDelayMillis = _loopDelayMillis;
+  } // ctor
+
+} // class ServerStats
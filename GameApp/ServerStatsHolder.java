@@ -0,0 +1,38 @@
+package GameApp;
+
+/**
+* GameApp/ServerStatsHolder.java .
+* Generated by the IDL-to-Java compiler (portable), version "3.2"
+* from CORBA_IDLs/Game.idl
+* Monday, October 19, 2026 5:18:49 AM UTC
+*/
+
+public final class ServerStatsHolder implements org.omg.CORBA.portable.Streamable
+{
+  public GameApp.ServerStats value = null;
+
+  public ServerStatsHolder ()
+  {
+  }
+
+  public ServerStatsHolder (GameApp.ServerStats initialValue)
+  {
+    value = initialValue;
+  }
+
+  public void _read (org.omg.CORBA.portable.InputStream i)
+  {
+    value = GameApp.ServerStatsHelper.read (i);
+  }
+
+  public void _write (org.omg.CORBA.portable.OutputStream o)
+  {
+    GameApp.ServerStatsHelper.write (o, value);
+  }
+
+  public org.omg.CORBA.TypeCode _type ()
+  {
+    return GameApp.ServerStatsHelper.type ();
+  }
+
+}
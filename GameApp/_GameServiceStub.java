@@ -5,7 +5,7 @@ package GameApp;
 * GameApp/_GameServiceStub.java .
 * Generated by the IDL-to-Java compiler (portable), version "3.2"
 * from CORBA_IDLs/Game.idl
-* Monday, 2 June 2025 1:32:45 PM AWST
+* Monday, October 19, 2026 5:18:49 AM UTC
 */
 
 public class _GameServiceStub extends org.omg.CORBA.portable.ObjectImpl implements GameApp.GameService
@@ -315,6 +315,210 @@ public class _GameServiceStub extends org.omg.CORBA.portable.ObjectImpl implemen
             }
   } // checkSessionStatus
 
+  public String reloadDictionary ()
+  {
+            org.omg.CORBA.portable.InputStream $in = null;
+            try {
+                org.omg.CORBA.portable.OutputStream $out = _request ("reloadDictionary", true);
+                $in = _invoke ($out);
+                String $result = $in.read_string ();
+                return $result;
+            } catch (org.omg.CORBA.portable.ApplicationException $ex) {
+                $in = $ex.getInputStream ();
+                String _id = $ex.getId ();
+                throw new org.omg.CORBA.MARSHAL (_id);
+            } catch (org.omg.CORBA.portable.RemarshalException $rm) {
+                return reloadDictionary (        );
+            } finally {
+                _releaseReply ($in);
+            }
+  } // reloadDictionary
+
+  public String[] startGameWithMode (String username, String difficulty, int minLength, int maxLength)
+  {
+            org.omg.CORBA.portable.InputStream $in = null;
+            try {
+                org.omg.CORBA.portable.OutputStream $out = _request ("startGameWithMode", true);
+                $out.write_string (username);
+                $out.write_string (difficulty);
+                $out.write_long (minLength);
+                $out.write_long (maxLength);
+                $in = _invoke ($out);
+                String $result[] = GameApp.StringSeqHelper.read ($in);
+                return $result;
+            } catch (org.omg.CORBA.portable.ApplicationException $ex) {
+                $in = $ex.getInputStream ();
+                String _id = $ex.getId ();
+                throw new org.omg.CORBA.MARSHAL (_id);
+            } catch (org.omg.CORBA.portable.RemarshalException $rm) {
+                return startGameWithMode (username, difficulty, minLength, maxLength        );
+            } finally {
+                _releaseReply ($in);
+            }
+  } // startGameWithMode
+
+  public int getRank (String username)
+  {
+            org.omg.CORBA.portable.InputStream $in = null;
+            try {
+                org.omg.CORBA.portable.OutputStream $out = _request ("getRank", true);
+                $out.write_string (username);
+                $in = _invoke ($out);
+                int $result = $in.read_long ();
+                return $result;
+            } catch (org.omg.CORBA.portable.ApplicationException $ex) {
+                $in = $ex.getInputStream ();
+                String _id = $ex.getId ();
+                throw new org.omg.CORBA.MARSHAL (_id);
+            } catch (org.omg.CORBA.portable.RemarshalException $rm) {
+                return getRank (username        );
+            } finally {
+                _releaseReply ($in);
+            }
+  } // getRank
+
+  public String getLeaderboardPage (int offset, int count)
+  {
+            org.omg.CORBA.portable.InputStream $in = null;
+            try {
+                org.omg.CORBA.portable.OutputStream $out = _request ("getLeaderboardPage", true);
+                $out.write_long (offset);
+                $out.write_long (count);
+                $in = _invoke ($out);
+                String $result = $in.read_string ();
+                return $result;
+            } catch (org.omg.CORBA.portable.ApplicationException $ex) {
+                $in = $ex.getInputStream ();
+                String _id = $ex.getId ();
+                throw new org.omg.CORBA.MARSHAL (_id);
+            } catch (org.omg.CORBA.portable.RemarshalException $rm) {
+                return getLeaderboardPage (offset, count        );
+            } finally {
+                _releaseReply ($in);
+            }
+  } // getLeaderboardPage
+
+  public String getWindowedLeaderboard (String window, int offset, int count)
+  {
+            org.omg.CORBA.portable.InputStream $in = null;
+            try {
+                org.omg.CORBA.portable.OutputStream $out = _request ("getWindowedLeaderboard", true);
+                $out.write_string (window);
+                $out.write_long (offset);
+                $out.write_long (count);
+                $in = _invoke ($out);
+                String $result = $in.read_string ();
+                return $result;
+            } catch (org.omg.CORBA.portable.ApplicationException $ex) {
+                $in = $ex.getInputStream ();
+                String _id = $ex.getId ();
+                throw new org.omg.CORBA.MARSHAL (_id);
+            } catch (org.omg.CORBA.portable.RemarshalException $rm) {
+                return getWindowedLeaderboard (window, offset, count        );
+            } finally {
+                _releaseReply ($in);
+            }
+  } // getWindowedLeaderboard
+
+  public int getWindowedRank (String username, String window)
+  {
+            org.omg.CORBA.portable.InputStream $in = null;
+            try {
+                org.omg.CORBA.portable.OutputStream $out = _request ("getWindowedRank", true);
+                $out.write_string (username);
+                $out.write_string (window);
+                $in = _invoke ($out);
+                int $result = $in.read_long ();
+                return $result;
+            } catch (org.omg.CORBA.portable.ApplicationException $ex) {
+                $in = $ex.getInputStream ();
+                String _id = $ex.getId ();
+                throw new org.omg.CORBA.MARSHAL (_id);
+            } catch (org.omg.CORBA.portable.RemarshalException $rm) {
+                return getWindowedRank (username, window        );
+            } finally {
+                _releaseReply ($in);
+            }
+  } // getWindowedRank
+
+  public String getPlayerStats (String username)
+  {
+            org.omg.CORBA.portable.InputStream $in = null;
+            try {
+                org.omg.CORBA.portable.OutputStream $out = _request ("getPlayerStats", true);
+                $out.write_string (username);
+                $in = _invoke ($out);
+                String $result = $in.read_string ();
+                return $result;
+            } catch (org.omg.CORBA.portable.ApplicationException $ex) {
+                $in = $ex.getInputStream ();
+                String _id = $ex.getId ();
+                throw new org.omg.CORBA.MARSHAL (_id);
+            } catch (org.omg.CORBA.portable.RemarshalException $rm) {
+                return getPlayerStats (username        );
+            } finally {
+                _releaseReply ($in);
+            }
+  } // getPlayerStats
+
+  public GameApp.ServerStats getServerStats ()
+  {
+            org.omg.CORBA.portable.InputStream $in = null;
+            try {
+                org.omg.CORBA.portable.OutputStream $out = _request ("getServerStats", true);
+                $in = _invoke ($out);
+                GameApp.ServerStats $result = GameApp.ServerStatsHelper.read ($in);
+                return $result;
+            } catch (org.omg.CORBA.portable.ApplicationException $ex) {
+                $in = $ex.getInputStream ();
+                String _id = $ex.getId ();
+                throw new org.omg.CORBA.MARSHAL (_id);
+            } catch (org.omg.CORBA.portable.RemarshalException $rm) {
+                return getServerStats (        );
+            } finally {
+                _releaseReply ($in);
+            }
+  } // getServerStats
+
+  public GameApp.OperationStats[] getOperationStats ()
+  {
+            org.omg.CORBA.portable.InputStream $in = null;
+            try {
+                org.omg.CORBA.portable.OutputStream $out = _request ("getOperationStats", true);
+                $in = _invoke ($out);
+                GameApp.OperationStats $result[] = GameApp.OperationStatsSeqHelper.read ($in);
+                return $result;
+            } catch (org.omg.CORBA.portable.ApplicationException $ex) {
+                $in = $ex.getInputStream ();
+                String _id = $ex.getId ();
+                throw new org.omg.CORBA.MARSHAL (_id);
+            } catch (org.omg.CORBA.portable.RemarshalException $rm) {
+                return getOperationStats (        );
+            } finally {
+                _releaseReply ($in);
+            }
+  } // getOperationStats
+
+  public boolean setOperationAccounting (boolean enabled)
+  {
+            org.omg.CORBA.portable.InputStream $in = null;
+            try {
+                org.omg.CORBA.portable.OutputStream $out = _request ("setOperationAccounting", true);
+                $out.write_boolean (enabled);
+                $in = _invoke ($out);
+                boolean $result = $in.read_boolean ();
+                return $result;
+            } catch (org.omg.CORBA.portable.ApplicationException $ex) {
+                $in = $ex.getInputStream ();
+                String _id = $ex.getId ();
+                throw new org.omg.CORBA.MARSHAL (_id);
+            } catch (org.omg.CORBA.portable.RemarshalException $rm) {
+                return setOperationAccounting (enabled        );
+            } finally {
+                _releaseReply ($in);
+            }
+  } // setOperationAccounting
+
   // Type-specific CORBA::Object operations
   private static String[] __ids = {
     "IDL:GameApp/GameService:1.0"};
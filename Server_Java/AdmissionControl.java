@@ -0,0 +1,188 @@
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Decides whether the server takes on new work: caps logged-in sessions and
+// open games, and turns away new lobbies and logins while the game loops are
+// falling behind. Without it a spike of players keeps adding sessions, lobbies,
+// word pickers and timers until the JVM runs out of heap.
+//
+// Only new work is ever refused. Players already in a game, joining an open
+// lobby (which starts a game without opening another), resuming, or logging in
+// over their own session always get through, so games in progress don't slow
+// down because of the players waiting outside.
+//
+// Once the open games reach game.admission.maxGames, players who would open a
+// lobby wait in line (at most game.admission.queueSize of them) and are told
+// their place and an estimated wait, taken from how often games have been
+// ending lately. They keep their place by asking again within
+// game.admission.queueTimeoutSeconds, and whoever is first gets the next free
+// slot. A full line, a full server (game.admission.maxSessions) or an
+// overloaded one is refused straight away with a time to try again.
+//
+// Overload is measured on the game loops: the smoothed delay before a queued
+// call starts (game.admission.maxLoopDelayMillis) and the number of calls
+// waiting (game.admission.maxLoopBacklog). Shedding starts when either goes
+// over its limit and stops once both are back under half, so it doesn't flap.
+// A limit of 0 turns that check off.
+public class AdmissionControl {
+    // What to tell a player asking for a new lobby or session
+    public static final class Decision {
+        private static final Decision ADMITTED = new Decision(true, 0, 0, null);
+
+        private final boolean admitted;
+        private final int position;     // Place in line, 1 = next; 0 if not in line
+        private final long waitSeconds; // Estimated wait in line, or when to try again if refused
+        private final String reason;
+
+        private Decision(boolean admitted, int position, long waitSeconds, String reason) {
+            this.admitted = admitted;
+            this.position = position;
+            this.waitSeconds = waitSeconds;
+            this.reason = reason;
+        }
+
+        public boolean isAdmitted() { return admitted; }
+        public boolean isQueued() { return position > 0; }
+        public int getPosition() { return position; }
+        public long getWaitSeconds() { return waitSeconds; }
+        public String getReason() { return reason; }
+    }
+
+    private final GameEventLoops loops;
+    private final int maxSessions = Integer.getInteger("game.admission.maxSessions", 10000);
+    private final int maxGames = Integer.getInteger("game.admission.maxGames", 5000);
+    private final int queueSize = Integer.getInteger("game.admission.queueSize", 500);
+    private final long queueTimeoutMillis = Long.getLong("game.admission.queueTimeoutSeconds", 10) * 1000;
+    private final double maxLoopDelayMillis = Double.parseDouble(System.getProperty("game.admission.maxLoopDelayMillis", "200"));
+    private final int maxLoopBacklog = Integer.getInteger("game.admission.maxLoopBacklog", 1000);
+    private final long retrySeconds = Long.getLong("game.admission.retrySeconds", 5);
+
+    // Players waiting for a game slot, first in line first, with when each last asked
+    private final Map<String, Long> line = new LinkedHashMap<>();
+    // Smoothed time between games ending; until some have ended, assume one a second
+    private double releaseIntervalMillis = 1000;
+    private long lastRelease = 0;
+    private volatile boolean shedding = false;
+    private volatile int lineLength = 0;
+    private volatile long queued = 0;
+    private volatile long rejected = 0;
+
+    public AdmissionControl(GameEventLoops loops) {
+        this.loops = loops;
+    }
+
+    // For a login that would open a new session
+    public synchronized Decision admitSession(int sessions) {
+        if (maxSessions > 0 && sessions >= maxSessions) {
+            return reject("The server is full", retrySeconds);
+        }
+        if (isOverloaded()) {
+            return reject("The server is busy", retrySeconds);
+        }
+        return Decision.ADMITTED;
+    }
+
+    // For a player who would open a new lobby while openGames games are held
+    public synchronized Decision admitGame(String username, int openGames, long now) {
+        expireLine(now);
+        boolean overloaded = isOverloaded();
+        int free = maxGames > 0 ? maxGames - openGames : Integer.MAX_VALUE;
+        int position = positionOf(username);
+        if (!overloaded && (position > 0 ? position <= free : line.isEmpty() && free > 0)) {
+            line.remove(username);
+            lineLength = line.size();
+            return Decision.ADMITTED;
+        }
+        if (position == 0) {
+            if (overloaded) {
+                return reject("The server is busy", retrySeconds);
+            }
+            if (line.size() >= queueSize) {
+                return reject("The server is full and the waiting line is too", estimateWait(line.size() + 1, now));
+            }
+            line.put(username, now);
+            lineLength = line.size();
+            queued++;
+            position = line.size();
+        } else {
+            line.put(username, now); // Keeps its place: re-putting a key doesn't move it
+        }
+        return new Decision(false, position, estimateWait(position, now), "Waiting for a free game slot");
+    }
+
+    // A player left the line without waiting for their turn, e.g. on logout
+    public synchronized void leaveLine(String username) {
+        line.remove(username);
+        lineLength = line.size();
+    }
+
+    // A game was removed from the server, freeing its slot
+    public synchronized void gameEnded(long now) {
+        if (lastRelease > 0) {
+            releaseIntervalMillis += (now - lastRelease - releaseIntervalMillis) / 8;
+        }
+        lastRelease = now;
+    }
+
+    public boolean isShedding() { return shedding; }
+    public int getLineLength() { return lineLength; }
+    public long getQueued() { return queued; }
+    public long getRejected() { return rejected; }
+
+    private Decision reject(String reason, long retryAfter) {
+        rejected++;
+        return new Decision(false, 0, retryAfter, reason);
+    }
+
+    private boolean isOverloaded() {
+        double delay = loops.getDispatchDelayMillis();
+        int backlog = loops.getWaiting();
+        boolean wasShedding = shedding;
+        if (!shedding && (over(delay, maxLoopDelayMillis, 1) || over(backlog, maxLoopBacklog, 1))) {
+            shedding = true;
+        } else if (shedding && !over(delay, maxLoopDelayMillis, 0.5) && !over(backlog, maxLoopBacklog, 0.5)) {
+            shedding = false;
+        }
+        if (shedding != wasShedding) {
+            System.out.println((shedding ? "Shedding new lobbies and logins" : "Stopped shedding")
+                    + String.format(" (loop delay %.1f ms, %d calls waiting)", delay, backlog));
+        }
+        return shedding;
+    }
+
+    private static boolean over(double value, double limit, double fraction) {
+        return limit > 0 && value > limit * fraction;
+    }
+
+    // Drops players who stopped asking, i.e. gave up or went away
+    private void expireLine(long now) {
+        Iterator<Long> lastAsked = line.values().iterator();
+        while (lastAsked.hasNext()) {
+            if (now - lastAsked.next() > queueTimeoutMillis) {
+                lastAsked.remove();
+            }
+        }
+        lineLength = line.size();
+    }
+
+    private int positionOf(String username) {
+        if (!line.containsKey(username)) {
+            return 0;
+        }
+        int position = 1;
+        for (String waiting : line.keySet()) {
+            if (waiting.equals(username)) {
+                break;
+            }
+            position++;
+        }
+        return position;
+    }
+
+    // A slot frees up about every releaseIntervalMillis, or less often if none has for a while
+    private long estimateWait(int position, long now) {
+        double interval = Math.max(releaseIntervalMillis, lastRelease > 0 ? now - lastRelease : 0);
+        return Math.max(1, (long) Math.ceil(position * interval / 1000));
+    }
+}
@@ -0,0 +1,268 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+// Point-in-time copy of the server's player sessions and games, written every
+// few seconds so a restarted server can carry on where the old one stopped.
+// Players are stored by name because player IDs are only valid within one run.
+//
+// File layout (DataOutputStream): int magic, int version, long savedAt,
+//   int sessions, then per session: username, userType, sessionToken
+//   int games, then per game: see writeGame
+// Strings that may be missing are written as a boolean followed by the UTF string.
+public class Checkpoint {
+    public static final int MAGIC = 0x47434B50; // "GCKP"
+    public static final int VERSION = 4;
+
+    public static final class SessionState {
+        private final String username;
+        private final String userType;
+        private final String sessionToken;
+
+        public SessionState(String username, String userType, String sessionToken) {
+            this.username = username;
+            this.userType = userType;
+            this.sessionToken = sessionToken;
+        }
+
+        public String getUsername() { return username; }
+        public String getUserType() { return userType; }
+        public String getSessionToken() { return sessionToken; }
+    }
+
+    // Everything needed to rebuild one game. Filled in field by field on the game's loop,
+    // so it is a plain holder rather than an immutable value. Player arrays are indexed by slot;
+    // a null name is an empty slot. Winner names use "" for "nobody" (timeout or draw).
+    public static final class GameState {
+        String gameId;
+        int difficulty;
+        int minLength;
+        int maxLength;
+        long waitingTime;
+        long roundDuration;
+        long createdTime;
+        boolean waitingForPlayers;
+        boolean gameStarted;
+        int currentRound;
+        String currentWord;
+        long roundStartTime;
+        boolean roundCompleted;
+        String roundWinner;
+        long roundCompletionTime;
+        String winner;
+        long finishedTime;
+        String forfeitedBy;
+        String[] playerNames;
+        int[] scores;
+        int[] wrongGuesses;
+        int[] guessedMasks;
+        // Word picker position, only valid against the same dictionary (Dictionary.checksum);
+        // 0 before version 4, which never matches
+        long dictionaryChecksum;
+        int pickerStart;
+        int pickerStride;
+        int pickerStep;
+        int[] pickerDeferred;
+        // History collected for game_results so far
+        long gameStartTime;
+        String[] resultNames;
+        List<GameResult.Round> rounds;
+        boolean resultRecorded;
+        // When this state was read, and the journal's sequence number at that point; journal
+        // events after it are replayed on restore. The sequence is 0 in version 2 checkpoints.
+        long capturedAt;
+        long capturedSequence;
+
+        public String getGameId() { return gameId; }
+        public long getCapturedAt() { return capturedAt; }
+        public long getCapturedSequence() { return capturedSequence; }
+    }
+
+    private final long savedAt;
+    private final List<SessionState> sessions;
+    private final List<GameState> games;
+
+    public Checkpoint(long savedAt, List<SessionState> sessions, List<GameState> games) {
+        this.savedAt = savedAt;
+        this.sessions = sessions;
+        this.games = games;
+    }
+
+    public long getSavedAt() { return savedAt; }
+    public List<SessionState> getSessions() { return sessions; }
+    public List<GameState> getGames() { return games; }
+
+    // Writes to a temporary file first so a crash mid-write leaves the previous checkpoint intact
+    public void write(Path path) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(savedAt);
+            out.writeInt(sessions.size());
+            for (SessionState session : sessions) {
+                out.writeUTF(session.username);
+                out.writeUTF(session.userType);
+                out.writeUTF(session.sessionToken);
+            }
+            out.writeInt(games.size());
+            for (GameState game : games) {
+                writeGame(out, game);
+            }
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Returns null if there is no checkpoint to restore
+    public static Checkpoint read(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException(path + " is not a server checkpoint");
+            }
+            int version = in.readInt();
+            if (version < 2 || version > VERSION) {
+                throw new IOException(path + " has unsupported version " + version);
+            }
+            long savedAt = in.readLong();
+            int sessionCount = in.readInt();
+            List<SessionState> sessions = new ArrayList<>(sessionCount);
+            for (int i = 0; i < sessionCount; i++) {
+                sessions.add(new SessionState(in.readUTF(), in.readUTF(), in.readUTF()));
+            }
+            int gameCount = in.readInt();
+            List<GameState> games = new ArrayList<>(gameCount);
+            for (int i = 0; i < gameCount; i++) {
+                games.add(readGame(in, version));
+            }
+            return new Checkpoint(savedAt, sessions, games);
+        }
+    }
+
+    private static void writeGame(DataOutputStream out, GameState game) throws IOException {
+        out.writeUTF(game.gameId);
+        out.writeByte(game.difficulty);
+        out.writeShort(game.minLength);
+        out.writeShort(game.maxLength);
+        out.writeLong(game.waitingTime);
+        out.writeLong(game.roundDuration);
+        out.writeLong(game.createdTime);
+        out.writeBoolean(game.waitingForPlayers);
+        out.writeBoolean(game.gameStarted);
+        out.writeInt(game.currentRound);
+        writeOptional(out, game.currentWord);
+        out.writeLong(game.roundStartTime);
+        out.writeBoolean(game.roundCompleted);
+        writeOptional(out, game.roundWinner);
+        out.writeLong(game.roundCompletionTime);
+        writeOptional(out, game.winner);
+        out.writeLong(game.finishedTime);
+        writeOptional(out, game.forfeitedBy);
+        out.writeByte(game.playerNames.length);
+        for (int slot = 0; slot < game.playerNames.length; slot++) {
+            writeOptional(out, game.playerNames[slot]);
+            out.writeInt(game.scores[slot]);
+            out.writeInt(game.wrongGuesses[slot]);
+            out.writeInt(game.guessedMasks[slot]);
+        }
+        out.writeLong(game.dictionaryChecksum);
+        out.writeInt(game.pickerStart);
+        out.writeInt(game.pickerStride);
+        out.writeInt(game.pickerStep);
+        out.writeInt(game.pickerDeferred.length);
+        for (int index : game.pickerDeferred) {
+            out.writeInt(index);
+        }
+        out.writeLong(game.gameStartTime);
+        out.writeByte(game.resultNames.length);
+        for (String name : game.resultNames) {
+            writeOptional(out, name);
+        }
+        out.writeInt(game.rounds.size());
+        for (GameResult.Round round : game.rounds) {
+            round.write(out);
+        }
+        out.writeBoolean(game.resultRecorded);
+        out.writeLong(game.capturedAt);
+        out.writeLong(game.capturedSequence);
+    }
+
+    private static GameState readGame(DataInputStream in, int version) throws IOException {
+        GameState game = new GameState();
+        game.gameId = in.readUTF();
+        game.difficulty = in.readByte();
+        game.minLength = in.readShort();
+        game.maxLength = in.readShort();
+        game.waitingTime = in.readLong();
+        game.roundDuration = in.readLong();
+        game.createdTime = in.readLong();
+        game.waitingForPlayers = in.readBoolean();
+        game.gameStarted = in.readBoolean();
+        game.currentRound = in.readInt();
+        game.currentWord = readOptional(in);
+        game.roundStartTime = in.readLong();
+        game.roundCompleted = in.readBoolean();
+        game.roundWinner = readOptional(in);
+        game.roundCompletionTime = in.readLong();
+        game.winner = readOptional(in);
+        game.finishedTime = in.readLong();
+        game.forfeitedBy = readOptional(in);
+        int slots = in.readByte();
+        game.playerNames = new String[slots];
+        game.scores = new int[slots];
+        game.wrongGuesses = new int[slots];
+        game.guessedMasks = new int[slots];
+        for (int slot = 0; slot < slots; slot++) {
+            game.playerNames[slot] = readOptional(in);
+            game.scores[slot] = in.readInt();
+            game.wrongGuesses[slot] = in.readInt();
+            game.guessedMasks[slot] = in.readInt();
+        }
+        if (version >= 4) {
+            game.dictionaryChecksum = in.readLong();
+        } else {
+            in.readInt(); // Dictionary size, not enough to tell an edited word list apart
+        }
+        game.pickerStart = in.readInt();
+        game.pickerStride = in.readInt();
+        game.pickerStep = in.readInt();
+        game.pickerDeferred = new int[in.readInt()];
+        for (int i = 0; i < game.pickerDeferred.length; i++) {
+            game.pickerDeferred[i] = in.readInt();
+        }
+        game.gameStartTime = in.readLong();
+        game.resultNames = new String[in.readByte()];
+        for (int slot = 0; slot < game.resultNames.length; slot++) {
+            game.resultNames[slot] = readOptional(in);
+        }
+        int roundCount = in.readInt();
+        game.rounds = new ArrayList<>(roundCount);
+        for (int i = 0; i < roundCount; i++) {
+            game.rounds.add(GameResult.Round.read(in));
+        }
+        game.resultRecorded = in.readBoolean();
+        game.capturedAt = in.readLong();
+        game.capturedSequence = version >= 3 ? in.readLong() : 0;
+        return game;
+    }
+
+    private static void writeOptional(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readOptional(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
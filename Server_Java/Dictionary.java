@@ -0,0 +1,142 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+// Read-only word list in the compiled format written by DictionaryCompiler.
+// The file is memory-mapped, so opening it costs the same for ten words or
+// ten million, and the words stay off the Java heap until a game asks for one.
+//
+// Words are ordered by length, then difficulty tier, so every (length, tier)
+// pool is one contiguous range of indices and picking from a pool needs no
+// filtering.
+//
+// Layout (all ints big-endian):
+//   int magic, int version, int wordCount, int maxLength, int lettersSize
+//   int[(maxLength + 1) * TIERS + 1]  pool starts: words of length n and tier t are
+//                                     indices [start[n * TIERS + t], start[n * TIERS + t + 1])
+//   int[wordCount + 1]  offset of each word in the letters area
+//   int[wordCount]      letter mask of each word (bit n set = letter 'A' + n appears)
+//   int[wordCount]      difficulty score of each word (see DictionaryCompiler)
+//   byte[lettersSize]   the words' letters, packed back to back
+public class Dictionary {
+    public static final int MAGIC = 0x48444943; // "HDIC"
+    public static final int VERSION = 2;
+    public static final int HEADER_SIZE = 20;
+
+    // Difficulty tiers; each holds roughly a third of the dictionary
+    public static final int EASY = 0;
+    public static final int MEDIUM = 1;
+    public static final int HARD = 2;
+    public static final int TIERS = 3;
+
+    private final ByteBuffer data;
+    private final int wordCount;
+    private final int maxLength;
+    private final int poolsAt;
+    private final int offsetsAt;
+    private final int masksAt;
+    private final int scoresAt;
+    private final int lettersAt;
+    private volatile long checksum = -1; // Worked out on first use
+
+    public Dictionary(ByteBuffer data) throws IOException {
+        this.data = data.order(ByteOrder.BIG_ENDIAN);
+        if (data.limit() < HEADER_SIZE || data.getInt(0) != MAGIC) {
+            throw new IOException("Not a compiled dictionary");
+        }
+        if (data.getInt(4) != VERSION) {
+            throw new IOException("Unsupported dictionary version " + data.getInt(4));
+        }
+        this.wordCount = data.getInt(8);
+        this.maxLength = data.getInt(12);
+        int lettersSize = data.getInt(16);
+        this.poolsAt = HEADER_SIZE;
+        this.offsetsAt = poolsAt + ((maxLength + 1) * TIERS + 1) * 4;
+        this.masksAt = offsetsAt + (wordCount + 1) * 4;
+        this.scoresAt = masksAt + wordCount * 4;
+        this.lettersAt = scoresAt + wordCount * 4;
+        if ((long) lettersAt + lettersSize > data.limit()) {
+            throw new IOException("Dictionary file is truncated");
+        }
+    }
+
+    // Maps a compiled dictionary file; the mapping stays valid after the channel is closed
+    public static Dictionary open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new Dictionary(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public int size() {
+        return wordCount;
+    }
+
+    // CRC-32 of the whole compiled file, so a saved word walk can tell whether it is still
+    // walking the same words; an edited list with the same word count gets a different one
+    public long checksum() {
+        long sum = checksum;
+        if (sum < 0) {
+            CRC32 crc = new CRC32();
+            ByteBuffer all = data.duplicate();
+            all.position(0);
+            crc.update(all);
+            sum = crc.getValue();
+            checksum = sum;
+        }
+        return sum;
+    }
+
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    public int lengthOf(int index) {
+        return offset(index + 1) - offset(index);
+    }
+
+    public int maskOf(int index) {
+        return data.getInt(masksAt + index * 4);
+    }
+
+    public int scoreOf(int index) {
+        return data.getInt(scoresAt + index * 4);
+    }
+
+    // First index of the words with this many letters
+    public int bucketStart(int length) {
+        return poolStart(length, EASY);
+    }
+
+    // One past the last index of the words with this many letters
+    public int bucketEnd(int length) {
+        return poolStart(length + 1, EASY);
+    }
+
+    // First index of the words with this many letters in this tier; the pool ends where the next tier starts
+    public int poolStart(int length, int tier) {
+        int slot = length * TIERS + tier;
+        return data.getInt(poolsAt + Math.max(0, Math.min(slot, (maxLength + 1) * TIERS)) * 4);
+    }
+
+    public int poolEnd(int length, int tier) {
+        return poolStart(length, tier + 1);
+    }
+
+    // Only the word a game actually picks is turned into a String
+    public String wordAt(int index) {
+        int start = lettersAt + offset(index);
+        char[] letters = new char[lengthOf(index)];
+        for (int i = 0; i < letters.length; i++) {
+            letters[i] = (char) data.get(start + i);
+        }
+        return new String(letters);
+    }
+
+    private int offset(int index) {
+        return data.getInt(offsetsAt + index * 4);
+    }
+}
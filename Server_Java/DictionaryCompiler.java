@@ -0,0 +1,212 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeSet;
+
+// Turns a plain word list (one word per line) into the compiled format read
+// by Dictionary. Words are upper-cased, de-duplicated, grouped by length and
+// split into difficulty tiers; lines with anything other than the letters A-Z
+// are skipped.
+//
+// Usage: java DictionaryCompiler [words.txt] [words.dict]
+public class DictionaryCompiler {
+    // Rough English letter frequencies in parts per thousand, 'A' to 'Z'
+    private static final int[] LETTER_FREQUENCY = {
+        82, 15, 28, 43, 127, 22, 20, 61, 70, 2, 8, 40, 24,
+        67, 75, 19, 1, 60, 63, 91, 28, 10, 24, 2, 20, 1
+    };
+
+    public static void main(String[] args) {
+        Path source = Paths.get(args.length > 0 ? args[0] : "words.txt");
+        Path target = Paths.get(args.length > 1 ? args[1] : "words.dict");
+        try {
+            long start = System.currentTimeMillis();
+            int count = compile(source, target);
+            System.out.println("Compiled " + count + " words from " + source + " into " + target
+                    + " in " + (System.currentTimeMillis() - start) + " ms");
+        } catch (IOException e) {
+            System.err.println("Error compiling dictionary: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    // Compiles a word list file; the target is replaced atomically so a running server never maps half a file
+    public static int compile(Path source, Path target) throws IOException {
+        List<TreeSet<String>> buckets = new ArrayList<>();
+        int skipped = 0;
+        try (BufferedReader reader = Files.newBufferedReader(source, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String word = line.trim().toUpperCase(Locale.ROOT);
+                if (word.isEmpty()) {
+                    continue;
+                }
+                if (!isPlainWord(word)) {
+                    skipped++;
+                    continue;
+                }
+                while (buckets.size() <= word.length()) {
+                    buckets.add(new TreeSet<>());
+                }
+                buckets.get(word.length()).add(word);
+            }
+        }
+        if (skipped > 0) {
+            System.out.println("Skipped " + skipped + " lines that are not plain A-Z words");
+        }
+        ByteBuffer compiled = compile(buckets);
+        int wordCount = compiled.getInt(8);
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (compiled.hasRemaining()) {
+                channel.write(compiled);
+            }
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return wordCount;
+    }
+
+    // Builds an in-memory dictionary, used for the built-in fallback word list
+    public static Dictionary fromWords(List<String> words) {
+        List<TreeSet<String>> buckets = new ArrayList<>();
+        for (String raw : words) {
+            String word = raw.trim().toUpperCase(Locale.ROOT);
+            if (word.isEmpty() || !isPlainWord(word)) {
+                continue;
+            }
+            while (buckets.size() <= word.length()) {
+                buckets.add(new TreeSet<>());
+            }
+            buckets.get(word.length()).add(word);
+        }
+        try {
+            return new Dictionary(compile(buckets));
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // Only possible if compile() wrote a bad header
+        }
+    }
+
+    // Higher is harder: every distinct letter is one more to find, and rare letters get
+    // guessed late. Score = 10 per distinct letter + (100 - their average frequency).
+    public static int difficultyScore(String word) {
+        int mask = GameSnapshot.wordMask(word);
+        int distinct = Integer.bitCount(mask);
+        if (distinct == 0) {
+            return 0;
+        }
+        int frequency = 0;
+        for (int letter = 0; letter < 26; letter++) {
+            if ((mask & (1 << letter)) != 0) {
+                frequency += LETTER_FREQUENCY[letter];
+            }
+        }
+        return Math.max(0, distinct * 10 + 100 - frequency / distinct);
+    }
+
+    private static ByteBuffer compile(List<TreeSet<String>> buckets) {
+        int maxLength = Math.max(0, buckets.size() - 1);
+        int wordCount = 0;
+        int lettersSize = 0;
+        for (int length = 0; length < buckets.size(); length++) {
+            wordCount += buckets.get(length).size();
+            lettersSize += buckets.get(length).size() * length;
+        }
+
+        // Tier cut-offs split the dictionary's own scores into thirds
+        int[] allScores = new int[wordCount];
+        int n = 0;
+        for (TreeSet<String> bucket : buckets) {
+            for (String word : bucket) {
+                allScores[n++] = difficultyScore(word);
+            }
+        }
+        Arrays.sort(allScores);
+        int mediumFrom = wordCount > 0 ? allScores[wordCount / 3] : 0;
+        int hardFrom = wordCount > 0 ? allScores[wordCount * 2 / 3] : 0;
+
+        // Order each length bucket by tier; TreeSet already gave alphabetical order within a tier
+        List<List<String>> ordered = new ArrayList<>();
+        int[] poolStarts = new int[(maxLength + 1) * Dictionary.TIERS + 1];
+        int index = 0;
+        for (int length = 0; length <= maxLength; length++) {
+            List<List<String>> tiers = new ArrayList<>();
+            for (int tier = 0; tier < Dictionary.TIERS; tier++) {
+                tiers.add(new ArrayList<>());
+            }
+            if (length < buckets.size()) {
+                for (String word : buckets.get(length)) {
+                    int score = difficultyScore(word);
+                    int tier = score < mediumFrom ? Dictionary.EASY : score < hardFrom ? Dictionary.MEDIUM : Dictionary.HARD;
+                    tiers.get(tier).add(word);
+                }
+            }
+            for (int tier = 0; tier < Dictionary.TIERS; tier++) {
+                poolStarts[length * Dictionary.TIERS + tier] = index;
+                index += tiers.get(tier).size();
+                ordered.add(tiers.get(tier));
+            }
+        }
+        poolStarts[poolStarts.length - 1] = index;
+
+        int size = Dictionary.HEADER_SIZE + poolStarts.length * 4 + (wordCount + 1) * 4 + wordCount * 8 + lettersSize;
+        ByteBuffer out = ByteBuffer.allocate(size).order(ByteOrder.BIG_ENDIAN);
+        out.putInt(Dictionary.MAGIC).putInt(Dictionary.VERSION).putInt(wordCount).putInt(maxLength).putInt(lettersSize);
+
+        // Pool starts
+        for (int start : poolStarts) {
+            out.putInt(start);
+        }
+        // Offsets
+        int offset = 0;
+        for (List<String> pool : ordered) {
+            for (String word : pool) {
+                out.putInt(offset);
+                offset += word.length();
+            }
+        }
+        out.putInt(offset);
+        // Masks
+        for (List<String> pool : ordered) {
+            for (String word : pool) {
+                out.putInt(GameSnapshot.wordMask(word));
+            }
+        }
+        // Difficulty scores
+        for (List<String> pool : ordered) {
+            for (String word : pool) {
+                out.putInt(difficultyScore(word));
+            }
+        }
+        // Letters
+        for (List<String> pool : ordered) {
+            for (String word : pool) {
+                out.put(word.getBytes(StandardCharsets.US_ASCII));
+            }
+        }
+        out.flip();
+        return out;
+    }
+
+    private static boolean isPlainWord(String word) {
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
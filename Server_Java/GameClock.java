@@ -0,0 +1,9 @@
+// Where the game server reads the time. Everything that decides game timing
+// (rounds, countdowns, lobby and lease expiry, the reaper) asks this instead
+// of calling System.currentTimeMillis() itself, so GameSimulation can run the
+// server on a VirtualScheduler's clock.
+public interface GameClock {
+    GameClock SYSTEM = System::currentTimeMillis;
+
+    long millis();
+}
@@ -0,0 +1,44 @@
+// Immutable snapshot of the game_config table. The server swaps in a whole
+// new instance whenever the configuration changes, so a game always sees a
+// wait time and round duration that were set together.
+public final class GameConfig {
+    public static final GameConfig DEFAULTS = new GameConfig(10, 30);
+
+    private final long waitingTime;
+    private final long roundDuration;
+
+    public GameConfig(long waitingTime, long roundDuration) {
+        this.waitingTime = waitingTime;
+        this.roundDuration = roundDuration;
+    }
+
+    public long getWaitingTime() { return waitingTime; }
+    public long getRoundDuration() { return roundDuration; }
+
+    public GameConfig withWaitingTime(long waitingTime) {
+        return new GameConfig(waitingTime, roundDuration);
+    }
+
+    public GameConfig withRoundDuration(long roundDuration) {
+        return new GameConfig(waitingTime, roundDuration);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof GameConfig)) {
+            return false;
+        }
+        GameConfig that = (GameConfig) other;
+        return waitingTime == that.waitingTime && roundDuration == that.roundDuration;
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) (waitingTime * 31 + roundDuration);
+    }
+
+    @Override
+    public String toString() {
+        return "wait_time=" + waitingTime + "s, round_duration=" + roundDuration + "s";
+    }
+}
@@ -0,0 +1,142 @@
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Fixed set of single-threaded event loops that own the game state. Every game
+// is pinned to one loop by its ID, and all of its guesses, status reads and
+// timers run there one at a time, so game state needs no locking.
+// Loop tasks must never wait for the GameServer lock, and the server never
+// waits for a loop while holding it, so a backed-up loop only slows its own games.
+//
+// Calls also measure how long they waited to start (the dispatch delay), which
+// AdmissionControl uses to tell when the loops are falling behind.
+public class GameEventLoops {
+    private final ScheduledExecutorService[] loops;
+    // Calls queued but not started yet, and their smoothed wait to start in ns (1/8 weight per call)
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicLong dispatchDelay = new AtomicLong();
+
+    public GameEventLoops(int count) {
+        loops = new ScheduledExecutorService[Math.max(1, count)];
+        for (int i = 0; i < loops.length; i++) {
+            final String name = "game-loop-" + i;
+            ScheduledThreadPoolExecutor loop = new ScheduledThreadPoolExecutor(1, r -> {
+                Thread thread = new Thread(r, name);
+                thread.setDaemon(true);
+                return thread;
+            });
+            // Cancelled round timers shouldn't sit in the queue until their deadline
+            loop.setRemoveOnCancelPolicy(true);
+            loops[i] = loop;
+        }
+    }
+
+    // Every game on one given loop, e.g. a VirtualScheduler in GameSimulation
+    public GameEventLoops(ScheduledExecutorService loop) {
+        loops = new ScheduledExecutorService[]{loop};
+    }
+
+    public ScheduledExecutorService loopFor(String gameId) {
+        return loops[(gameId.hashCode() & 0x7fffffff) % loops.length];
+    }
+
+    // Runs the task on the game's loop and waits for the result
+    public <T> T call(ScheduledExecutorService loop, Callable<T> task) {
+        long queuedAt = System.nanoTime();
+        waiting.incrementAndGet();
+        Future<T> result;
+        try {
+            result = loop.submit(() -> {
+                started(queuedAt);
+                return task.call();
+            });
+        } catch (RejectedExecutionException e) {
+            waiting.decrementAndGet(); // Never queued, so it won't start
+            throw e;
+        }
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for game loop", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    // Runs the task on the game's loop without waiting for it; dropped if the loop has shut down
+    public void execute(ScheduledExecutorService loop, Runnable task) {
+        long queuedAt = System.nanoTime();
+        waiting.incrementAndGet();
+        try {
+            loop.execute(() -> {
+                started(queuedAt);
+                task.run();
+            });
+        } catch (RejectedExecutionException e) {
+            waiting.decrementAndGet(); // Shutting down
+        }
+    }
+
+    // Measures the dispatch delay on every loop without waiting for it, so the figure
+    // stays current when no calls are coming in (e.g. while new players are turned away)
+    public void probe() {
+        for (ScheduledExecutorService loop : loops) {
+            long queuedAt = System.nanoTime();
+            waiting.incrementAndGet();
+            try {
+                loop.execute(() -> started(queuedAt));
+            } catch (RejectedExecutionException e) {
+                waiting.decrementAndGet(); // Shutting down
+            }
+        }
+    }
+
+    private void started(long queuedAt) {
+        waiting.decrementAndGet();
+        long delay = System.nanoTime() - queuedAt;
+        dispatchDelay.accumulateAndGet(delay, (average, sample) -> average + (sample - average) / 8);
+    }
+
+    // Calls waiting for their loop to pick them up; unlike getQueueDepth, timers don't count
+    public int getWaiting() {
+        return waiting.get();
+    }
+
+    public double getDispatchDelayMillis() {
+        return dispatchDelay.get() / 1e6;
+    }
+
+    public int getLoopCount() {
+        return loops.length;
+    }
+
+    // Tasks waiting across all loops, including scheduled timers
+    public int getQueueDepth() {
+        int depth = 0;
+        for (ScheduledExecutorService loop : loops) {
+            if (loop instanceof ThreadPoolExecutor) {
+                depth += ((ThreadPoolExecutor) loop).getQueue().size();
+            } else if (loop instanceof VirtualScheduler) {
+                depth += ((VirtualScheduler) loop).getQueueDepth();
+            }
+        }
+        return depth;
+    }
+
+    public void shutdown() {
+        for (ScheduledExecutorService loop : loops) {
+            loop.shutdownNow();
+        }
+    }
+}
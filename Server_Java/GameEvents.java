@@ -0,0 +1,135 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+// Java Flight Recorder events for the game server, so a recording can line up
+// slow calls and stalls with GC, lock contention and I/O, and tell which game
+// or query they belong to. Events carry the game ID where there is one, database
+// and remote calls included; their duration is the time the server spent
+// handling them, except for a round, which lasts as long as the round did.
+//
+// Nothing is recorded unless a recording is running, e.g.
+//   java -XX:StartFlightRecording=filename=game.jfr,settings=profile GameServerApp
+// (JDK 8u262 or newer). Without one, begin()/commit() are close to free.
+public final class GameEvents {
+    // The game the current thread is working for, so JdbcCall and RemoteCall events can
+    // name it. Set on a game's loop while it runs the game's tasks, and on a remote call's
+    // thread once the call has found the player's game; OperationTimer clears it between calls.
+    private static final ThreadLocal<String> CURRENT_GAME = new ThreadLocal<>();
+
+    private GameEvents() {
+    }
+
+    public static String currentGame() {
+        return CURRENT_GAME.get();
+    }
+
+    public static void setCurrentGame(String gameId) {
+        CURRENT_GAME.set(gameId);
+    }
+
+    @Name("game.GameCreated")
+    @Label("Game Created")
+    @Category({"Game Server", "Games"})
+    @Description("A new lobby was opened for a player")
+    @StackTrace(false)
+    public static class GameCreated extends Event {
+        @Label("Game ID") public String gameId;
+        @Label("Player") public String player;
+        @Label("Mode") public String mode;
+    }
+
+    @Name("game.PlayerJoined")
+    @Label("Player Joined")
+    @Category({"Game Server", "Games"})
+    @Description("A player joined a waiting lobby")
+    @StackTrace(false)
+    public static class PlayerJoined extends Event {
+        @Label("Game ID") public String gameId;
+        @Label("Player") public String player;
+    }
+
+    @Name("game.MatchPaired")
+    @Label("Match Paired")
+    @Category({"Game Server", "Matchmaking"})
+    @Description("A lobby got its second player and the game started")
+    @StackTrace(false)
+    public static class MatchPaired extends Event {
+        @Label("Game ID") public String gameId;
+        @Label("Players") public String players;
+        @Label("Mode") public String mode;
+        @Label("Lobby Wait") @Timespan(Timespan.MILLISECONDS) public long lobbyWait;
+    }
+
+    @Name("game.RoundStarted")
+    @Label("Round Started")
+    @Category({"Game Server", "Rounds"})
+    @Description("A word was picked and a round began; the duration is the time taken to pick it")
+    @StackTrace(false)
+    public static class RoundStarted extends Event {
+        @Label("Game ID") public String gameId;
+        @Label("Round") public int round;
+        @Label("Word Length") public int wordLength;
+    }
+
+    @Name("game.RoundEnded")
+    @Label("Round Ended")
+    @Category({"Game Server", "Rounds"})
+    @Description("A round, from its start until it was solved, timed out or cut short by the end of the game")
+    @StackTrace(false)
+    public static class RoundEnded extends Event {
+        @Label("Game ID") public String gameId;
+        @Label("Round") public int round;
+        @Label("Winner") public String winner;
+        @Label("Round Length") @Timespan(Timespan.MILLISECONDS) public long roundLength;
+    }
+
+    @Name("game.Guess")
+    @Label("Guess")
+    @Category({"Game Server", "Rounds"})
+    @Description("A guessed letter, from the remote call to the answer, including time queued on the game loop")
+    @StackTrace(false)
+    public static class Guess extends Event {
+        @Label("Game ID") public String gameId;
+        @Label("Player") public String player;
+        @Label("Letter") public char letter;
+        @Label("Correct") public boolean correct;
+    }
+
+    @Name("game.TimerFired")
+    @Label("Timer Fired")
+    @Category({"Game Server", "Timers"})
+    @Description("A game timer ran; the duration is the time its task took")
+    @StackTrace(false)
+    public static class TimerFired extends Event {
+        @Label("Game ID") public String gameId;
+        @Label("Timer") public String timer;
+        @Label("Lateness") @Timespan(Timespan.MILLISECONDS) public long lateness;
+    }
+
+    @Name("game.JdbcCall")
+    @Label("JDBC Call")
+    @Category({"Game Server", "Database"})
+    @Description("A statement executed on the server's database connection")
+    public static class JdbcCall extends Event {
+        @Label("Game ID") public String gameId;
+        @Label("SQL") public String sql;
+        @Label("Method") public String method;
+        @Label("Failed") public boolean failed;
+    }
+
+    @Name("game.RemoteCall")
+    @Label("Remote Call")
+    @Category({"Game Server", "CORBA"})
+    @Description("A remote operation, from the ORB receiving the request to sending the reply")
+    @StackTrace(false)
+    public static class RemoteCall extends Event {
+        @Label("Game ID") public String gameId;
+        @Label("Operation") public String operation;
+        @Label("Failed") public boolean failed;
+    }
+}
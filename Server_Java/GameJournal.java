@@ -0,0 +1,275 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.CRC32;
+
+// Append-only record of everything that happens in games, for audits and
+// analysis. Game threads only add events to a lock-free queue; a single writer
+// thread appends them to memory-mapped segment files (journal-<n>.seg) and
+// starts a new segment when the current one is full. JournalReader reads the
+// segments back, also while the server is writing them. At most
+// game.journal.maxQueued events wait for the writer; beyond that they are
+// dropped and counted.
+//
+// Segment layout: int magic, int version, then records until a length of 0:
+//   int length (of the body), int CRC-32 of the body, then the body:
+//   byte type, long time, long sequence, short + UTF-8 game ID,
+//   short + UTF-8 player, int value, short + UTF-8 text
+// The body and checksum are written before the length, and readers stop at a
+// record whose checksum doesn't match, so a record being written (or cut off
+// by a crash) is never read as a zeroed or half-written one. Version 1
+// segments have no checksum, and versions 1 and 2 no sequence number.
+//
+// Sequence numbers are handed out as events are recorded, so a game's events
+// are numbered in the order its loop made them even within one millisecond.
+// Each run starts its numbers at its first segment number << 32; a segment
+// holds far fewer than 2^32 records, so numbers keep growing across restarts.
+public class GameJournal {
+    public static final byte CREATE = 1;
+    public static final byte JOIN = 2;
+    public static final byte ROUND_START = 3;
+    public static final byte GUESS = 4;
+    public static final byte ROUND_END = 5;
+    public static final byte GAME_OVER = 6;
+    public static final byte TAKEOVER = 7;
+    public static final byte LEAVE = 8;
+    // Sessions and game removal, so a restart can bring back what changed after the last checkpoint
+    public static final byte LOGIN = 9;
+    public static final byte LOGOUT = 10;
+    public static final byte REMOVE = 11;
+    private static final String[] TYPE_NAMES = {"?", "CREATE", "JOIN", "ROUND_START", "GUESS", "ROUND_END", "GAME_OVER", "TAKEOVER", "LEAVE",
+            "LOGIN", "LOGOUT", "REMOVE"};
+
+    public static final int SEGMENT_MAGIC = 0x474A4E4C; // "GJNL"
+    public static final int SEGMENT_VERSION = 3;
+    // Longer strings are cut so a record always fits in a segment
+    private static final int MAX_STRING_BYTES = 1024;
+
+    public static final class Event {
+        private final long sequence; // 0 if read from a segment without them
+        private final byte type;
+        private final long time;
+        private final String gameId;
+        private final String player;
+        private final int value;
+        private final String text;
+
+        public Event(byte type, long time, String gameId, String player, int value, String text) {
+            this(0, type, time, gameId, player, value, text);
+        }
+
+        public Event(long sequence, byte type, long time, String gameId, String player, int value, String text) {
+            this.sequence = sequence;
+            this.type = type;
+            this.time = time;
+            this.gameId = gameId != null ? gameId : "";
+            this.player = player != null ? player : "";
+            this.value = value;
+            this.text = text != null ? text : "";
+        }
+
+        public long getSequence() { return sequence; }
+        public byte getType() { return type; }
+        public long getTime() { return time; }
+        public String getGameId() { return gameId; }
+        public String getPlayer() { return player; }
+        public int getValue() { return value; }
+        public String getText() { return text; }
+
+        public String getTypeName() {
+            return type > 0 && type < TYPE_NAMES.length ? TYPE_NAMES[type] : "TYPE_" + type;
+        }
+    }
+
+    private final Path dir;
+    private final int segmentSize;
+    private final int maxQueued = Integer.getInteger("game.journal.maxQueued", 100000);
+    private final ConcurrentLinkedQueue<Event> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong sequence;
+    private final Thread writer;
+    private volatile boolean running = true;
+    // Set while the writer is parked with nothing to do, so record() knows to wake it
+    private volatile boolean idle = false;
+    private volatile long written = 0;
+    // Owned by the writer thread
+    private MappedByteBuffer segment;
+    private long segmentNumber;
+    private final CRC32 crc = new CRC32();
+
+    public GameJournal(Path dir, int segmentSize) throws IOException {
+        this.dir = dir;
+        this.segmentSize = Math.max(64 * 1024, segmentSize);
+        Files.createDirectories(dir);
+        // Never append to an old segment; a restart always begins a new one
+        this.segmentNumber = lastSegmentNumber(dir);
+        this.sequence = new AtomicLong((segmentNumber + 1) << 32);
+        this.writer = new Thread(this::run, "game-journal");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    // Called from game threads; never blocks
+    public void record(byte type, String gameId, String player, int value, String text) {
+        if (!running) {
+            return;
+        }
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            dropped.incrementAndGet();
+            return;
+        }
+        queue.add(new Event(sequence.incrementAndGet(), type, System.currentTimeMillis(), gameId, player, value, text));
+        if (idle) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    // The last sequence number handed out; every event recorded from now on has a higher one
+    public long getSequence() {
+        return sequence.get();
+    }
+
+    public long getWritten() {
+        return written;
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    public int getQueueDepth() {
+        return queued.get();
+    }
+
+    // Writes out everything queued so far, then stops the writer
+    public void close() {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public static String segmentName(long number) {
+        return String.format("journal-%012d.seg", number);
+    }
+
+    // Segment files in order; names are zero-padded so sorting by name is sorting by number
+    public static long lastSegmentNumber(Path dir) throws IOException {
+        long last = 0;
+        try (DirectoryStream<Path> segments = Files.newDirectoryStream(dir, "journal-*.seg")) {
+            for (Path path : segments) {
+                String name = path.getFileName().toString();
+                try {
+                    last = Math.max(last, Long.parseLong(name.substring(8, name.length() - 4)));
+                } catch (NumberFormatException e) {
+                    // Not one of ours
+                }
+            }
+        }
+        return last;
+    }
+
+    private void run() {
+        long lastForce = System.currentTimeMillis();
+        boolean unforced = false;
+        while (running || !queue.isEmpty()) {
+            Event event = queue.poll();
+            if (event == null) {
+                // Get written records to disk about once a second while idle
+                if (unforced && System.currentTimeMillis() - lastForce >= 1000) {
+                    segment.force();
+                    lastForce = System.currentTimeMillis();
+                    unforced = false;
+                }
+                // Sleep until record() wakes us, or until the next force is due
+                idle = true;
+                if (queue.isEmpty() && running) {
+                    LockSupport.parkNanos(unforced ? TimeUnit.SECONDS.toNanos(1) : Long.MAX_VALUE);
+                }
+                idle = false;
+                continue;
+            }
+            queued.decrementAndGet();
+            unforced = true;
+            try {
+                append(event);
+                written++;
+            } catch (IOException e) {
+                System.err.println("Journal write failed: " + e.getMessage());
+            }
+        }
+        if (segment != null) {
+            segment.force();
+        }
+    }
+
+    private void append(Event event) throws IOException {
+        byte[] gameId = bytes(event.gameId);
+        byte[] player = bytes(event.player);
+        byte[] text = bytes(event.text);
+        int length = 1 + 8 + 8 + 2 + gameId.length + 2 + player.length + 4 + 2 + text.length;
+        // Leave room for the zero length that marks the end of the segment
+        if (segment == null || segment.remaining() < 8 + length + 4) {
+            roll();
+        }
+        // Body and checksum first; the length goes in last, making the record visible
+        int start = segment.position();
+        segment.position(start + 8);
+        segment.put(event.type).putLong(event.time).putLong(event.sequence);
+        segment.putShort((short) gameId.length).put(gameId);
+        segment.putShort((short) player.length).put(player);
+        segment.putInt(event.value);
+        segment.putShort((short) text.length).put(text);
+        segment.putInt(start + 4, checksum(crc, segment, start + 8, length));
+        segment.putInt(start, length);
+    }
+
+    // CRC-32 of a record body, shared with JournalReader
+    static int checksum(CRC32 crc, ByteBuffer buffer, int offset, int length) {
+        ByteBuffer body = buffer.duplicate();
+        body.limit(offset + length).position(offset);
+        crc.reset();
+        crc.update(body);
+        return (int) crc.getValue();
+    }
+
+    private void roll() throws IOException {
+        if (segment != null) {
+            segment.force();
+        }
+        segmentNumber++;
+        Path path = dir.resolve(segmentName(segmentNumber));
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+        segment.putInt(SEGMENT_MAGIC).putInt(SEGMENT_VERSION);
+        System.out.println("DEBUG: Journal segment " + path.getFileName() + " started");
+    }
+
+    private static byte[] bytes(String value) {
+        byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+        if (encoded.length > MAX_STRING_BYTES) {
+            byte[] cut = new byte[MAX_STRING_BYTES];
+            System.arraycopy(encoded, 0, cut, 0, MAX_STRING_BYTES);
+            return cut;
+        }
+        return encoded;
+    }
+}
@@ -0,0 +1,80 @@
+import java.util.Locale;
+
+// Which words a game draws from: a difficulty tier and a word length range.
+// Players are only matched with lobbies of the same mode.
+public final class GameMode {
+    public static final int ANY_DIFFICULTY = -1;
+    private static final String[] TIER_NAMES = {"EASY", "MEDIUM", "HARD"};
+
+    // startGame without a mode: any difficulty, any length
+    public static final GameMode ANY = new GameMode(ANY_DIFFICULTY, 0, 0);
+
+    private final int difficulty;
+    private final int minLength;
+    private final int maxLength;
+
+    // A length of 0 or less means "no limit" on that side
+    public GameMode(int difficulty, int minLength, int maxLength) {
+        this.difficulty = difficulty;
+        this.minLength = Math.max(0, minLength);
+        this.maxLength = Math.max(0, maxLength);
+    }
+
+    // Accepts EASY, MEDIUM, HARD or ANY (case-insensitive); returns null for anything else
+    public static GameMode parse(String difficulty, int minLength, int maxLength) {
+        String name = difficulty == null ? "" : difficulty.trim().toUpperCase(Locale.ROOT);
+        if (name.isEmpty() || name.equals("ANY")) {
+            return new GameMode(ANY_DIFFICULTY, minLength, maxLength);
+        }
+        for (int tier = 0; tier < TIER_NAMES.length; tier++) {
+            if (TIER_NAMES[tier].equals(name)) {
+                return new GameMode(tier, minLength, maxLength);
+            }
+        }
+        return null;
+    }
+
+    public int getDifficulty() { return difficulty; }
+    public int getMinLength() { return minLength; }
+    public int getMaxLength() { return maxLength; }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) return true;
+        if (!(other instanceof GameMode)) return false;
+        GameMode mode = (GameMode) other;
+        return difficulty == mode.difficulty && minLength == mode.minLength && maxLength == mode.maxLength;
+    }
+
+    @Override
+    public int hashCode() {
+        return (difficulty * 31 + minLength) * 31 + maxLength;
+    }
+
+    // Reads back what toString() wrote; null if it isn't a mode
+    public static GameMode fromString(String text) {
+        String[] parts = text.trim().split(", ", 2);
+        GameMode tier = parse(parts[0], 0, 0);
+        if (tier == null || parts.length == 1) {
+            return tier;
+        }
+        try {
+            String[] range = parts[1].replace(" letters", "").split("-", 2);
+            int min = Integer.parseInt(range[0]);
+            int max = range[1].equals("any") ? 0 : Integer.parseInt(range[1]);
+            return new GameMode(tier.difficulty, min == 1 ? 0 : min, max);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        String tier = difficulty == ANY_DIFFICULTY ? "ANY" : TIER_NAMES[difficulty];
+        if (minLength == 0 && maxLength == 0) {
+            return tier;
+        }
+        return tier + ", " + (minLength == 0 ? "1" : String.valueOf(minLength)) + "-"
+                + (maxLength == 0 ? "any" : String.valueOf(maxLength)) + " letters";
+    }
+}
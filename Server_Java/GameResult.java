@@ -0,0 +1,168 @@
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Outcome of one game and each of its rounds, as stored in the game_results
+// and round_results history tables. Player arrays are indexed by slot.
+public final class GameResult {
+    public static final String WON = "won";
+    public static final String FORFEIT = "forfeit";
+    public static final String DRAW = "draw";
+    public static final String ABANDONED = "abandoned";
+
+    public static final class Round {
+        private final int number;
+        private final String word;
+        private final String winner;   // null when nobody solved it
+        private final long startedAt;
+        private final long endedAt;
+        private final String[] guesses; // letters each player guessed, in alphabetical order
+        private final int[] wrongGuesses;
+
+        public Round(int number, String word, String winner, long startedAt, long endedAt, String[] guesses, int[] wrongGuesses) {
+            this.number = number;
+            this.word = word;
+            this.winner = winner;
+            this.startedAt = startedAt;
+            this.endedAt = endedAt;
+            this.guesses = guesses;
+            this.wrongGuesses = wrongGuesses;
+        }
+
+        public int getNumber() { return number; }
+        public String getWord() { return word; }
+        public String getWinner() { return winner; }
+        public long getStartedAt() { return startedAt; }
+        public long getEndedAt() { return endedAt; }
+        public String getGuesses(int slot) { return guesses[slot]; }
+        public int getWrongGuesses(int slot) { return wrongGuesses[slot]; }
+
+        public void write(DataOutputStream out) throws IOException {
+            out.writeInt(number);
+            out.writeUTF(word);
+            writeOptional(out, winner);
+            out.writeLong(startedAt);
+            out.writeLong(endedAt);
+            out.writeByte(guesses.length);
+            for (int slot = 0; slot < guesses.length; slot++) {
+                out.writeUTF(guesses[slot]);
+                out.writeInt(wrongGuesses[slot]);
+            }
+        }
+
+        public static Round read(DataInputStream in) throws IOException {
+            int number = in.readInt();
+            String word = in.readUTF();
+            String winner = readOptional(in);
+            long startedAt = in.readLong();
+            long endedAt = in.readLong();
+            int slots = in.readByte();
+            String[] guesses = new String[slots];
+            int[] wrongGuesses = new int[slots];
+            for (int slot = 0; slot < slots; slot++) {
+                guesses[slot] = in.readUTF();
+                wrongGuesses[slot] = in.readInt();
+            }
+            return new Round(number, word, winner, startedAt, endedAt, guesses, wrongGuesses);
+        }
+    }
+
+    private final String gameId;
+    private final String mode;
+    private final String[] players;  // null for a slot nobody played in
+    private final int[] scores;
+    private final String winner;     // null for a draw or an abandoned game
+    private final String outcome;
+    private final long startedAt;
+    private final long finishedAt;
+    private final List<Round> rounds;
+
+    public GameResult(String gameId, String mode, String[] players, int[] scores, String winner, String outcome,
+                      long startedAt, long finishedAt, List<Round> rounds) {
+        this.gameId = gameId;
+        this.mode = mode;
+        this.players = players;
+        this.scores = scores;
+        this.winner = winner;
+        this.outcome = outcome;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+        this.rounds = Collections.unmodifiableList(new ArrayList<>(rounds));
+    }
+
+    public String getGameId() { return gameId; }
+    public String getMode() { return mode; }
+    public String getPlayer(int slot) { return players[slot]; }
+    public int getScore(int slot) { return scores[slot]; }
+    public String getWinner() { return winner; }
+    public String getOutcome() { return outcome; }
+    public long getStartedAt() { return startedAt; }
+    public long getFinishedAt() { return finishedAt; }
+    public List<Round> getRounds() { return rounds; }
+
+    // Letters set in a guessed-letters mask (bit n = 'A' + n), e.g. "AEST"
+    public static String letters(int mask) {
+        StringBuilder letters = new StringBuilder();
+        for (int bit = 0; bit < 26; bit++) {
+            if ((mask & (1 << bit)) != 0) {
+                letters.append((char) ('A' + bit));
+            }
+        }
+        return letters.toString();
+    }
+
+    // Used by the spill file and the checkpoint
+    public void write(DataOutputStream out) throws IOException {
+        out.writeUTF(gameId);
+        out.writeUTF(mode);
+        out.writeByte(players.length);
+        for (int slot = 0; slot < players.length; slot++) {
+            writeOptional(out, players[slot]);
+            out.writeInt(scores[slot]);
+        }
+        writeOptional(out, winner);
+        out.writeUTF(outcome);
+        out.writeLong(startedAt);
+        out.writeLong(finishedAt);
+        out.writeInt(rounds.size());
+        for (Round round : rounds) {
+            round.write(out);
+        }
+    }
+
+    public static GameResult read(DataInputStream in) throws IOException {
+        String gameId = in.readUTF();
+        String mode = in.readUTF();
+        int slots = in.readByte();
+        String[] players = new String[slots];
+        int[] scores = new int[slots];
+        for (int slot = 0; slot < slots; slot++) {
+            players[slot] = readOptional(in);
+            scores[slot] = in.readInt();
+        }
+        String winner = readOptional(in);
+        String outcome = in.readUTF();
+        long startedAt = in.readLong();
+        long finishedAt = in.readLong();
+        int roundCount = in.readInt();
+        List<Round> rounds = new ArrayList<>(roundCount);
+        for (int i = 0; i < roundCount; i++) {
+            rounds.add(Round.read(in));
+        }
+        return new GameResult(gameId, mode, players, scores, winner, outcome, startedAt, finishedAt, rounds);
+    }
+
+    private static void writeOptional(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readOptional(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -0,0 +1,389 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Writes finished games to the game_results and round_results tables in the
+// background. Games are buffered in a bounded queue and inserted in batches,
+// a few multi-row INSERTs per batch inside one transaction, on a connection of
+// its own. When the database is down or too slow to keep up, batches are
+// appended to a spill file, which is loaded into the database once inserts
+// work again: a batch at a time between live batches, so it drains even while
+// games keep finishing. Results that no longer fit in the queue go to a second
+// bounded queue that a spiller thread appends to the spill file, so a game
+// loop never does file I/O; only when that is full too is a result dropped
+// and counted.
+//
+// Rows are keyed by game ID and start time and inserted with INSERT IGNORE,
+// so writing the same game twice (e.g. replaying the spill file after a
+// partial failure) is harmless.
+public class GameResultWriter {
+    // Rows per INSERT statement, keeps statements well under the server's packet limit
+    private static final int ROWS_PER_STATEMENT = 250;
+    private static final String GAME_COLUMNS = "(game_id, started_at, finished_at, duration_ms, mode, player1, player2, "
+            + "player1_score, player2_score, winner, outcome, rounds)";
+    private static final String ROUND_COLUMNS = "(game_id, game_started_at, round_number, word, winner, started_at, "
+            + "duration_ms, player1_guesses, player2_guesses, player1_wrong, player2_wrong)";
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final BlockingQueue<GameResult> queue;
+    // Results the queue had no room for, waiting for the spiller
+    private final BlockingQueue<GameResult> overflow;
+    private final int batchSize;
+    private final long flushMillis;
+    private final Path spillFile;
+    // The spill file is renamed to this while it is being loaded, so new spills start a fresh file
+    private final Path loadingFile;
+    private final Thread writer;
+    private final Thread spiller;
+    private volatile boolean running = true;
+    private Connection conn;  // Owned by the writer thread
+    // The spill file being loaded back, and how much of it is in the database; writer thread only
+    private List<GameResult> reloading;
+    private int reloaded;
+    private volatile long written = 0;
+    private volatile long spilled = 0;
+    private volatile long failedBatches = 0;
+    private final AtomicLong dropped = new AtomicLong();
+
+    // A writer that only counts the games it is given, for GameSimulation
+    public static GameResultWriter discarding() {
+        return new GameResultWriter();
+    }
+
+    private GameResultWriter() {
+        this.url = null;
+        this.user = null;
+        this.password = null;
+        this.queue = new ArrayBlockingQueue<>(1);
+        this.overflow = new ArrayBlockingQueue<>(1);
+        this.batchSize = 1;
+        this.flushMillis = 0;
+        this.spillFile = null;
+        this.loadingFile = null;
+        this.writer = null;
+        this.spiller = null;
+        this.running = false;
+    }
+
+    public GameResultWriter(String url, String user, String password, int capacity, int batchSize, long flushMillis, Path spillFile) {
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        this.overflow = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        this.batchSize = Math.max(1, batchSize);
+        this.flushMillis = flushMillis;
+        this.spillFile = spillFile;
+        this.loadingFile = spillFile.resolveSibling(spillFile.getFileName() + ".loading");
+        this.writer = new Thread(this::run, "game-results-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+        this.spiller = new Thread(this::runSpiller, "game-results-spiller");
+        this.spiller.setDaemon(true);
+        this.spiller.start();
+    }
+
+    // Called from game loops. Never waits for the database or the spill file; if the
+    // buffer is full the result is handed to the spiller instead.
+    public void submit(GameResult result) {
+        if (writer == null) {
+            written++;
+            return;
+        }
+        if (!queue.offer(result) && !overflow.offer(result)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    public long getWritten() { return written; }
+    public long getSpilled() { return spilled; }
+    public long getFailedBatches() { return failedBatches; }
+    public long getDropped() { return dropped.get(); }
+    public int getQueueDepth() { return queue.size(); }
+
+    // Writes out (or spills) everything still buffered, then stops the writer
+    public void close() {
+        running = false;
+        if (writer == null) {
+            return;
+        }
+        // Neither thread is interrupted: that would close the spill file under a write in
+        // progress. Both wait at most flushMillis or a second before seeing running is false.
+        try {
+            writer.join(10000);
+            spiller.join(10000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        List<GameResult> batch = new ArrayList<>(batchSize);
+        long retryAt = 0;
+        while (running || !queue.isEmpty()) {
+            try {
+                // Wait for a first result, then give the batch up to flushMillis to fill
+                GameResult first = queue.poll(flushMillis, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    long deadline = System.currentTimeMillis() + flushMillis;
+                    while (batch.size() < batchSize && System.currentTimeMillis() < deadline) {
+                        GameResult next = queue.poll(deadline - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+                        if (next == null) {
+                            break;
+                        }
+                        batch.add(next);
+                    }
+                }
+            } catch (InterruptedException e) {
+                // Drain whatever is left without waiting
+                queue.drainTo(batch);
+            }
+            if (batch.isEmpty()) {
+                // Nothing live to write: load the spill file until it is done or results arrive
+                while (System.currentTimeMillis() >= retryAt && hasSpilled() && queue.isEmpty()) {
+                    retryAt = loadSpillBatch() ? 0 : System.currentTimeMillis() + 5000;
+                }
+                continue;
+            }
+            // While the database is known to be down, don't make every batch wait for a timeout
+            if (System.currentTimeMillis() < retryAt || !insert(batch)) {
+                spill(batch);
+                if (System.currentTimeMillis() >= retryAt) {
+                    retryAt = System.currentTimeMillis() + 5000;
+                }
+            } else {
+                retryAt = 0;
+                // One spill batch after every live one, so the file drains even if games never stop ending
+                if (hasSpilled() && !loadSpillBatch()) {
+                    retryAt = System.currentTimeMillis() + 5000;
+                }
+            }
+            batch.clear();
+        }
+        closeConnection();
+    }
+
+    // Appends overflowed results to the spill file, as many at a time as are waiting
+    private void runSpiller() {
+        List<GameResult> results = new ArrayList<>();
+        while (running || !overflow.isEmpty()) {
+            try {
+                GameResult first = overflow.poll(1, TimeUnit.SECONDS);
+                if (first != null) {
+                    results.add(first);
+                    overflow.drainTo(results);
+                }
+            } catch (InterruptedException e) {
+                overflow.drainTo(results);
+            }
+            if (!results.isEmpty()) {
+                spill(results);
+                results.clear();
+            }
+        }
+    }
+
+    // Inserts a batch in one transaction; false (and nothing committed) on failure
+    private boolean insert(List<GameResult> batch) {
+        try {
+            if (conn == null || !conn.isValid(2)) {
+                closeConnection();
+                conn = DriverManager.getConnection(url, user, password);
+                conn.setAutoCommit(false);
+            }
+            List<GameResult.Round> rounds = new ArrayList<>();
+            List<GameResult> roundGames = new ArrayList<>();
+            for (GameResult result : batch) {
+                for (GameResult.Round round : result.getRounds()) {
+                    rounds.add(round);
+                    roundGames.add(result);
+                }
+            }
+            for (int from = 0; from < batch.size(); from += ROWS_PER_STATEMENT) {
+                int to = Math.min(batch.size(), from + ROWS_PER_STATEMENT);
+                try (PreparedStatement stmt = conn.prepareStatement(insertSql("game_results", GAME_COLUMNS, 12, to - from))) {
+                    int p = 1;
+                    for (GameResult result : batch.subList(from, to)) {
+                        stmt.setString(p++, result.getGameId());
+                        stmt.setTimestamp(p++, new Timestamp(result.getStartedAt()));
+                        stmt.setTimestamp(p++, new Timestamp(result.getFinishedAt()));
+                        stmt.setLong(p++, result.getFinishedAt() - result.getStartedAt());
+                        stmt.setString(p++, result.getMode());
+                        setOptional(stmt, p++, result.getPlayer(0));
+                        setOptional(stmt, p++, result.getPlayer(1));
+                        stmt.setInt(p++, result.getScore(0));
+                        stmt.setInt(p++, result.getScore(1));
+                        setOptional(stmt, p++, result.getWinner());
+                        stmt.setString(p++, result.getOutcome());
+                        stmt.setInt(p++, result.getRounds().size());
+                    }
+                    stmt.executeUpdate();
+                }
+            }
+            for (int from = 0; from < rounds.size(); from += ROWS_PER_STATEMENT) {
+                int to = Math.min(rounds.size(), from + ROWS_PER_STATEMENT);
+                try (PreparedStatement stmt = conn.prepareStatement(insertSql("round_results", ROUND_COLUMNS, 11, to - from))) {
+                    int p = 1;
+                    for (int i = from; i < to; i++) {
+                        GameResult.Round round = rounds.get(i);
+                        GameResult result = roundGames.get(i);
+                        stmt.setString(p++, result.getGameId());
+                        stmt.setTimestamp(p++, new Timestamp(result.getStartedAt()));
+                        stmt.setInt(p++, round.getNumber());
+                        stmt.setString(p++, round.getWord());
+                        setOptional(stmt, p++, round.getWinner());
+                        stmt.setTimestamp(p++, new Timestamp(round.getStartedAt()));
+                        stmt.setLong(p++, round.getEndedAt() - round.getStartedAt());
+                        stmt.setString(p++, round.getGuesses(0));
+                        stmt.setString(p++, round.getGuesses(1));
+                        stmt.setInt(p++, round.getWrongGuesses(0));
+                        stmt.setInt(p++, round.getWrongGuesses(1));
+                    }
+                    stmt.executeUpdate();
+                }
+            }
+            conn.commit();
+            written += batch.size();
+            return true;
+        } catch (SQLException e) {
+            failedBatches++;
+            System.err.println("Error writing " + batch.size() + " game results: " + e.getMessage());
+            try {
+                if (conn != null) {
+                    conn.rollback();
+                }
+            } catch (SQLException rollbackError) {
+                closeConnection();
+            }
+            return false;
+        }
+    }
+
+    private static String insertSql(String table, String columns, int columnCount, int rows) {
+        StringBuilder row = new StringBuilder("(");
+        for (int i = 0; i < columnCount; i++) {
+            row.append(i == 0 ? "?" : ", ?");
+        }
+        row.append(")");
+        StringBuilder sql = new StringBuilder("INSERT IGNORE INTO ").append(table).append(' ').append(columns).append(" VALUES ");
+        for (int i = 0; i < rows; i++) {
+            sql.append(i == 0 ? "" : ", ").append(row);
+        }
+        return sql.toString();
+    }
+
+    private static void setOptional(PreparedStatement stmt, int index, String value) throws SQLException {
+        if (value != null) {
+            stmt.setString(index, value);
+        } else {
+            stmt.setNull(index, Types.VARCHAR);
+        }
+    }
+
+    // Appends results to the spill file; both the spiller and the writer (for failed batches) get here
+    private synchronized void spill(List<GameResult> results) {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(spillFile,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)))) {
+            for (GameResult result : results) {
+                result.write(out);
+            }
+            spilled += results.size();
+            System.out.println("DEBUG: Spilled " + results.size() + " game results to " + spillFile);
+        } catch (IOException e) {
+            System.err.println("Lost " + results.size() + " game results, cannot write " + spillFile + ": " + e.getMessage());
+        }
+    }
+
+    private boolean hasSpilled() {
+        return reloading != null || Files.exists(loadingFile) || Files.exists(spillFile);
+    }
+
+    // Loads the next batch of the spill file into the database, reading the file first if
+    // needed, and deletes the file once all of it is in; false if the database is still
+    // unavailable. Only called by the writer thread.
+    private boolean loadSpillBatch() {
+        if (reloading == null) {
+            reloading = readSpillFile();
+            reloaded = 0;
+            if (reloading == null) {
+                return false;
+            }
+        }
+        if (reloaded < reloading.size()) {
+            List<GameResult> results = reloading.subList(reloaded, Math.min(reloading.size(), reloaded + batchSize));
+            if (!insert(results)) {
+                return false; // Tried again from here; INSERT IGNORE skips anything already in
+            }
+            reloaded += results.size();
+        }
+        if (reloaded == reloading.size()) {
+            try {
+                Files.deleteIfExists(loadingFile);
+            } catch (IOException e) {
+                System.err.println("Error deleting " + loadingFile + ": " + e.getMessage());
+            }
+            System.out.println("Loaded " + reloading.size() + " spilled game results into the database");
+            reloading = null;
+        }
+        return true;
+    }
+
+    // Moves the spill file aside, so new spills start a fresh one, and reads it; null on error
+    private List<GameResult> readSpillFile() {
+        try {
+            // A file left over from an earlier failed load goes first
+            if (!Files.exists(loadingFile)) {
+                synchronized (this) {
+                    Files.move(spillFile, loadingFile);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error preparing " + spillFile + " for loading: " + e.getMessage());
+            return null;
+        }
+        List<GameResult> results = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(loadingFile)))) {
+            while (true) {
+                results.add(GameResult.read(in));
+            }
+        } catch (EOFException e) {
+            // End of file; a record cut off by a crash is dropped
+        } catch (IOException e) {
+            System.err.println("Error reading " + loadingFile + ": " + e.getMessage());
+            return null;
+        }
+        return results;
+    }
+
+    private void closeConnection() {
+        if (conn != null) {
+            try {
+                conn.close();
+            } catch (SQLException e) {
+                // Already broken
+            }
+            conn = null;
+        }
+    }
+}
@@ -2,38 +2,184 @@ import GameApp.*;
 import java.sql.*;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.io.IOException;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
 import org.omg.CORBA.*;
 
 public class GameServer extends GameServicePOA {
+    private static final String DB_URL = "jdbc:mysql://localhost:3306/game_db";
+    private static final String DB_USER = "root";
+    private static final String DB_PASSWORD = "";
+    
     private ORB orb;
     private Connection conn;
-    private List<String> wordList = new ArrayList<>();    
+    // Game timing reads this clock; random decisions (game IDs, tokens, word order) use this source
+    private final GameClock clock;
+    private final Random random;
+    private volatile Dictionary dictionary;    
+    // Games take the current dictionary when they are created, so swapping this reference
+    // only affects new games; running games keep reading the mapping they started with
+    private Path wordsPath = Paths.get(System.getProperty("game.words", "words.txt"));
+    private Path dictionaryPath = Paths.get(System.getProperty("game.dictionary", "words.dict"));
+    private volatile FileTime dictionarySourceTime;
+    // Dictionary rebuilds run here one at a time, away from gameplay and housekeeping
+    private ScheduledExecutorService dictionaryLoader = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "dictionary-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
     private Map<String, GameSession> gameSessions = new ConcurrentHashMap<>();
     private Map<String, PlayerSession> playerSessions = new ConcurrentHashMap<>();
-    private Map<String, Boolean> loggedInUsers = new ConcurrentHashMap<>();
+    // Compact integer ID per player with a session or a game, used as the key inside game state
+    private PlayerIds playerIds = new PlayerIds(id -> this.recentWords.forget(id));
+    // Append-only record of game events; null when turned off
+    private final GameJournal journal;
+    // Words each player saw recently, so new games steer clear of them
+    private RecentWords recentWords = new RecentWords(
+            Integer.getInteger("game.recentWords.maxPlayers", 50000),
+            Integer.getInteger("game.recentWords.bits", 2048),
+            Integer.getInteger("game.recentWords.wordsPerFilter", 200));
+    // Which game each player is in, so lookups don't have to scan every game
+    private Map<String, GameSession> playerGames = new ConcurrentHashMap<>();
+    
+    // NEW: Hash map to store timers per game to prevent cross-game interference
+    // (each game's WordPicker keeps its own words from repeating)
+    private Map<String, ScheduledFuture<?>> gameTimers = new ConcurrentHashMap<>();
+    
+    // Game state is owned by a fixed set of single-threaded loops, each game pinned to one
+    private final GameEventLoops eventLoops;
+    // Limits on sessions and open games, and shedding of new work while the loops are behind
+    private final AdmissionControl admission;
+    // Database writes triggered by gameplay run here so they never stall a game loop
+    private ExecutorService dbWriter = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "game-db-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Game history rows are batched and inserted in the background on their own connection
+    private final GameResultWriter resultWriter;
+    
+    // Players ordered by wins, for ranks and leaderboard pages without sorting the users table
+    private Leaderboard leaderboard = new Leaderboard();
+    private static final int MAX_LEADERBOARD_PAGE = 100;
+    // Round wins over the last day (hourly buckets) and the last week (six-hour buckets)
+    private WindowedLeaderboard dailyWins = new WindowedLeaderboard(TimeUnit.HOURS.toMillis(1), 24);
+    private WindowedLeaderboard weeklyWins = new WindowedLeaderboard(TimeUnit.HOURS.toMillis(6), 28);
+    // Games, rounds, solve times, guesses and streaks per player, counted in memory and flushed in batches
+    private PlayerStats playerStats = new PlayerStats();
+    // Counters and gauges behind the admin dashboard
+    private ServerMetrics metrics = new ServerMetrics();
+    // Prometheus endpoint on a local port (game.metrics.port); null when turned off
+    private MetricsExporter metricsExporter;
+    
+    // Cache of user rows for login/getUserType (invalidated by the admin methods)
+    private UserCache userCache = new UserCache(
+            Integer.getInteger("game.userCache.maxEntries", 10000),
+            Long.getLong("game.userCache.ttlSeconds", 300),
+            Long.getLong("game.userCache.negativeTtlSeconds", 30));
     
-    // NEW: Hash maps to store timers and used words per game to prevent cross-game interference
-    private Map<String, java.util.Timer> gameTimers = new ConcurrentHashMap<>();
-    private Map<String, Set<String>> gameUsedWords = new ConcurrentHashMap<>();
+    // Game configuration, replaced as a whole whenever it changes
+    private AtomicReference<GameConfig> gameConfig = new AtomicReference<>(GameConfig.DEFAULTS);
     
-    // Game configuration
-    private long waitingTime = 10;
-    private long roundDuration = 30;
+    // Abandoned-game reaper: one pending check per game, ordered by deadline, so each
+    // pass only looks at games that are actually due instead of scanning all of them
+    private DelayQueue<ReapCheck> reapQueue = new DelayQueue<>();
+    private long finishedGraceMillis = Long.getLong("game.reaper.finishedGraceSeconds", 30) * 1000;
+    private long idleTimeoutMillis = Long.getLong("game.reaper.idleTimeoutSeconds", 300) * 1000;
+    private long lobbyGraceMillis = Long.getLong("game.reaper.lobbyGraceSeconds", 10) * 1000;
+    private int reapBatchSize = Integer.getInteger("game.reaper.batchSize", 500);
+    private long reapedFinished = 0;
+    private long reapedIdle = 0;
+    private long reapedWaiting = 0;
+    private long reapedEmpty = 0;
+    
+    // Lobby and lease expiry: everything shares one timer wheel instead of a thread each
+    private final TimerWheel expiryTimers;
+    private long lobbyStaleMillis = Long.getLong("game.lobby.staleSeconds", 5) * 1000;
+    // Why a player's lobby was closed, reported once on their next status poll
+    private Map<String, String> lobbyNotices = new ConcurrentHashMap<>();
+    
+    // Client leases: every call renews the caller's lease, expired ones are queued by the
+    // timer wheel and handled together by the lease sweeper
+    private long leaseMillis = Long.getLong("game.lease.seconds", 10) * 1000;
+    private Queue<PlayerSession> expiredLeases = new java.util.concurrent.ConcurrentLinkedQueue<>();
+    
+    // Sessions and games are checkpointed to this file so a restart can restore them; 0 seconds turns it off
+    private long checkpointSeconds = Long.getLong("game.checkpoint.seconds", 5);
+    private Path checkpointPath = Paths.get(System.getProperty("game.checkpoint.file", "checkpoint.bin"));
+    private final java.lang.Object checkpointLock = new java.lang.Object();
+    
+    // Single background thread for periodic server maintenance
+    private ScheduledExecutorService housekeeping = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "game-housekeeping");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     public void setORB(ORB orb_val) {
         orb = orb_val;
     }
     
     public GameServer() {
+        clock = GameClock.SYSTEM;
+        random = new Random();
+        journal = openJournal();
+        eventLoops = new GameEventLoops(Integer.getInteger("game.eventLoops", Runtime.getRuntime().availableProcessors()));
+        admission = new AdmissionControl(eventLoops);
+        resultWriter = new GameResultWriter(DB_URL, DB_USER, DB_PASSWORD,
+                Integer.getInteger("game.results.bufferSize", 10000),
+                Integer.getInteger("game.results.batchSize", 200),
+                Long.getLong("game.results.flushMillis", 1000),
+                Paths.get(System.getProperty("game.results.spillFile", "game_results.spill")));
+        expiryTimers = new TimerWheel("game-expiry-timer", 100, 512);
         try {
             Class.forName("com.mysql.cj.jdbc.Driver");
-            conn = DriverManager.getConnection("jdbc:mysql://localhost:3306/game_db", "root", "");
-            loadWordsFromFile();
+            conn = metrics.timed(DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD));
+            loadDictionary();
             loadGameConfig();
+            loadLeaderboard();
+            loadWindowedLeaderboards();
+            if (checkpointSeconds > 0) {
+                // Runs before GameServerApp registers us with the naming service, so clients
+                // only ever reach a server that already has its games back
+                restoreCheckpoint();
+                housekeeping.scheduleWithFixedDelay(this::writeCheckpoint, checkpointSeconds, checkpointSeconds, TimeUnit.SECONDS);
+            }
+            // Pick up configuration edited directly in the database
+            long configRefresh = Long.getLong("game.config.refreshSeconds", 5);
+            housekeeping.scheduleWithFixedDelay(this::refreshGameConfig, configRefresh, configRefresh, TimeUnit.SECONDS);
+            long reapInterval = Long.getLong("game.reaper.intervalSeconds", 1);
+            housekeeping.scheduleWithFixedDelay(this::reapGames, reapInterval, reapInterval, TimeUnit.SECONDS);
+            housekeeping.scheduleWithFixedDelay(this::sweepExpiredLeases, 1, 1, TimeUnit.SECONDS);
+            long statsFlush = Long.getLong("game.stats.flushSeconds", 10);
+            housekeeping.scheduleWithFixedDelay(this::flushPlayerStats, statsFlush, statsFlush, TimeUnit.SECONDS);
+            housekeeping.scheduleAtFixedRate(metrics::sample, 0, 1, TimeUnit.SECONDS);
+            housekeeping.scheduleAtFixedRate(eventLoops::probe, 1, 1, TimeUnit.SECONDS);
+            startMetricsExporter();
+            // Wins are kept up to date incrementally; the periodic reload only picks up edits made directly in the database
+            long leaderboardReload = Long.getLong("game.leaderboard.reloadSeconds", 300);
+            if (leaderboardReload > 0) {
+                housekeeping.scheduleWithFixedDelay(this::loadLeaderboard, leaderboardReload, leaderboardReload, TimeUnit.SECONDS);
+            }
+            // Rebuild the dictionary when the word list is edited
+            long dictionaryCheck = Long.getLong("game.dictionary.checkSeconds", 10);
+            if (dictionaryCheck > 0) {
+                dictionaryLoader.scheduleWithFixedDelay(this::checkWordListChanged, dictionaryCheck, dictionaryCheck, TimeUnit.SECONDS);
+            }
             // Add shutdown hook to clean up logged in users
             Runtime.getRuntime().addShutdownHook(new Thread(() -> cleanup()));
             
@@ -50,96 +196,441 @@ public class GameServer extends GameServicePOA {
         }
     }
     
-    private void loadWordsFromFile() {
+    // For GameSimulation: the scheduler is the clock, the only game loop and the ticker of the
+    // expiry timers, and random decisions come from the seed, so a run repeats exactly. There is
+    // no database, journal, checkpoint or metrics endpoint; finished games are only counted.
+    GameServer(VirtualScheduler scheduler, long seed, GameConfig config) {
+        clock = scheduler;
+        random = new Random(seed);
+        journal = null;
+        eventLoops = new GameEventLoops(scheduler);
+        admission = new AdmissionControl(eventLoops);
+        resultWriter = GameResultWriter.discarding();
+        expiryTimers = new TimerWheel(scheduler, scheduler, 100, 512);
+        gameConfig.set(config);
+        loadDictionary();
+        long reapInterval = Long.getLong("game.reaper.intervalSeconds", 1);
+        scheduler.scheduleWithFixedDelay(this::reapGames, reapInterval, reapInterval, TimeUnit.SECONDS);
+        scheduler.scheduleWithFixedDelay(this::sweepExpiredLeases, 1, 1, TimeUnit.SECONDS);
+    }
+    
+    private static GameJournal openJournal() {
+        if (!Boolean.parseBoolean(System.getProperty("game.journal.enabled", "true"))) {
+            return null;
+        }
+        Path dir = Paths.get(System.getProperty("game.journal.dir", "journal"));
+        try {
+            return new GameJournal(dir, Integer.getInteger("game.journal.segmentMB", 16) * 1024 * 1024);
+        } catch (IOException e) {
+            System.err.println("Game journal disabled, cannot open " + dir + ": " + e.getMessage());
+            return null;
+        }
+    }
+    
+    // Never blocks: the journal's writer thread does the actual I/O
+    private void journal(byte type, String gameId, String player, int value, String text) {
+        if (journal != null) {
+            journal.record(type, gameId, player, value, text);
+        }
+    }
+    
+    // Copies every session and game into the checkpoint file. Each game is copied on its own
+    // loop, so every game is internally consistent without pausing the others.
+    private void writeCheckpoint() {
+        synchronized (checkpointLock) {
+            try {
+                long savedAt = clock.millis();
+                List<Checkpoint.SessionState> sessions = new ArrayList<>();
+                for (PlayerSession session : playerSessions.values()) {
+                    sessions.add(new Checkpoint.SessionState(session.getUsername(), session.getUserType(), session.getSessionToken()));
+                }
+                List<Checkpoint.GameState> games = new ArrayList<>();
+                for (GameSession game : gameSessions.values()) {
+                    Checkpoint.GameState state = game.call(game::capture);
+                    if (state != null) {
+                        games.add(state);
+                    }
+                }
+                new Checkpoint(savedAt, sessions, games).write(checkpointPath);
+            } catch (Exception e) {
+                System.err.println("Error writing checkpoint: " + e.getMessage());
+            }
+        }
+    }
+    
+    // Brings back the sessions and games saved by the previous run, then replays the journal
+    // events written after the save: logins and logouts, and every game's events, including
+    // games created since. Players who were in a game but whose session couldn't be restored
+    // forfeit, just as if their lease had run out.
+    private void restoreCheckpoint() {
+        Checkpoint checkpoint;
+        try {
+            checkpoint = Checkpoint.read(checkpointPath);
+        } catch (IOException e) {
+            System.err.println("Ignoring unreadable checkpoint " + checkpointPath + ": " + e.getMessage());
+            return;
+        }
+        if (checkpoint == null) {
+            return;
+        }
+        List<GameJournal.Event> tail = readJournalTail(checkpoint.getSavedAt());
+        
+        // Sessions as saved, then as changed by later logins and logouts
+        Map<String, Checkpoint.SessionState> sessions = new LinkedHashMap<>();
+        for (Checkpoint.SessionState saved : checkpoint.getSessions()) {
+            sessions.put(saved.getUsername(), saved);
+        }
+        for (GameJournal.Event event : tail) {
+            if (event.getType() == GameJournal.LOGIN) {
+                // Text is userType:token
+                String[] login = event.getText().split(":", 2);
+                if (login.length == 2) {
+                    sessions.put(event.getPlayer(), new Checkpoint.SessionState(event.getPlayer(), login[0], login[1]));
+                }
+            } else if (event.getType() == GameJournal.LOGOUT) {
+                sessions.remove(event.getPlayer());
+            }
+        }
+        for (Checkpoint.SessionState saved : sessions.values()) {
+            playerIds.retain(saved.getUsername());
+            PlayerSession session = new PlayerSession(saved.getUsername(), saved.getUserType(), saved.getSessionToken());
+            playerSessions.put(saved.getUsername(), session);
+            scheduleLeaseCheck(session);
+        }
+        
+        Map<String, GameSession> restored = new LinkedHashMap<>();
+        Map<String, long[]> captured = new HashMap<>();
+        for (Checkpoint.GameState state : checkpoint.getGames()) {
+            restored.put(state.getGameId(), new GameSession(state, dictionary));
+            captured.put(state.getGameId(), new long[]{state.getCapturedAt(), state.getCapturedSequence()});
+        }
+        int replayed = replayGameEvents(tail, restored, captured);
+        
+        int games = 0;
+        for (GameSession game : restored.values()) {
+            for (String player : game.getPlayers()) {
+                if (!playerSessions.containsKey(player)) {
+                    int playerId = playerIds.idOf(player);
+                    journal(GameJournal.LEAVE, game.getGameId(), player, 0, "session not restored");
+                    game.call(() -> {
+                        game.forfeit(playerId);
+                        return null;
+                    });
+                }
+            }
+            if (game.getPlayerCount() == 0) {
+                game.close();
+                continue;
+            }
+            gameSessions.put(game.getGameId(), game);
+            for (String player : game.getPlayers()) {
+                playerGames.put(player, game);
+            }
+            game.call(() -> {
+                game.resume();
+                return null;
+            });
+            reapQueue.add(new ReapCheck(game.getGameId(), game.getReapDeadline()));
+            games++;
+        }
+        System.out.println("Restored " + playerSessions.size() + " sessions and " + games + " games from " + checkpointPath
+                + " saved " + (clock.millis() - checkpoint.getSavedAt()) / 1000 + " seconds ago, replayed "
+                + replayed + " journal events");
+    }
+    
+    // Journal events from the checkpoint's save time on, oldest first. Segments are read newest
+    // first, stopping at the first one that starts before the save.
+    private List<GameJournal.Event> readJournalTail(long savedAt) {
+        List<GameJournal.Event> tail = new ArrayList<>();
         try {
-            Path path = Paths.get("words.txt");
-            List<String> lines = Files.readAllLines(path);
-            for (String line : lines) {
-                String word = line.trim().toUpperCase();
-                if (!word.isEmpty()) {
-                    wordList.add(word);
+            List<Path> segments = JournalReader.segments(Paths.get(System.getProperty("game.journal.dir", "journal")));
+            for (int i = segments.size() - 1; i >= 0; i--) {
+                List<GameJournal.Event> segment = new ArrayList<>();
+                JournalReader.readSegment(segments.get(i), segment::add);
+                tail.addAll(0, segment);
+                if (!segment.isEmpty() && segment.get(0).getTime() < savedAt) {
+                    break;
                 }
             }
-            System.out.println("Loaded " + wordList.size() + " words from file");
+        } catch (IOException e) {
+            System.err.println("Error reading journal tail, restoring checkpoint state only: " + e.getMessage());
+            return new ArrayList<>();
+        }
+        // An event from the save's own millisecond may or may not be in the checkpoint; logins and
+        // logouts are safe to apply twice, and games use their own capture point below
+        tail.removeIf(event -> event.getTime() < savedAt);
+        return tail;
+    }
+    
+    // Applies the game events written after each game's checkpoint. A game created after the
+    // checkpoint is rebuilt from its CREATE event; one removed after it is dropped again.
+    private int replayGameEvents(List<GameJournal.Event> tail, Map<String, GameSession> restored, Map<String, long[]> captured) {
+        Map<String, List<GameJournal.Event>> byGame = new LinkedHashMap<>();
+        for (GameJournal.Event event : tail) {
+            String gameId = event.getGameId();
+            if (gameId.isEmpty()) {
+                continue;
+            }
+            long[] saved = captured.get(gameId);
+            if (saved == null && event.getType() == GameJournal.CREATE) {
+                GameSession created = gameFromJournal(event);
+                if (created != null) {
+                    restored.put(gameId, created);
+                    saved = new long[]{event.getTime() - 1, Math.max(0, event.getSequence() - 1)};
+                    captured.put(gameId, saved);
+                    byGame.remove(gameId);
+                }
+            }
+            if (saved != null && isAfter(event, saved)) {
+                byGame.computeIfAbsent(gameId, id -> new ArrayList<>()).add(event);
+            }
+        }
+        int replayed = 0;
+        for (Map.Entry<String, List<GameJournal.Event>> entry : byGame.entrySet()) {
+            GameSession game = restored.get(entry.getKey());
+            boolean removed = game.call(() -> {
+                for (GameJournal.Event event : entry.getValue()) {
+                    if (event.getType() == GameJournal.REMOVE) {
+                        return true;
+                    }
+                    game.replay(event);
+                }
+                return false;
+            });
+            if (removed) {
+                restored.remove(entry.getKey());
+                game.close();
+            }
+            replayed += entry.getValue().size();
+        }
+        return replayed;
+    }
+    
+    // Whether an event came after a game's capture (time, journal sequence). Events from the
+    // capture's own millisecond are told apart by sequence; older checkpoints and segments
+    // don't have one, and then only strictly later events count.
+    private static boolean isAfter(GameJournal.Event event, long[] captured) {
+        if (event.getSequence() > 0 && captured[1] > 0) {
+            return event.getSequence() > captured[1];
+        }
+        return event.getTime() > captured[0];
+    }
+    
+    // A new lobby as journaled by startGame: text is "<mode>; wait <n>s, rounds <n>s"
+    private GameSession gameFromJournal(GameJournal.Event create) {
+        String[] parts = create.getText().split("; ", 2);
+        GameMode mode = GameMode.fromString(parts[0]);
+        if (mode == null) {
+            System.err.println("Cannot restore game " + create.getGameId() + ": unknown mode " + parts[0]);
+            return null;
+        }
+        GameConfig config = gameConfig.get();
+        long waitingTime = config.getWaitingTime();
+        long roundDuration = config.getRoundDuration();
+        if (parts.length == 2) {
+            String[] times = parts[1].replaceAll("[^0-9 ]", "").trim().split(" +");
+            if (times.length == 2) {
+                waitingTime = Long.parseLong(times[0]);
+                roundDuration = Long.parseLong(times[1]);
+            }
+        }
+        return new GameSession(create.getGameId(), new WordPicker(dictionary, mode, random), mode, waitingTime, roundDuration);
+    }
+    
+    // Maps the compiled dictionary, compiling it first if the word list is newer
+    private void loadDictionary() {
+        Path source = wordsPath;
+        Path compiled = dictionaryPath;
+        deleteOldDictionaries(null);
+        try {
+            if (Files.exists(source)) {
+                dictionarySourceTime = Files.getLastModifiedTime(source);
+                if (!Files.exists(compiled) || dictionarySourceTime.compareTo(Files.getLastModifiedTime(compiled)) > 0) {
+                    int count = DictionaryCompiler.compile(source, compiled);
+                    System.out.println("Compiled " + count + " words from " + source + " into " + compiled);
+                }
+            }
+            try {
+                dictionary = Dictionary.open(compiled);
+            } catch (IOException e) {
+                if (!Files.exists(source)) {
+                    throw e;
+                }
+                // Most likely written by an older version of the server
+                System.out.println("Recompiling " + compiled + ": " + e.getMessage());
+                DictionaryCompiler.compile(source, compiled);
+                dictionary = Dictionary.open(compiled);
+            }
+            System.out.println("Loaded " + dictionary.size() + " words from " + compiled);
         } catch (IOException e) {
             System.err.println("Error loading words from file: " + e.getMessage());
             // Add some default words if file is not found
-            wordList.addAll(Arrays.asList("java", "corba", "system", "network", "program", "database", "application", "interface", "protocol"));
+            dictionary = DictionaryCompiler.fromWords(Arrays.asList("JAVA", "CORBA", "SYSTEM", "NETWORK", "PROGRAM", "DATABASE", "APPLICATION", "INTERFACE", "PROTOCOL"));
         }
     }
 
-    private void loadGameConfig() {
+    // Admin: rebuilds the dictionary from the word list and swaps it in for new games
+    public String reloadDictionary() {
         try {
-            String query = "SELECT config_name, config_value FROM game_config WHERE config_name IN ('wait_time', 'round_duration')";
-            PreparedStatement stmt = conn.prepareStatement(query);
-            ResultSet rs = stmt.executeQuery();
-            
-            boolean foundWaitTime = false;
-            boolean foundRoundDuration = false;
-            
-            while (rs.next()) {
-                String configName = rs.getString("config_name");
-                int configValue = rs.getInt("config_value");
-                
-                if ("wait_time".equals(configName)) {
-                    this.waitingTime = configValue;
-                    foundWaitTime = true;
-                    System.out.println("DEBUG: Loaded wait_time from database: " + configValue + " seconds");
-                } else if ("round_duration".equals(configName)) {
-                    this.roundDuration = configValue;
-                    foundRoundDuration = true;
-                    System.out.println("DEBUG: Loaded round_duration from database: " + configValue + " seconds");
+            return dictionaryLoader.submit(() -> rebuildDictionary("admin request")).get();
+        } catch (Exception e) {
+            System.err.println("Reload dictionary error: " + e.getMessage());
+            return "ERROR: " + e.getMessage();
+        }
+    }
+    
+    private void checkWordListChanged() {
+        try {
+            FileTime modified = Files.getLastModifiedTime(wordsPath);
+            if (dictionarySourceTime == null || modified.compareTo(dictionarySourceTime) > 0) {
+                rebuildDictionary("word list changed");
+            }
+        } catch (IOException e) {
+            // No word list to watch; keep the current dictionary
+        }
+    }
+    
+    // Compiles into a new file rather than over words.dict: running games may still have the
+    // old file mapped, and Windows refuses to replace a mapped file. Only called on dictionaryLoader.
+    private String rebuildDictionary(String reason) {
+        try {
+            long start = System.currentTimeMillis();
+            FileTime sourceTime = Files.getLastModifiedTime(wordsPath);
+            Path target = dictionaryPath.resolveSibling(dictionaryPath.getFileName() + "." + start);
+            int count = DictionaryCompiler.compile(wordsPath, target);
+            dictionary = Dictionary.open(target);
+            dictionarySourceTime = sourceTime;
+            deleteOldDictionaries(target);
+            String message = "Dictionary reloaded (" + reason + "): " + count + " words in " + (System.currentTimeMillis() - start) + " ms";
+            System.out.println(message);
+            return message;
+        } catch (IOException e) {
+            System.err.println("Error reloading dictionary: " + e.getMessage());
+            return "ERROR: Could not reload dictionary: " + e.getMessage();
+        }
+    }
+    
+    // Best effort: files still mapped by running games can't be deleted on Windows and are retried next time
+    private void deleteOldDictionaries(Path keep) {
+        Path dir = dictionaryPath.toAbsolutePath().getParent();
+        try (DirectoryStream<Path> old = Files.newDirectoryStream(dir, dictionaryPath.getFileName() + ".*")) {
+            for (Path path : old) {
+                if (keep == null || !path.getFileName().equals(keep.getFileName())) {
+                    try {
+                        Files.deleteIfExists(path);
+                    } catch (IOException e) {
+                        System.out.println("DEBUG: Old dictionary " + path.getFileName() + " still in use");
+                    }
                 }
             }
+        } catch (IOException e) {
+            System.err.println("Error cleaning up old dictionaries: " + e.getMessage());
+        }
+    }
+
+    // Reads game_config into a new snapshot, keeping the defaults for missing rows
+    private GameConfig readGameConfig() throws SQLException {
+        String query = "SELECT config_name, config_value FROM game_config WHERE config_name IN ('wait_time', 'round_duration')";
+        PreparedStatement stmt = conn.prepareStatement(query);
+        ResultSet rs = stmt.executeQuery();
+        
+        GameConfig config = GameConfig.DEFAULTS;
+        while (rs.next()) {
+            String configName = rs.getString("config_name");
+            int configValue = rs.getInt("config_value");
             
-            if (!foundWaitTime) {
-                System.out.println("DEBUG: wait_time not found in database, using default: " + waitingTime + " seconds");
+            if ("wait_time".equals(configName)) {
+                config = config.withWaitingTime(configValue);
+            } else if ("round_duration".equals(configName)) {
+                config = config.withRoundDuration(configValue);
             }
-            if (!foundRoundDuration) {
-                System.out.println("DEBUG: round_duration not found in database, using default: " + roundDuration + " seconds");
+        }
+        return config;
+    }
+
+    private void loadLeaderboard() {
+        try {
+            String query = "SELECT username, wins FROM users WHERE user_type = 'player'";
+            PreparedStatement stmt = conn.prepareStatement(query);
+            ResultSet rs = stmt.executeQuery();
+            Map<String, Integer> wins = new HashMap<>();
+            while (rs.next()) {
+                wins.put(rs.getString("username"), rs.getInt("wins"));
             }
-            
-            System.out.println("Game configuration loaded: wait_time=" + waitingTime + "s, round_duration=" + roundDuration + "s");
+            leaderboard.load(wins);
+            System.out.println("DEBUG: Leaderboard loaded with " + wins.size() + " players");
+        } catch (SQLException e) {
+            System.err.println("Error loading leaderboard: " + e.getMessage());
+        }
+    }
+
+    // Refills the daily and weekly windows from the round history once at startup;
+    // from then on they are only updated as rounds are won
+    private void loadWindowedLeaderboards() {
+        try {
+            String query = "SELECT winner, started_at, duration_ms FROM round_results WHERE winner IS NOT NULL AND started_at >= ?";
+            PreparedStatement stmt = conn.prepareStatement(query);
+            stmt.setTimestamp(1, new Timestamp(clock.millis() - weeklyWins.getWindowMillis()));
+            ResultSet rs = stmt.executeQuery();
+            int count = 0;
+            while (rs.next()) {
+                long wonAt = rs.getTimestamp("started_at").getTime() + rs.getLong("duration_ms");
+                dailyWins.recordWin(rs.getString("winner"), wonAt);
+                weeklyWins.recordWin(rs.getString("winner"), wonAt);
+                count++;
+            }
+            System.out.println("DEBUG: Windowed leaderboards loaded with " + count + " round wins from the last week");
+        } catch (SQLException e) {
+            System.err.println("Error loading windowed leaderboards: " + e.getMessage());
+        }
+    }
+
+    private void loadGameConfig() {
+        try {
+            gameConfig.set(readGameConfig());
+            System.out.println("Game configuration loaded: " + gameConfig.get());
         } catch (SQLException e) {
             System.err.println("Error loading game configuration: " + e.getMessage());
-            System.out.println("Using default values: wait_time=10s, round_duration=30s");
+            System.out.println("Using default values: " + GameConfig.DEFAULTS);
+        }
+    }
+    
+    // Periodic check for configuration changed outside the server (e.g. in phpMyAdmin)
+    private void refreshGameConfig() {
+        try {
+            GameConfig current = gameConfig.get();
+            GameConfig latest = readGameConfig();
+            // Only swap if nobody replaced the snapshot while we were querying
+            if (!latest.equals(current) && gameConfig.compareAndSet(current, latest)) {
+                System.out.println("Game configuration reloaded from database: " + latest);
+            }
+        } catch (SQLException e) {
+            System.err.println("Error refreshing game configuration: " + e.getMessage());
         }
     }
     
     // IDL-defined methods
     public String login(String username, String password) {
         try {
-            // First verify credentials from database
-            String query = "SELECT password, user_type, session_token FROM users WHERE username = ?";
-            PreparedStatement stmt = conn.prepareStatement(query);
-            stmt.setString(1, username);
-            ResultSet rs = stmt.executeQuery();
+            // A new session may be refused (BUSY:retrySeconds:reason) before the database is touched;
+            // logging in over an existing session never is, as that takes over a game in progress
+            if (!playerSessions.containsKey(username)) {
+                AdmissionControl.Decision admitted = admission.admitSession(playerSessions.size());
+                if (!admitted.isAdmitted()) {
+                    return GameService.BUSY + ":" + admitted.getWaitSeconds() + ":" + admitted.getReason();
+                }
+            }
+            
+            // First verify credentials (from the user cache, or the database on a miss)
+            UserCache.UserRecord user = findUser(username);
             
-            if (rs.next()) {
-                String dbPassword = rs.getString("password");
-                String userType = rs.getString("user_type");
-                String currentSessionToken = rs.getString("session_token");
+            if (user.exists()) {
+                String dbPassword = user.getPassword();
+                String userType = user.getUserType();
                 
                 if (password.equals(dbPassword)) {
                     // Generate new 4-digit session token
-                    String newSessionToken = generateSessionToken();                    // Check if user is already logged in with a different session
-                    GameSession gameToTakeOver = null;
-                    if (currentSessionToken != null && !currentSessionToken.isEmpty()) {
-                        // Get the existing session if any
-                        PlayerSession existingSession = playerSessions.get(username);
-                        if (existingSession != null && !existingSession.getSessionToken().equals(newSessionToken)) {
-                            // Mark existing session for forced logout
-                            existingSession.markForForceLogout("This account has been logged in from another client");
-                            System.out.println("User " + username + " session overridden - existing session will be force logged out");
-                            
-                            // Check if user is currently in a game - preserve game state for takeover
-                            GameSession currentGame = findPlayerGame(username);
-                            if (currentGame != null) {
-                                gameToTakeOver = currentGame;
-                                System.out.println("User " + username + " is in game " + currentGame.getGameId() + " - new session will take over the game automatically");
-                            }
-                        }
-                    }
+                    String newSessionToken = generateSessionToken();
                     
                     // Update database with new session token
                     String updateQuery = "UPDATE users SET session_token = ? WHERE username = ?";
@@ -148,23 +639,7 @@ public class GameServer extends GameServicePOA {
                     updateStmt.setString(2, username);
                     updateStmt.executeUpdate();
                     
-                    // Mark user as logged in with new session
-                    loggedInUsers.put(username, true);
-                    
-                    // Create new player session with updated token (preserving game state)
-                    PlayerSession session = new PlayerSession(username, userType, newSessionToken);
-                    playerSessions.put(username, session);
-                    
-                    System.out.println("User " + username + " logged in successfully as " + userType + " with token: " + newSessionToken);
-                    
-                    // If taking over a game, return game information immediately
-                    if (gameToTakeOver != null) {
-                        String gameStatus = gameToTakeOver.isWaitingForPlayers() ? "waiting" : "active";
-                        System.out.println("Auto-loading game " + gameToTakeOver.getGameId() + " for " + username + " (status: " + gameStatus + ")");
-                        return "SUCCESS:" + newSessionToken + ":GAME_TAKEOVER:" + gameToTakeOver.getGameId() + ":" + gameStatus;
-                    }
-                    
-                    return "SUCCESS:" + newSessionToken;
+                    return startSession(username, userType, newSessionToken);
                 } else {
                     // Invalid password
                     System.out.println("Invalid credentials for user " + username);
@@ -181,22 +656,77 @@ public class GameServer extends GameServicePOA {
         }
     }
 
+    // Opens the session for a verified login, taking over the player's game from an older session
+    private String startSession(String username, String userType, String newSessionToken) {
+        // Check if user is already logged in with a different session
+        GameSession gameToTakeOver = null;
+        // Get the existing session if any (only logged in users have one)
+        PlayerSession existingSession = playerSessions.get(username);
+        if (existingSession != null && !existingSession.getSessionToken().equals(newSessionToken)) {
+            // Mark existing session for forced logout
+            existingSession.markForForceLogout("This account has been logged in from another client");
+            System.out.println("User " + username + " session overridden - existing session will be force logged out");
+            
+            // Check if user is currently in a game - preserve game state for takeover
+            GameSession currentGame = findPlayerGame(username);
+            if (currentGame != null) {
+                gameToTakeOver = currentGame;
+                System.out.println("User " + username + " is in game " + currentGame.getGameId() + " - new session will take over the game automatically");
+                journal(GameJournal.TAKEOVER, currentGame.getGameId(), username, 0, null);
+            }
+        }
+        
+        // The session holds the player's ID, so game code always finds one
+        playerIds.retain(username);
+        
+        // Create new player session with updated token (preserving game state)
+        PlayerSession session = new PlayerSession(username, userType, newSessionToken);
+        if (playerSessions.put(username, session) != null) {
+            playerIds.release(username); // The replaced session already held it
+        }
+        journal(GameJournal.LOGIN, null, username, 0, userType + ":" + newSessionToken);
+        scheduleLeaseCheck(session);
+        
+        System.out.println("User " + username + " logged in successfully as " + userType + " with token: " + newSessionToken);
+        
+        // If taking over a game, return game information immediately
+        if (gameToTakeOver != null) {
+            String gameStatus = gameToTakeOver.isWaitingForPlayers() ? "waiting" : "active";
+            System.out.println("Auto-loading game " + gameToTakeOver.getGameId() + " for " + username + " (status: " + gameStatus + ")");
+            return "SUCCESS:" + newSessionToken + ":GAME_TAKEOVER:" + gameToTakeOver.getGameId() + ":" + gameStatus;
+        }
+        
+        return "SUCCESS:" + newSessionToken;
+    }
+    
+    // GameSimulation's login: players have no database rows there, so there is no password to check
+    String simulatedLogin(String username) {
+        return startSession(username, "player", generateSessionToken());
+    }
+    
+    // Games handed to the history writer since startup
+    long getRecordedGames() {
+        return resultWriter.getWritten();
+    }
+    
+    Dictionary getDictionary() {
+        return dictionary;
+    }
+
     public String getUserType(String username) {
         try {
             // First check if user has an active session
             PlayerSession session = playerSessions.get(username);
             if (session != null) {
+                session.renewLease();
                 return session.getUserType();
             }
             
-            // If no active session, query database
-            String query = "SELECT user_type FROM users WHERE username = ?";
-            PreparedStatement stmt = conn.prepareStatement(query);
-            stmt.setString(1, username);
-            ResultSet rs = stmt.executeQuery();
+            // If no active session, use the cached user record (queries database on a miss)
+            UserCache.UserRecord user = findUser(username);
             
-            if (rs.next()) {
-                return rs.getString("user_type");
+            if (user.exists()) {
+                return user.getUserType();
             } else {
                 System.out.println("User " + username + " not found in getUserType");
                 return "unknown";
@@ -215,16 +745,19 @@ public class GameServer extends GameServicePOA {
             updateStmt.setString(1, username);
             updateStmt.executeUpdate();
             
-            // Remove from active games if participating
-            synchronized (this) {
-                for (GameSession game : gameSessions.values()) {
-                    game.removePlayer(username);
-                }
+            // Remove from their game if participating
+            GameSession game = findPlayerGame(username);
+            if (game != null) {
+                leaveGame(game, username, false, "quit");
             }
             
             // Mark user as logged out
-            loggedInUsers.put(username, false);
-            playerSessions.remove(username);
+            if (playerSessions.remove(username) != null) {
+                playerIds.release(username);
+                journal(GameJournal.LOGOUT, null, username, 0, "logout");
+            }
+            lobbyNotices.remove(username);
+            admission.leaveLine(username);
             
             System.out.println("User " + username + " logged out and session token cleared");        
         } catch (Exception e) {
@@ -235,144 +768,376 @@ public class GameServer extends GameServicePOA {
     // Cleanup method to remove game data from server-level hash maps when games end
     private void cleanupGame(String gameId) {
         // Cancel and remove any active timer for this game
-        java.util.Timer activeTimer = gameTimers.get(gameId);
+        ScheduledFuture<?> activeTimer = gameTimers.remove(gameId);
         if (activeTimer != null) {
             System.out.println("DEBUG: Canceling and cleaning up timer for game " + gameId);
-            activeTimer.cancel();
-            gameTimers.remove(gameId);
-        }
-        
-        // Remove used words tracking for this game
-        Set<String> removedWords = gameUsedWords.remove(gameId);
-        if (removedWords != null) {
-            System.out.println("DEBUG: Cleaned up word tracking for game " + gameId + " (" + removedWords.size() + " words were used)");
+            activeTimer.cancel(false);
         }
         
         System.out.println("DEBUG: Game " + gameId + " cleanup completed");
     }
     
-    public void quitGame(String username) {
+    // Removes a game from the server and releases everything it holds (caller holds the server
+    // lock). Doesn't wait for the game's loop, so the lock is never held across a loop call.
+    private void removeGame(GameSession game) {
+        String gameId = game.getGameId();
+        // A game that started but never finished still goes into the history; queued on the
+        // loop ahead of the ID release close() queues, so the names are still there
+        game.execute(() -> game.recordResult(GameResult.ABANDONED));
+        gameSessions.remove(gameId);
+        journal(GameJournal.REMOVE, gameId, null, 0, null);
+        for (String player : game.getPlayers()) {
+            playerGames.remove(player, game);
+        }
+        game.close();
+        cleanupGame(gameId); // Clean up timers and word tracking
+        admission.gameEnded(clock.millis());
+    }
+    
+    // Takes a player out of their game, or has them forfeit it, removing the game once it is
+    // empty. Waits for the game's loop, so it must not be called with the server lock held.
+    private void leaveGame(GameSession game, String username, boolean forfeit, String reason) {
+        journal(GameJournal.LEAVE, game.getGameId(), username, 0, reason);
+        int playerId = playerIds.idOf(username);
+        game.call(() -> {
+            if (forfeit) {
+                game.forfeit(playerId);
+            } else {
+                game.removePlayer(playerId);
+            }
+            return null;
+        });
         synchronized (this) {
-            try {
-                // Remove player from their current game
-                GameSession game = findPlayerGame(username);
-                if (game != null) {
-                    game.removePlayer(username);
-                    System.out.println("Player " + username + " quit game " + game.getGameId());
-                    // If game becomes empty, remove it and clean up server-level data
-                    if (game.getPlayerCount() == 0) {
-                        String gameId = game.getGameId();
-                        gameSessions.remove(gameId);
-                        cleanupGame(gameId); // Clean up timers and word tracking
-                        System.out.println("Game " + gameId + " removed and cleaned up (no players)");
-                    }
-                } else {
-                    System.out.println("Player " + username + " tried to quit but was not in any game");
-                }
-            } catch (Exception e) {
-                System.err.println("Quit game error: " + e.getMessage());
+            playerGames.remove(username, game);
+            // A player joining meanwhile keeps it; one whose join comes later finds it closed
+            if (game.getPlayerCount() == 0 && gameSessions.get(game.getGameId()) == game) {
+                removeGame(game);
+                System.out.println("Game " + game.getGameId() + " removed and cleaned up (no players)");
             }
         }
     }
+    
+    public void quitGame(String username) {
+        renewLease(username);
+        try {
+            lobbyNotices.remove(username);
+            // Remove player from their current game
+            GameSession game = findPlayerGame(username);
+            if (game != null) {
+                GameEvents.setCurrentGame(game.getGameId());
+                // If game becomes empty, leaveGame removes it and cleans up server-level data
+                leaveGame(game, username, false, "quit");
+                System.out.println("Player " + username + " quit game " + game.getGameId());
+            } else {
+                System.out.println("Player " + username + " tried to quit but was not in any game");
+            }
+        } catch (Exception e) {
+            System.err.println("Quit game error: " + e.getMessage());
+        }
+    }
 
     public String[] startGame(String username) {
-        synchronized (this) {
-            try {
-                PlayerSession player = playerSessions.get(username);
-                if (player == null) {
-                    return new String[]{"ERROR", "Not logged in"};
-                }                // Check if player is already in a game (including takeover scenarios)
-                for (GameSession game : gameSessions.values()) {
-                    if (game.hasPlayer(username)) {
-                        System.out.println("User " + username + " resuming existing game " + game.getGameId() + " (may be due to session takeover)");
-                        
-                        if (game.isWaitingForPlayers()) {
-                            return new String[]{"SUCCESS", "Waiting for another player", game.getGameId()};
-                        } else {
-                            return new String[]{"SUCCESS", "Resuming game in progress", game.getGameId()};
+        return startGame(username, GameMode.ANY);
+    }
+
+    // Like startGame, but only draws words of the given difficulty (EASY, MEDIUM, HARD or ANY)
+    // and length range; 0 means no limit. Players are only matched with lobbies of the same mode.
+    public String[] startGameWithMode(String username, String difficulty, int minLength, int maxLength) {
+        GameMode mode = GameMode.parse(difficulty, minLength, maxLength);
+        if (mode == null) {
+            return new String[]{"ERROR", "Unknown difficulty: " + difficulty};
+        }
+        if (new WordPicker(dictionary, mode).size() == 0) {
+            return new String[]{"ERROR", "No words match " + mode};
+        }
+        return startGame(username, mode);
+    }
+
+    // The server lock only covers picking a lobby and updating the shared maps; joining and
+    // starting the game happen on the game's loop after it is released, so one busy loop
+    // never holds up matchmaking for the others
+    private String[] startGame(String username, GameMode mode) {
+        renewLease(username);
+        try {
+            PlayerSession player = playerSessions.get(username);
+            if (player == null) {
+                return new String[]{"ERROR", "Not logged in"};
+            }
+            lobbyNotices.remove(username);                // Check if player is already in a game (including takeover scenarios)
+            GameSession existingGame = findPlayerGame(username);
+            if (existingGame != null) {
+                GameEvents.setCurrentGame(existingGame.getGameId());
+                System.out.println("User " + username + " resuming existing game " + existingGame.getGameId() + " (may be due to session takeover)");
+                
+                if (existingGame.isWaitingForPlayers()) {
+                    return new String[]{"SUCCESS", "Waiting for another player", existingGame.getGameId()};
+                } else {
+                    return new String[]{"SUCCESS", "Resuming game in progress", existingGame.getGameId()};
+                }
+            }
+
+            // Look for existing game waiting for players, skipping lobbies that are about
+            // to expire or whose creator has stopped polling. The player is put down for the
+            // lobby under the lock and joins it on its loop; if it filled up or closed in
+            // between, they try the next one.
+            while (true) {
+                GameSession game = null;
+                long now = clock.millis();
+                synchronized (this) {
+                    for (GameSession lobby : gameSessions.values()) {
+                        if (lobby.isWaitingForPlayers() && lobby.getPlayerCount() < 2 && !lobby.isStaleLobby(now)
+                                && lobby.getMode().equals(mode) && playerGames.putIfAbsent(username, lobby) == null) {
+                            game = lobby;
+                            break;
                         }
                     }
                 }
-
-                // Look for existing game waiting for players
-                for (GameSession game : gameSessions.values()) {
-                    if (game.isWaitingForPlayers() && game.getPlayerCount() < 2) {
-                        game.addPlayer(username);
-                        if (game.getPlayerCount() == 2) {
-                            game.startGame();
-                            return new String[]{"SUCCESS", "Game started", game.getGameId()};
+                if (game == null) {
+                    break;
+                }
+                GameSession joining = game;
+                GameEvents.setCurrentGame(joining.getGameId());
+                int playerId = playerIds.idOf(username);
+                GameEvents.PlayerJoined joined = new GameEvents.PlayerJoined();
+                joined.begin();
+                String[] result;
+                try {
+                    result = joining.call(() -> {
+                        if (!joining.isOpenLobby()) {
+                            return null;
+                        }
+                        joining.addPlayer(playerId);
+                        if (joining.getPlayerCount() == 2) {
+                            GameEvents.MatchPaired paired = new GameEvents.MatchPaired();
+                            paired.begin();
+                            joining.startGame();
+                            paired.end();
+                            if (paired.shouldCommit()) {
+                                paired.gameId = joining.getGameId();
+                                paired.players = String.join(",", joining.getPlayers());
+                                paired.mode = joining.getMode().toString();
+                                paired.lobbyWait = clock.millis() - joining.createdTime;
+                                paired.commit();
+                            }
+                            return new String[]{"SUCCESS", "Game started", joining.getGameId()};
                         } else {
-                            return new String[]{"SUCCESS", "Waiting for another player", game.getGameId()};
+                            return new String[]{"SUCCESS", "Waiting for another player", joining.getGameId()};
                         }
-                    }
+                    });
+                } catch (RuntimeException e) {
+                    playerGames.remove(username, joining);
+                    throw e;
+                }
+                if (result == null) {
+                    playerGames.remove(username, joining);
+                    continue;
+                }
+                admission.leaveLine(username);
+                journal(GameJournal.JOIN, joining.getGameId(), username, 0, null);
+                joined.end();
+                if (joined.shouldCommit()) {
+                    joined.gameId = joining.getGameId();
+                    joined.player = username;
+                    joined.commit();
                 }
+                return result;
+            }
+
+            // A new lobby is new work: past the game limit the player waits in line, and
+            // while the loops are overloaded they are turned away
+            AdmissionControl.Decision admitted = admission.admitGame(username, gameSessions.size(), clock.millis());
+            if (!admitted.isAdmitted()) {
+                return admissionResult(admitted);
+            }
 
-                // Create new game session
-                String gameId = UUID.randomUUID().toString().substring(0, 8);
-                System.out.println("DEBUG: Creating new GameSession with waitingTime=" + waitingTime + "s, roundDuration=" + roundDuration + "s");
-                GameSession newGame = new GameSession(gameId, wordList, waitingTime, roundDuration);
-                newGame.addPlayer(username);
+            // Create new game session from one consistent configuration snapshot. Nobody
+            // else can see it until it is in the maps, so the creator is added first.
+            GameEvents.GameCreated created = new GameEvents.GameCreated();
+            created.begin();
+            String gameId = String.format("%08x", random.nextInt());
+            GameEvents.setCurrentGame(gameId);
+            GameConfig config = gameConfig.get();
+            System.out.println("DEBUG: Creating new GameSession with " + config + ", mode=" + mode);
+            GameSession newGame = new GameSession(gameId, new WordPicker(dictionary, mode, random), mode, config.getWaitingTime(), config.getRoundDuration());
+            int playerId = playerIds.idOf(username);
+            newGame.call(() -> {
+                newGame.addPlayer(playerId);
+                return null;
+            });
+            synchronized (this) {
                 gameSessions.put(gameId, newGame);
-                
-                return new String[]{"SUCCESS", "Waiting for another player", gameId};
-            } catch (Exception e) {
-                System.err.println("Start game error: " + e.getMessage());
-                return new String[]{"ERROR", "Failed to start game"};
+                playerGames.put(username, newGame);
+            }
+            journal(GameJournal.CREATE, gameId, username, 0,
+                    mode + "; wait " + config.getWaitingTime() + "s, rounds " + config.getRoundDuration() + "s");
+            reapQueue.add(new ReapCheck(gameId, newGame.getReapDeadline()));
+            newGame.scheduleLobbyExpiry();
+            created.end();
+            if (created.shouldCommit()) {
+                created.gameId = gameId;
+                created.player = username;
+                created.mode = mode.toString();
+                created.commit();
             }
+            
+            return new String[]{"SUCCESS", "Waiting for another player", gameId};
+        } catch (Exception e) {
+            System.err.println("Start game error: " + e.getMessage());
+            return new String[]{"ERROR", "Failed to start game"};
+        }
+    }
+
+    // QUEUED, reason, place in line, estimated wait in seconds; or BUSY, reason, seconds before trying again
+    private static String[] admissionResult(AdmissionControl.Decision decision) {
+        if (decision.isQueued()) {
+            return new String[]{GameService.QUEUED, decision.getReason(),
+                    String.valueOf(decision.getPosition()), String.valueOf(decision.getWaitSeconds())};
         }
+        return new String[]{GameService.BUSY, decision.getReason(), String.valueOf(decision.getWaitSeconds())};
     }
 
+    // Guesses and status reads don't take the server lock - they are queued on the
+    // game's own event loop, so different games never contend with each other
     public boolean guessLetter(String username, char letter) {
-        synchronized (this) {
-            try {
-                GameSession game = findPlayerGame(username);
-                if (game == null) {
-                    return false;
-                }
-                
-                return game.guessLetter(username, letter);
-            } catch (Exception e) {
-                System.err.println("Guess letter error: " + e.getMessage());
+        renewLease(username);
+        try {
+            GameSession game = findPlayerGame(username);
+            if (game == null) {
+                return false;
+            }
+            GameEvents.setCurrentGame(game.getGameId());
+            
+            int playerId = playerIds.idOf(username);
+            if (playerId == PlayerIds.NO_PLAYER) {
                 return false;
             }
+            GameEvents.Guess event = new GameEvents.Guess();
+            event.begin();
+            boolean correct = game.call(() -> game.guessLetter(playerId, letter));
+            event.end();
+            if (event.shouldCommit()) {
+                event.gameId = game.getGameId();
+                event.player = username;
+                event.letter = Character.toUpperCase(letter);
+                event.correct = correct;
+                event.commit();
+            }
+            return correct;
+        } catch (Exception e) {
+            System.err.println("Guess letter error: " + e.getMessage());
+            return false;
         }
     }
 
     public String getPartialWord(String username) {
-        synchronized (this) {
-            try {
-                GameSession game = findPlayerGame(username);
-                if (game == null) {
-                    return "Not in a game";
-                }
-                
-                return game.getPartialWord(username);
-            } catch (Exception e) {
-                System.err.println("Get partial word error: " + e.getMessage());
-                return "Error getting game status";
+        renewLease(username);
+        try {
+            GameSession game = findPlayerGame(username);
+            if (game == null) {
+                // Tell the player once if the server closed their lobby
+                String notice = lobbyNotices.remove(username);
+                return notice != null ? notice : "Not in a game";
+            }
+            GameEvents.setCurrentGame(game.getGameId());
+            
+            int playerId = playerIds.idOf(username);
+            if (playerId == PlayerIds.NO_PLAYER) {
+                return "Not in a game";
             }
+            return game.getPartialWord(playerId);
+        } catch (Exception e) {
+            System.err.println("Get partial word error: " + e.getMessage());
+            return "Error getting game status";
         }
     }
 
     public String getLeaderboard() {
+        StringBuilder result = new StringBuilder("LEADERBOARD:\n");
+        appendLeaderboardEntries(result, leaderboard.page(0, 5));
+        return result.toString();
+    }
+    
+    // 1-based rank by wins (tied players share a rank), or 0 if the player isn't ranked
+    public int getRank(String username) {
+        renewLease(username);
+        return leaderboard.rankOf(username);
+    }
+    
+    // Games played, rounds won, average solve time, wrong-guess rate and streak
+    public String getPlayerStats(String username) {
+        renewLease(username);
         try {
-            String query = "SELECT username, wins FROM users WHERE user_type = 'player' ORDER BY wins DESC LIMIT 5";
+            String query = "SELECT * FROM player_stats WHERE username = ?";
             PreparedStatement stmt = conn.prepareStatement(query);
+            stmt.setString(1, username);
             ResultSet rs = stmt.executeQuery();
-            
-            StringBuilder leaderboard = new StringBuilder("LEADERBOARD:\n");
-            int rank = 1;
-            while (rs.next()) {
-                String username = rs.getString("username");
-                int wins = rs.getInt("wins");
-                leaderboard.append(rank).append(". ").append(username).append(" - ").append(wins).append(" wins\n");
-                rank++;
-            }
-            
-            return leaderboard.toString();
+            PlayerStats.Totals stored = rs.next() ? storedStats(rs) : PlayerStats.Totals.NONE;
+            return "STATS: " + playerStats.withPending(username, stored).describe();
         } catch (SQLException e) {
-            System.err.println("Leaderboard error: " + e.getMessage());
-            return "Error retrieving leaderboard";
+            System.err.println("Get player stats error: " + e.getMessage());
+            return "Error getting player stats";
+        }
+    }
+    
+    // Up to count entries (at most MAX_LEADERBOARD_PAGE) starting at a 0-based offset
+    public String getLeaderboardPage(int offset, int count) {
+        return formatLeaderboardPage("LEADERBOARD", leaderboard.size(),
+                offset, leaderboard.page(Math.max(0, offset), Math.min(count, MAX_LEADERBOARD_PAGE)));
+    }
+    
+    // Like getLeaderboardPage, but counting only round wins in a window: DAILY (last 24 hours),
+    // WEEKLY (last 7 days) or ALL (all time)
+    public String getWindowedLeaderboard(String window, int offset, int count) {
+        String name = window == null ? "" : window.trim().toUpperCase(Locale.ROOT);
+        if (name.equals("ALL")) {
+            return getLeaderboardPage(offset, count);
+        }
+        WindowedLeaderboard board = windowNamed(name);
+        if (board == null) {
+            return "ERROR: Unknown leaderboard window: " + window;
+        }
+        return formatLeaderboardPage(name + " LEADERBOARD", board.size(),
+                offset, board.page(Math.max(0, offset), Math.min(count, MAX_LEADERBOARD_PAGE)));
+    }
+    
+    // Rank in a window (see getWindowedLeaderboard); 0 if the player has no wins in it
+    public int getWindowedRank(String username, String window) {
+        renewLease(username);
+        String name = window == null ? "" : window.trim().toUpperCase(Locale.ROOT);
+        if (name.equals("ALL")) {
+            return leaderboard.rankOf(username);
+        }
+        WindowedLeaderboard board = windowNamed(name);
+        return board != null ? board.rankOf(username) : 0;
+    }
+    
+    private WindowedLeaderboard windowNamed(String name) {
+        if (name.equals("DAILY")) {
+            return dailyWins;
+        }
+        if (name.equals("WEEKLY")) {
+            return weeklyWins;
+        }
+        return null;
+    }
+    
+    private String formatLeaderboardPage(String title, int total, int offset, List<Leaderboard.Entry> entries) {
+        StringBuilder result = new StringBuilder(title);
+        if (entries.isEmpty()) {
+            result.append(" (").append(total).append(" players):\n");
+        } else {
+            int first = Math.max(0, offset) + 1;
+            result.append(" (").append(first).append("-").append(first + entries.size() - 1)
+                  .append(" of ").append(total).append("):\n");
+        }
+        appendLeaderboardEntries(result, entries);
+        return result.toString();
+    }
+    
+    private void appendLeaderboardEntries(StringBuilder result, List<Leaderboard.Entry> entries) {
+        for (Leaderboard.Entry entry : entries) {
+            result.append(entry.getRank()).append(". ").append(entry.getUsername())
+                  .append(" - ").append(entry.getWins()).append(" wins\n");
         }
     }
     
@@ -385,6 +1150,11 @@ public class GameServer extends GameServicePOA {
             stmt.setString(2, password);
             
             int result = stmt.executeUpdate();
+            // Drop any cached "not found" entry so the new player can log in right away
+            userCache.invalidate(username);
+            if (result > 0) {
+                leaderboard.set(username, 0);
+            }
             return result > 0;
         } catch (SQLException e) {            
             System.err.println("Create player error: " + e.getMessage());
@@ -400,6 +1170,8 @@ public class GameServer extends GameServicePOA {
             stmt.setString(2, username);
             
             int result = stmt.executeUpdate();
+            // Old password must stop working immediately
+            userCache.invalidate(username);
             return result > 0;
         } catch (SQLException e) {
             System.err.println("Update player error: " + e.getMessage());
@@ -421,10 +1193,20 @@ public class GameServer extends GameServicePOA {
             stmt.setString(1, username);
             
             int result = stmt.executeUpdate();
+            userCache.invalidate(username);
             if (result > 0) {
                 // Also remove from logged in users
-                loggedInUsers.remove(username);
-                playerSessions.remove(username);
+                if (playerSessions.remove(username) != null) {
+                    playerIds.release(username);
+                    journal(GameJournal.LOGOUT, null, username, 0, "deleted");
+                }
+                leaderboard.remove(username);
+                dailyWins.remove(username);
+                weeklyWins.remove(username);
+                playerStats.remove(username);
+                PreparedStatement statsStmt = conn.prepareStatement("DELETE FROM player_stats WHERE username = ?");
+                statsStmt.setString(1, username);
+                statsStmt.executeUpdate();
                 return true;
             }
             return false;
@@ -433,10 +1215,45 @@ public class GameServer extends GameServicePOA {
             return false;
         }
     }
-
+
+    // Dashboard snapshot; every value is a maintained counter or gauge, nothing is scanned
+    public ServerStats getServerStats() {
+        return new ServerStats(metrics.getUptimeSeconds(), playerSessions.size(),
+                metrics.getGames(ServerMetrics.LOBBY), metrics.getGames(ServerMetrics.PLAYING), metrics.getGames(ServerMetrics.FINISHED),
+                gameTimers.size(), metrics.getGuesses(), metrics.getGuessesPerSecond(),
+                metrics.getDbCalls(), metrics.getDbErrors(), metrics.getDbLatencyMillis(),
+                resultWriter.getQueueDepth(), playerStats.getDirtyCount(), OperationTimer.isAccounting(),
+                admission.getLineLength(), admission.getRejected(), admission.isShedding(), eventLoops.getDispatchDelayMillis());
+    }
+    
+    // Calls, latency and (while accounting is on) CPU and allocation per remote operation, by name
+    public OperationStats[] getOperationStats() {
+        Map<String, OperationMetrics.Stats> operations = new TreeMap<>(OperationTimer.METRICS.getOperations());
+        List<OperationStats> result = new ArrayList<>(operations.size());
+        for (Map.Entry<String, OperationMetrics.Stats> entry : operations.entrySet()) {
+            OperationMetrics.Stats stats = entry.getValue();
+            long calls = stats.getCalls();
+            long accounted = stats.getAccountedCalls();
+            double cpuMillis = stats.getCpuNanos() / 1e6;
+            double allocatedKB = stats.getAllocatedBytes() / 1024.0;
+            result.add(new OperationStats(entry.getKey(), calls, stats.getErrors(),
+                    calls > 0 ? stats.getNanos() / 1e6 / calls : 0, accounted,
+                    accounted > 0 ? cpuMillis / accounted : 0, accounted > 0 ? allocatedKB / accounted : 0,
+                    cpuMillis, allocatedKB / 1024));
+        }
+        return result.toArray(new OperationStats[0]);
+    }
+    
+    // Switches per-operation CPU and allocation accounting; false if the JVM can't measure it
+    public boolean setOperationAccounting(boolean enabled) {
+        return OperationTimer.setAccounting(enabled);
+    }
+    
     public String searchPlayer(String searchTerm) {
         try {
-            String query = "SELECT username, wins FROM users WHERE username LIKE ? AND user_type = 'player'";
+            String query = "SELECT u.username, u.wins, s.games_played, s.games_won, s.rounds_won, s.solve_time_ms, s.guesses, "
+                    + "s.wrong_guesses, s.current_streak, s.best_streak FROM users u LEFT JOIN player_stats s ON s.username = u.username "
+                    + "WHERE u.username LIKE ? AND u.user_type = 'player'";
             PreparedStatement stmt = conn.prepareStatement(query);
             String searchPattern = "%" + searchTerm + "%";
             stmt.setString(1, searchPattern);
@@ -447,7 +1264,8 @@ public class GameServer extends GameServicePOA {
             while (rs.next()) {
                 String username = rs.getString("username");
                 int wins = rs.getInt("wins");
-                results.append(username).append(" - ").append(wins).append(" wins\n");
+                PlayerStats.Totals stats = playerStats.withPending(username, storedStats(rs));
+                results.append(username).append(" - ").append(wins).append(" wins, ").append(stats.describe()).append("\n");
             }
             
             if (results.toString().equals("SEARCH RESULTS:\n")) {
@@ -463,23 +1281,19 @@ public class GameServer extends GameServicePOA {
     
     public boolean setGameConfig(int waitTime, int roundDuration) {
         try {
-            // Update wait_time in database
-            String updateWaitQuery = "UPDATE game_config SET config_value = ? WHERE config_name = 'wait_time'";
-            PreparedStatement waitStmt = conn.prepareStatement(updateWaitQuery);
-            waitStmt.setInt(1, waitTime);
-            waitStmt.executeUpdate();
-            
-            // Update round_duration in database
-            String updateRoundQuery = "UPDATE game_config SET config_value = ? WHERE config_name = 'round_duration'";
-            PreparedStatement roundStmt = conn.prepareStatement(updateRoundQuery);
-            roundStmt.setInt(1, roundDuration);
-            roundStmt.executeUpdate();
-            
-            // Update local variables
-            this.waitingTime = waitTime;
-            this.roundDuration = roundDuration;
+            // Update both values in one statement so readers never see half a change
+            String updateQuery = "UPDATE game_config SET config_value = CASE config_name WHEN 'wait_time' THEN ? ELSE ? END "
+                    + "WHERE config_name IN ('wait_time', 'round_duration')";
+            PreparedStatement stmt = conn.prepareStatement(updateQuery);
+            stmt.setInt(1, waitTime);
+            stmt.setInt(2, roundDuration);
+            stmt.executeUpdate();
+            
+            // Publish the new snapshot for games created from now on
+            GameConfig config = new GameConfig(waitTime, roundDuration);
+            gameConfig.set(config);
             
-            System.out.println("Game configuration updated in database: wait_time=" + waitTime + "s, round_duration=" + roundDuration + "s");
+            System.out.println("Game configuration updated in database: " + config);
             return true;
         } catch (SQLException e) {
             System.err.println("Set game config error: " + e.getMessage());
@@ -491,42 +1305,190 @@ public class GameServer extends GameServicePOA {
     }
 
     public String getGameConfig() {
-        try {
-            String query = "SELECT config_name, config_value FROM game_config WHERE config_name IN ('wait_time', 'round_duration')";
-            PreparedStatement stmt = conn.prepareStatement(query);
-            ResultSet rs = stmt.executeQuery();
-            
-            StringBuilder config = new StringBuilder("GAME CONFIGURATION:\n");
-            while (rs.next()) {
-                String configName = rs.getString("config_name");
-                int configValue = rs.getInt("config_value");
-                config.append(configName).append(": ").append(configValue).append(" seconds\n");
+        // Served from the in-memory snapshot, which is kept in sync with the database
+        GameConfig config = gameConfig.get();
+        StringBuilder result = new StringBuilder("GAME CONFIGURATION:\n");
+        result.append("wait_time: ").append(config.getWaitingTime()).append(" seconds\n");
+        result.append("round_duration: ").append(config.getRoundDuration()).append(" seconds\n");
+        return result.toString();
+    }
+    
+    // Called from the lobby timer wheel when a lobby's wait time is up
+    private void expireLobby(String gameId) {
+        synchronized (this) {
+            GameSession game = gameSessions.get(gameId);
+            if (game == null || !game.isWaitingForPlayers()) {
+                return; // Lobby was filled or removed in the meantime
+            }
+            String notice = "Lobby closed: No other player joined within " + game.getWaitingTime() + " seconds";
+            for (String player : game.getPlayers()) {
+                lobbyNotices.put(player, notice);
+            }
+            removeGame(game);
+            System.out.println("Lobby " + gameId + " expired after " + game.getWaitingTime() + " seconds without a second player");
+        }
+    }
+    
+    private void renewLease(String username) {
+        PlayerSession session = playerSessions.get(username);
+        if (session != null) {
+            session.renewLease();
+        }
+    }
+    
+    // Lease checks ride on the timer wheel; renewing a lease only moves its expiry time
+    // and the check re-schedules itself when it finds the lease was renewed
+    private void scheduleLeaseCheck(PlayerSession session) {
+        expiryTimers.schedule(() -> checkLease(session), session.getLeaseExpiry() - clock.millis());
+    }
+    
+    private void checkLease(PlayerSession session) {
+        if (playerSessions.get(session.getUsername()) != session) {
+            return; // Logged out or replaced by a newer login
+        }
+        if (session.isLeaseExpired(clock.millis())) {
+            expiredLeases.add(session);
+        } else {
+            scheduleLeaseCheck(session);
+        }
+    }
+    
+    // Logs out every player whose client stopped calling in, in one pass: their games
+    // are ended (or forfeited to the opponent) and their tokens cleared in one UPDATE
+    private void sweepExpiredLeases() {
+        List<String> expired = new ArrayList<>();
+        long now = clock.millis();
+        PlayerSession session;
+        while ((session = expiredLeases.poll()) != null) {
+            String username = session.getUsername();
+            // Skip sessions that were replaced or renewed after being queued
+            if (playerSessions.get(username) != session || !session.isLeaseExpired(now)) {
+                if (playerSessions.get(username) == session) {
+                    scheduleLeaseCheck(session);
+                }
+                continue;
             }
             
-            return config.toString();
-        } catch (SQLException e) {
-            System.err.println("Get game config error: " + e.getMessage());
-            return "Error retrieving game configuration";
+            GameSession game = findPlayerGame(username);
+            if (game != null) {
+                leaveGame(game, username, true, "lease expired");
+            }
+            if (playerSessions.remove(username, session)) {
+                playerIds.release(username);
+                journal(GameJournal.LOGOUT, null, username, 0, "lease expired");
+            }
+            lobbyNotices.remove(username);
+            expired.add(username);
+        }
+        if (expired.isEmpty()) {
+            return;
+        }
+        
+        if (conn != null) { // No database in a simulation
+            try {
+                StringBuilder updateQuery = new StringBuilder("UPDATE users SET session_token = NULL WHERE username IN (");
+                for (int i = 0; i < expired.size(); i++) {
+                    updateQuery.append(i == 0 ? "?" : ", ?");
+                }
+                updateQuery.append(")");
+                PreparedStatement stmt = conn.prepareStatement(updateQuery.toString());
+                for (int i = 0; i < expired.size(); i++) {
+                    stmt.setString(i + 1, expired.get(i));
+                }
+                stmt.executeUpdate();
+            } catch (SQLException e) {
+                System.err.println("Error clearing expired session tokens: " + e.getMessage());
+            }
+        }
+        System.out.println("Lease sweeper logged out " + expired.size() + " disconnected users: " + expired);
+    }
+    
+    // Evicts games whose reap deadline has passed: finished games after a grace period,
+    // lobbies that outlived their wait time, games nobody has touched for a while and
+    // games left without players. Only due checks are taken from the queue each pass.
+    private void reapGames() {
+        int finished = 0, idle = 0, waiting = 0, empty = 0;
+        long now = clock.millis();
+        ReapCheck check;
+        for (int i = 0; i < reapBatchSize && (check = reapQueue.poll()) != null; i++) {
+            synchronized (this) {
+                GameSession game = gameSessions.get(check.gameId);
+                if (game == null) {
+                    continue; // Already removed by quitGame
+                }
+                long deadline = game.getReapDeadline();
+                if (deadline > now) {
+                    // Game saw activity since this check was queued - look again later
+                    reapQueue.add(new ReapCheck(check.gameId, deadline));
+                    continue;
+                }
+                
+                if (game.getPlayerCount() == 0) {
+                    empty++;
+                } else if (game.isFinished()) {
+                    finished++;
+                } else if (game.isWaitingForPlayers()) {
+                    waiting++;
+                } else {
+                    idle++;
+                }
+                removeGame(game);
+            }
+        }
+        
+        if (finished + idle + waiting + empty > 0) {
+            long total;
+            synchronized (this) {
+                reapedFinished += finished;
+                reapedIdle += idle;
+                reapedWaiting += waiting;
+                reapedEmpty += empty;
+                total = reapedFinished + reapedIdle + reapedWaiting + reapedEmpty;
+            }
+            System.out.println("Reaper reclaimed " + (finished + idle + waiting + empty) + " games (finished=" + finished
+                    + ", idle=" + idle + ", waiting=" + waiting + ", empty=" + empty + "), "
+                    + gameSessions.size() + " games remain, " + total + " reclaimed since startup");
         }
     }
     
     // Helper methods    
     private void cleanup() {
         try {
-            System.out.println("Server shutting down, logging out all users...");
-            // Update database to clear all session tokens
-            String updateQuery = "UPDATE users SET session_token = NULL WHERE session_token IS NOT NULL";
-            PreparedStatement stmt = conn.prepareStatement(updateQuery);
-            int updated = stmt.executeUpdate();
-            System.out.println("Cleared session tokens for " + updated + " users from database");
+            System.out.println("Server shutting down...");
+            housekeeping.shutdownNow();
+            if (metricsExporter != null) {
+                metricsExporter.stop();
+            }
+            if (checkpointSeconds > 0) {
+                // Last checkpoint, taken while the game loops are still running
+                writeCheckpoint();
+            }
+            expiryTimers.shutdown();
+            eventLoops.shutdown();
+            dictionaryLoader.shutdownNow();
+            if (journal != null) {
+                journal.close();
+            }
+            dbWriter.shutdown();
+            resultWriter.close();
+            flushPlayerStats();
+            if (checkpointSeconds > 0) {
+                // Sessions are in the checkpoint, so players stay logged in across the restart
+                System.out.println("Kept session tokens for " + playerSessions.size() + " users (saved in " + checkpointPath + ")");
+            } else {
+                // Update database to clear all session tokens
+                String updateQuery = "UPDATE users SET session_token = NULL WHERE session_token IS NOT NULL";
+                PreparedStatement stmt = conn.prepareStatement(updateQuery);
+                int updated = stmt.executeUpdate();
+                System.out.println("Cleared session tokens for " + updated + " users from database");
+            }
             
             // Clean up all active game timers
             System.out.println("Cleaning up " + gameTimers.size() + " active game timers...");
-            for (java.util.Timer timer : gameTimers.values()) {
-                timer.cancel();
+            for (ScheduledFuture<?> timer : gameTimers.values()) {
+                timer.cancel(false);
             }
             gameTimers.clear();
-            gameUsedWords.clear();
             System.out.println("All game timers and data cleaned up");
             
             // Close database connection
@@ -538,13 +1500,33 @@ public class GameServer extends GameServicePOA {
         }
     }
     
-    private GameSession findPlayerGame(String username) {
-        for (GameSession game : gameSessions.values()) {
-            if (game.hasPlayer(username)) {
-                return game;
-            }
+    // Looks up a user in the cache, falling back to the database on a miss.
+    // Unknown users come back as UserCache.NOT_FOUND rather than null.
+    private UserCache.UserRecord findUser(String username) throws SQLException {
+        UserCache.UserRecord cached = userCache.get(username);
+        if (cached != null) {
+            return cached;
         }
-        return null;
+        
+        // An admin change that lands while we query must not be overwritten by what we read
+        long generation = userCache.generation(username);
+        String query = "SELECT password, user_type, wins FROM users WHERE username = ?";
+        PreparedStatement stmt = conn.prepareStatement(query);
+        stmt.setString(1, username);
+        ResultSet rs = stmt.executeQuery();
+        
+        UserCache.UserRecord user;
+        if (rs.next()) {
+            user = new UserCache.UserRecord(rs.getString("password"), rs.getString("user_type"), rs.getInt("wins"));
+        } else {
+            user = UserCache.NOT_FOUND;
+        }
+        userCache.put(username, user, generation);
+        return user;
+    }
+    
+    private GameSession findPlayerGame(String username) {
+        return playerGames.get(username);
     }
 
     private void updatePlayerWins(String username) {
@@ -552,15 +1534,88 @@ public class GameServer extends GameServicePOA {
             String query = "UPDATE users SET wins = wins + 1 WHERE username = ?";
             PreparedStatement stmt = conn.prepareStatement(query);
             stmt.setString(1, username);
-            stmt.executeUpdate();
+            if (stmt.executeUpdate() > 0) {
+                long now = clock.millis();
+                leaderboard.increment(username);
+                dailyWins.recordWin(username, now);
+                weeklyWins.recordWin(username, now);
+            }
+            // Cached wins count is now out of date
+            userCache.invalidate(username);
         } catch (SQLException e) {
             System.err.println("Update wins error: " + e.getMessage());
         }
     }
     
+    private void startMetricsExporter() {
+        int port = Integer.getInteger("game.metrics.port", 0);
+        if (port <= 0) {
+            return;
+        }
+        try {
+            metricsExporter = new MetricsExporter(System.getProperty("game.metrics.host", "127.0.0.1"), port);
+            metricsExporter.addSection(this::writeMetrics);
+            metricsExporter.start();
+            System.out.println("Metrics available at http:/" + metricsExporter.getAddress() + "/metrics");
+        } catch (IOException e) {
+            System.err.println("Cannot start metrics exporter on port " + port + ": " + e.getMessage());
+        }
+    }
+    
+    // Game server part of a metrics scrape. Only counters, gauges and concurrent collection
+    // sizes are read here: a scrape must never wait for the server lock or a game loop.
+    private void writeMetrics(StringBuilder out) {
+        MetricsExporter.gauge(out, "game_sessions", "Logged-in users", playerSessions.size());
+        MetricsExporter.header(out, "game_games", "gauge", "Games held by the server, by phase");
+        MetricsExporter.sample(out, "game_games", "phase", "lobby", metrics.getGames(ServerMetrics.LOBBY));
+        MetricsExporter.sample(out, "game_games", "phase", "playing", metrics.getGames(ServerMetrics.PLAYING));
+        MetricsExporter.sample(out, "game_games", "phase", "finished", metrics.getGames(ServerMetrics.FINISHED));
+        MetricsExporter.gauge(out, "game_matchmaking_waiting_lobbies", "Lobbies waiting for a second player", metrics.getGames(ServerMetrics.LOBBY));
+        MetricsExporter.counter(out, "game_guesses_total", "Letters guessed", metrics.getGuesses());
+        MetricsExporter.gauge(out, "game_round_timers", "Round timers scheduled on the game loops", gameTimers.size());
+        MetricsExporter.gauge(out, "game_expiry_timers", "Lobby and lease timeouts in the timer wheel", expiryTimers.size());
+        MetricsExporter.gauge(out, "game_event_loop_queue_depth", "Tasks and timers waiting on the game loops", eventLoops.getQueueDepth());
+        MetricsExporter.gauge(out, "game_event_loop_waiting_calls", "Calls waiting for a game loop to start them", eventLoops.getWaiting());
+        MetricsExporter.gauge(out, "game_event_loop_dispatch_delay_seconds", "Smoothed wait before a game loop starts a call", eventLoops.getDispatchDelayMillis() / 1000);
+        MetricsExporter.gauge(out, "game_admission_queue", "Players waiting in line for a game slot", admission.getLineLength());
+        MetricsExporter.counter(out, "game_admission_queued_total", "Players put in line for a game slot", admission.getQueued());
+        MetricsExporter.counter(out, "game_admission_rejected_total", "New lobbies and logins refused as busy", admission.getRejected());
+        MetricsExporter.gauge(out, "game_admission_shedding", "1 while new lobbies and logins are being shed", admission.isShedding() ? 1 : 0);
+        MetricsExporter.gauge(out, "game_reaper_pending_checks", "Games with a pending reaper check", reapQueue.size());
+        // The server uses one JDBC connection of its own (no pool) plus the results writer's
+        MetricsExporter.counter(out, "game_db_calls_total", "Statements executed on the server connection", metrics.getDbCalls());
+        MetricsExporter.counter(out, "game_db_errors_total", "Statements that failed on the server connection", metrics.getDbErrors());
+        MetricsExporter.counter(out, "game_db_call_seconds_total", "Time spent executing statements on the server connection", metrics.getDbNanos() / 1e9);
+        MetricsExporter.gauge(out, "game_results_queue_depth", "Finished games waiting to be written", resultWriter.getQueueDepth());
+        MetricsExporter.counter(out, "game_results_written_total", "Finished games written to the database", resultWriter.getWritten());
+        MetricsExporter.counter(out, "game_results_spilled_total", "Finished games written to the spill file", resultWriter.getSpilled());
+        MetricsExporter.counter(out, "game_results_failed_batches_total", "Result batches the database rejected", resultWriter.getFailedBatches());
+        MetricsExporter.counter(out, "game_results_dropped_total", "Finished games lost because both the buffer and the spill queue were full", resultWriter.getDropped());
+        if (journal != null) {
+            MetricsExporter.counter(out, "game_journal_written_total", "Game events written to the journal", journal.getWritten());
+            MetricsExporter.counter(out, "game_journal_dropped_total", "Game events dropped because the journal writer fell behind", journal.getDropped());
+            MetricsExporter.gauge(out, "game_journal_queue_depth", "Game events waiting for the journal writer", journal.getQueueDepth());
+        }
+        MetricsExporter.gauge(out, "game_player_stats_pending", "Players with statistics not yet flushed", playerStats.getDirtyCount());
+    }
+    
+    // Writes the stats counted since the last flush (housekeeping, and once more at shutdown)
+    private void flushPlayerStats() {
+        int flushed = playerStats.flush(conn);
+        if (flushed > 0) {
+            System.out.println("DEBUG: Flushed stats for " + flushed + " players");
+        }
+    }
+    
+    // A player_stats row; players without one (nothing flushed yet) read as all zeros
+    private PlayerStats.Totals storedStats(ResultSet rs) throws SQLException {
+        return new PlayerStats.Totals(rs.getLong("games_played"), rs.getLong("games_won"), rs.getLong("rounds_won"),
+                rs.getLong("solve_time_ms"), rs.getLong("guesses"), rs.getLong("wrong_guesses"),
+                rs.getInt("current_streak"), rs.getInt("best_streak"));
+    }
+    
     private String generateSessionToken() {
         // Generate a random 4-digit session token
-        Random random = new Random();
         int token = 1000 + random.nextInt(9000); // Generates 1000-9999
         return String.valueOf(token);
     }
@@ -582,6 +1637,9 @@ public class GameServer extends GameServicePOA {
                 return "DISPLACED:" + "This account has been logged in from another client";
             }
             
+            // The client's regular status check doubles as its heartbeat
+            session.renewLease();
+            
             // Check if this session is marked for force logout
             if (session.isMarkedForForceLogout()) {
                 // Don't remove immediately, let the client handle the logout first
@@ -597,6 +1655,26 @@ public class GameServer extends GameServicePOA {
     }
     
     // Inner classes
+    private class ReapCheck implements Delayed {
+        private final String gameId;
+        private final long deadline;
+        
+        public ReapCheck(String gameId, long deadline) {
+            this.gameId = gameId;
+            this.deadline = deadline;
+        }
+        
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(deadline - clock.millis(), TimeUnit.MILLISECONDS);
+        }
+        
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(deadline, ((ReapCheck) other).deadline);
+        }
+    }
+    
     private class PlayerSession {
         private String username;
         private String userType;
@@ -604,12 +1682,14 @@ public class GameServer extends GameServicePOA {
         private long loginTime;
         private boolean forceLogout = false;
         private String forceLogoutMessage = "";
+        private volatile long leaseExpiry;
 
         public PlayerSession(String username, String userType, String sessionToken) {
             this.username = username;
             this.userType = userType;
             this.sessionToken = sessionToken;
-            this.loginTime = System.currentTimeMillis();
+            this.loginTime = clock.millis();
+            this.leaseExpiry = loginTime + leaseMillis;
         }
 
         public String getUsername() { return username; }        
@@ -628,70 +1708,452 @@ public class GameServer extends GameServicePOA {
             this.forceLogout = false;
             this.forceLogoutMessage = "";
         }
+        
+        public long getLeaseExpiry() { return leaseExpiry; }
+        
+        public void renewLease() {
+            leaseExpiry = clock.millis() + leaseMillis;
+        }
+        
+        public boolean isLeaseExpired(long now) {
+            return now >= leaseExpiry;
+        }
     }
     
+    // All game state below is only touched on the game's event loop (see call());
+    // the few fields other threads read directly are volatile
     private class GameSession {
         private String gameId;
-        private List<String> players;
-        private Map<String, Integer> scores;
-        private Map<String, Integer> wrongGuesses;
-        private Map<String, Set<Character>> guessedLetters;
-        private List<String> gameWords;
-        private List<String> availableWords;
+        private ScheduledExecutorService loop;
+        // Per-player state lives in small slot arrays indexed the same way
+        private static final int MAX_PLAYERS = 2;
+        private final int[] slotIds = new int[MAX_PLAYERS];   // PlayerIds.NO_PLAYER = empty slot
+        private final String[] slotNames = new String[MAX_PLAYERS];
+        private final int[] scores = new int[MAX_PLAYERS];
+        private final int[] wrongGuesses = new int[MAX_PLAYERS];
+        private final int[] guessedMasks = new int[MAX_PLAYERS]; // bit n set = letter 'A' + n guessed
+        // Read-only copy of the player names for threads other than the loop
+        private volatile List<String> players = Collections.emptyList();
+        private int wordMask;
+        private Dictionary words;
+        private WordPicker picker;
+        private GameMode mode;
         private String currentWord;
         private long roundStartTime;
+        private GameEvents.RoundEnded roundEvent; // Begun at round start, committed by recordRound
         private boolean gameStarted;
-        private boolean waitingForPlayers;
+        private volatile boolean waitingForPlayers;
         private int currentRound;
         private long waitingTime;
         private long roundDuration;
-        private String winner;        
-        private String roundWinner;
+        private volatile int winnerId;        
+        private int roundWinnerId;
         private boolean roundCompleted;
         private long roundCompletionTime;
+        private long createdTime;
+        private volatile long lastActivityTime;
+        private volatile long finishedTime;
+        private volatile boolean closed;
+        // Phase the game is counted under in metrics (LOBBY, PLAYING, FINISHED; GONE once closed)
+        private final AtomicInteger phase = new AtomicInteger(ServerMetrics.GONE);
+        private TimerWheel.Timeout lobbyExpiry;
+        private String forfeitedBy;
+        // History for game_results: who played in each slot, and every finished round
+        private long gameStartTime;
+        private final String[] resultNames = new String[MAX_PLAYERS];
+        private final List<GameResult.Round> roundResults = new ArrayList<>();
+        private boolean resultRecorded;
+        // Latest published state for status polls, replaced after every change
+        private volatile GameSnapshot snapshot;
+        // Every player ID the game has referred to; held in playerIds until the game is removed
+        private int[] heldIds = new int[MAX_PLAYERS];
+        private int heldCount = 0;
 
-        public GameSession(String gameId, List<String> wordList, long waitingTime, long roundDuration) {
+        public GameSession(String gameId, WordPicker picker, GameMode mode, long waitingTime, long roundDuration) {
             this.gameId = gameId;
-            this.players = new ArrayList<>();
-            this.scores = new HashMap<>();
-            this.wrongGuesses = new HashMap<>();
-            this.guessedLetters = new HashMap<>();
-            this.gameWords = new ArrayList<>(wordList);
-            
-            //Initialize word tracking per game using hash map
-            gameUsedWords.put(gameId, new HashSet<>());
-            this.availableWords = new ArrayList<>(wordList);
-            Collections.shuffle(this.availableWords);
+            this.loop = eventLoops.loopFor(gameId);
+            this.words = picker.getDictionary();
+            this.picker = picker;
+            this.mode = mode;
             
             this.gameStarted = false;
             this.waitingForPlayers = true;
             this.currentRound = 0;
             this.waitingTime = waitingTime;
             this.roundDuration = roundDuration;
-            this.winner = null;
-            this.roundWinner = null;
+            this.winnerId = PlayerIds.NO_PLAYER;
+            this.roundWinnerId = PlayerIds.NO_PLAYER;
             this.roundCompleted = false;
             this.roundCompletionTime = 0;
+            this.createdTime = clock.millis();
+            this.lastActivityTime = createdTime;
+            this.finishedTime = 0;
+            this.closed = false;
+            publish();
+            
+            System.out.println("Game " + gameId + " initialized with " + picker.size() + " available words (" + mode + ")");
+        }
+        
+        // Rebuilds a game from a checkpoint. Its timers are started later by resume().
+        public GameSession(Checkpoint.GameState state, Dictionary dictionary) {
+            this.gameId = state.gameId;
+            this.loop = eventLoops.loopFor(gameId);
+            this.words = dictionary;
+            this.mode = new GameMode(state.difficulty, state.minLength, state.maxLength);
+            // Continue the word walk only over the very dictionary it was made for
+            this.picker = state.dictionaryChecksum == dictionary.checksum()
+                    ? new WordPicker(dictionary, mode, state.pickerStart, state.pickerStride, state.pickerStep, state.pickerDeferred)
+                    : new WordPicker(dictionary, mode);
+            
+            this.waitingTime = state.waitingTime;
+            this.roundDuration = state.roundDuration;
+            this.createdTime = state.createdTime;
+            this.waitingForPlayers = state.waitingForPlayers;
+            this.gameStarted = state.gameStarted;
+            this.currentRound = state.currentRound;
+            this.currentWord = state.currentWord;
+            this.wordMask = currentWord != null ? GameSnapshot.wordMask(currentWord) : 0;
+            this.roundStartTime = state.roundStartTime;
+            this.roundCompleted = state.roundCompleted;
+            this.roundWinnerId = idFromCheckpoint(state.roundWinner);
+            this.roundCompletionTime = state.roundCompletionTime;
+            this.winnerId = idFromCheckpoint(state.winner);
+            this.finishedTime = state.finishedTime;
+            this.forfeitedBy = state.forfeitedBy;
+            for (int i = 0; i < MAX_PLAYERS && i < state.playerNames.length; i++) {
+                slotIds[i] = state.playerNames[i] != null ? hold(state.playerNames[i]) : PlayerIds.NO_PLAYER;
+                slotNames[i] = state.playerNames[i];
+                scores[i] = state.scores[i];
+                wrongGuesses[i] = state.wrongGuesses[i];
+                guessedMasks[i] = state.guessedMasks[i];
+            }
+            this.gameStartTime = state.gameStartTime;
+            System.arraycopy(state.resultNames, 0, resultNames, 0, Math.min(MAX_PLAYERS, state.resultNames.length));
+            this.roundResults.addAll(state.rounds);
+            this.resultRecorded = state.resultRecorded;
+            // Until resume(), the time of the last thing known to have happened in the game
+            this.lastActivityTime = state.capturedAt;
+            this.closed = false;
+            publishPlayers();
+            publish();
+        }
+        
+        // Copies the game's state for a checkpoint; null once the game has been removed
+        public Checkpoint.GameState capture() {
+            if (closed) {
+                return null;
+            }
+            Checkpoint.GameState state = new Checkpoint.GameState();
+            state.gameId = gameId;
+            state.difficulty = mode.getDifficulty();
+            state.minLength = mode.getMinLength();
+            state.maxLength = mode.getMaxLength();
+            state.waitingTime = waitingTime;
+            state.roundDuration = roundDuration;
+            state.createdTime = createdTime;
+            state.waitingForPlayers = waitingForPlayers;
+            state.gameStarted = gameStarted;
+            state.currentRound = currentRound;
+            state.currentWord = currentWord;
+            state.roundStartTime = roundStartTime;
+            state.roundCompleted = roundCompleted;
+            state.roundWinner = nameForCheckpoint(roundWinnerId);
+            state.roundCompletionTime = roundCompletionTime;
+            state.winner = nameForCheckpoint(winnerId);
+            state.finishedTime = finishedTime;
+            state.forfeitedBy = forfeitedBy;
+            state.playerNames = new String[MAX_PLAYERS];
+            for (int i = 0; i < MAX_PLAYERS; i++) {
+                state.playerNames[i] = slotIds[i] != PlayerIds.NO_PLAYER ? slotNames[i] : null;
+            }
+            state.scores = scores.clone();
+            state.wrongGuesses = wrongGuesses.clone();
+            state.guessedMasks = guessedMasks.clone();
+            state.dictionaryChecksum = words.checksum();
+            state.pickerStart = picker.getStart();
+            state.pickerStride = picker.getStride();
+            state.pickerStep = picker.getStep();
+            state.pickerDeferred = picker.getDeferred();
+            state.gameStartTime = gameStartTime;
+            state.resultNames = resultNames.clone();
+            state.rounds = new ArrayList<>(roundResults);
+            state.resultRecorded = resultRecorded;
+            state.capturedAt = clock.millis();
+            state.capturedSequence = journal != null ? journal.getSequence() : 0;
+            return state;
+        }
+        
+        // Player IDs don't survive a restart, so winners are saved by name ("" = timeout or draw)
+        private String nameForCheckpoint(int playerId) {
+            if (playerId == PlayerIds.NO_PLAYER) {
+                return null;
+            }
+            return playerId == GameSnapshot.DRAW ? "" : playerIds.nameOf(playerId);
+        }
+        
+        private int idFromCheckpoint(String name) {
+            if (name == null) {
+                return PlayerIds.NO_PLAYER;
+            }
+            return name.isEmpty() ? GameSnapshot.DRAW : hold(name);
+        }
+        
+        // The player's ID, kept from being reused for as long as this game exists
+        private int hold(String name) {
+            int playerId = playerIds.retain(name);
+            for (int i = 0; i < heldCount; i++) {
+                if (heldIds[i] == playerId) {
+                    playerIds.release(playerId); // Already held once by this game
+                    return playerId;
+                }
+            }
+            if (heldCount == heldIds.length) {
+                heldIds = Arrays.copyOf(heldIds, heldCount * 2);
+            }
+            heldIds[heldCount++] = playerId;
+            return playerId;
+        }
+        
+        private void releasePlayerIds() {
+            for (int i = 0; i < heldCount; i++) {
+                playerIds.release(heldIds[i]);
+            }
+            heldCount = 0;
+        }
+        
+        // Re-applies an event journaled after this game's checkpoint. Only game state changes:
+        // no timers, database writes or journal records, those already happened the first time.
+        public void replay(GameJournal.Event event) {
+            int playerId = event.getPlayer().isEmpty() ? PlayerIds.NO_PLAYER : hold(event.getPlayer());
+            int slot = playerId != PlayerIds.NO_PLAYER ? slotOf(playerId) : -1;
+            switch (event.getType()) {
+                case GameJournal.CREATE:
+                    // A game created after the checkpoint: its creator is in it from the start
+                    createdTime = event.getTime();
+                    addPlayer(playerId);
+                    break;
+                case GameJournal.JOIN:
+                    addPlayer(playerId);
+                    if (waitingForPlayers && players.size() == MAX_PLAYERS) {
+                        waitingForPlayers = false;
+                        gameStarted = true;
+                        gameStartTime = event.getTime();
+                    }
+                    break;
+                case GameJournal.LEAVE:
+                    removePlayer(playerId);
+                    break;
+                case GameJournal.ROUND_START:
+                    currentRound = event.getValue();
+                    currentWord = event.getText();
+                    wordMask = GameSnapshot.wordMask(currentWord);
+                    roundStartTime = event.getTime();
+                    roundCompleted = false;
+                    roundWinnerId = PlayerIds.NO_PLAYER;
+                    roundCompletionTime = 0;
+                    Arrays.fill(wrongGuesses, 0);
+                    Arrays.fill(guessedMasks, 0);
+                    break;
+                case GameJournal.GUESS:
+                    if (slot >= 0) {
+                        int bit = GameSnapshot.letterBit((char) event.getValue());
+                        guessedMasks[slot] |= bit;
+                        if ((wordMask & bit) == 0) {
+                            wrongGuesses[slot]++;
+                        }
+                    }
+                    break;
+                case GameJournal.ROUND_END:
+                    roundCompleted = true;
+                    roundCompletionTime = event.getTime();
+                    roundWinnerId = playerId != PlayerIds.NO_PLAYER ? playerId : GameSnapshot.NO_WINNER;
+                    if (slot >= 0) {
+                        scores[slot]++;
+                    }
+                    recordRound(playerId != PlayerIds.NO_PLAYER ? event.getPlayer() : null);
+                    break;
+                case GameJournal.GAME_OVER:
+                    winnerId = playerId != PlayerIds.NO_PLAYER ? playerId : GameSnapshot.DRAW;
+                    finishedTime = event.getTime();
+                    if (event.getText().startsWith("forfeit by ")) {
+                        forfeitedBy = event.getText().substring("forfeit by ".length());
+                    }
+                    // May already have been written before the restart; the insert ignores duplicates.
+                    // Stats are counters and may already have been flushed, so they aren't counted again.
+                    recordResult(forfeitedBy != null ? GameResult.FORFEIT : winnerId == GameSnapshot.DRAW ? GameResult.DRAW : GameResult.WON, false);
+                    break;
+                default:
+                    break; // TAKEOVER doesn't change a game
+            }
+            lastActivityTime = event.getTime();
+            publish();
+        }
+        
+        // Starts a restored game's clocks again. The time the server was down isn't counted
+        // against the lobby or the round, so players get back the time they had left.
+        public void resume() {
+            long now = clock.millis();
+            long pause = Math.max(0, now - lastActivityTime);
+            createdTime += pause;
+            roundStartTime += pause;
+            if (roundCompletionTime > 0) {
+                roundCompletionTime += pause;
+            }
+            if (finishedTime > 0) {
+                finishedTime += pause;
+            }
+            lastActivityTime = now;
             
-            System.out.println("Game " + gameId + " initialized with " + availableWords.size() + " available words");
+            if (winnerId != PlayerIds.NO_PLAYER) {
+                // Finished: nothing to run, the reaper removes it after the grace period
+            } else if (waitingForPlayers) {
+                scheduleLobbyExpiry();
+            } else if (currentWord == null) {
+                // Was still in the countdown before the first round
+                scheduleTimer("nextRound", this::startNewRound, 3000);
+            } else if (roundCompleted) {
+                scheduleTimer("nextRound", this::startNewRound, Math.max(0, roundCompletionTime + 3000 - now));
+            } else {
+                scheduleTimer("roundTimeout", this::endRoundOnTimeout, Math.max(0, roundStartTime + roundDuration * 1000 - now));
+            }
+            publish();
+            System.out.println("Game " + gameId + " restored with players " + players + ", round " + currentRound);
+        }
+
+        public void addPlayer(int playerId) {
+            lastActivityTime = clock.millis();
+            if (slotOf(playerId) >= 0) {
+                return;
+            }
+            int slot = slotOf(PlayerIds.NO_PLAYER);
+            if (slot < 0) {
+                System.err.println("Game " + gameId + " is full, cannot add player " + playerIds.nameOf(playerId));
+                return;
+            }
+            hold(playerIds.nameOf(playerId));
+            slotIds[slot] = playerId;
+            slotNames[slot] = playerIds.nameOf(playerId);
+            resultNames[slot] = slotNames[slot];
+            scores[slot] = 0;
+            wrongGuesses[slot] = 0;
+            guessedMasks[slot] = 0;
+            publishPlayers();
+            System.out.println("Player " + slotNames[slot] + " added to game " + gameId);
+            publish();
         }
 
-        public void addPlayer(String username) {
-            if (!players.contains(username)) {
-                players.add(username);
-                scores.put(username, 0);
-                wrongGuesses.put(username, 0);
-                guessedLetters.put(username, new HashSet<>());
-                System.out.println("Player " + username + " added to game " + gameId);
+        public void removePlayer(int playerId) {
+            lastActivityTime = clock.millis();
+            int slot = slotOf(playerId);
+            if (slot >= 0) {
+                slotIds[slot] = PlayerIds.NO_PLAYER;
+                slotNames[slot] = null;
+                publishPlayers();
+            }
+            System.out.println("Player " + playerIds.nameOf(playerId) + " removed from game " + gameId);
+            publish();
+        }
+        
+        private int slotOf(int playerId) {
+            for (int i = 0; i < MAX_PLAYERS; i++) {
+                if (slotIds[i] == playerId) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        
+        private void publishPlayers() {
+            List<String> names = new ArrayList<>(MAX_PLAYERS);
+            for (int i = 0; i < MAX_PLAYERS; i++) {
+                if (slotIds[i] != PlayerIds.NO_PLAYER) {
+                    names.add(slotNames[i]);
+                }
+            }
+            players = Collections.unmodifiableList(names);
+        }
+        
+        // Builds and publishes a fresh snapshot. Only called on the game's loop.
+        private void publish() {
+            String[] maskedWords = new String[MAX_PLAYERS];
+            for (int i = 0; i < MAX_PLAYERS; i++) {
+                maskedWords[i] = currentWord != null ? GameSnapshot.maskWord(currentWord, guessedMasks[i]) : "";
             }
+            int shownRoundWinner = roundCompleted ? roundWinnerId : PlayerIds.NO_PLAYER;
+            snapshot = new GameSnapshot(gameStarted, currentWord, currentRound,
+                    roundStartTime, roundDuration * 1000L,
+                    shownRoundWinner, playerIds.nameOf(shownRoundWinner), roundCompleted ? roundCompletionTime : 0,
+                    winnerId, winnerName(), forfeitedBy,
+                    slotIds, maskedWords, scores, wrongGuesses);
+            if (!closed) {
+                moveTo(winnerId != PlayerIds.NO_PLAYER ? ServerMetrics.FINISHED
+                        : gameStarted ? ServerMetrics.PLAYING : ServerMetrics.LOBBY);
+            }
+        }
+        
+        // Updates the game counts; close() may race with a publish on the loop, hence the CAS
+        private void moveTo(int next) {
+            int current;
+            do {
+                current = phase.get();
+                if (current == next || (current == ServerMetrics.GONE && closed)) {
+                    return;
+                }
+            } while (!phase.compareAndSet(current, next));
+            metrics.gameMoved(current, next);
+        }
+        
+        private String winnerName() {
+            return winnerId == GameSnapshot.DRAW ? "DRAW" : playerIds.nameOf(winnerId);
         }
 
-        public void removePlayer(String username) {
-            players.remove(username);
-            scores.remove(username);
-            wrongGuesses.remove(username);
-            guessedLetters.remove(username);
-            System.out.println("Player " + username + " removed from game " + gameId);
+        // Runs a task on this game's event loop without waiting for it
+        public void execute(Runnable task) {
+            eventLoops.execute(loop, () -> {
+                String outer = GameEvents.currentGame();
+                GameEvents.setCurrentGame(gameId);
+                try {
+                    task.run();
+                } finally {
+                    GameEvents.setCurrentGame(outer);
+                }
+            });
+        }
+        
+        // Runs a task on this game's event loop and waits for it. Never call from the loop itself.
+        public <T> T call(java.util.concurrent.Callable<T> task) {
+            return eventLoops.call(loop, () -> {
+                String outer = GameEvents.currentGame();
+                GameEvents.setCurrentGame(gameId);
+                try {
+                    return task.call();
+                } finally {
+                    GameEvents.setCurrentGame(outer);
+                }
+            });
+        }
+        
+        // Schedules the game's next timer on its loop, replacing the tracked one.
+        // The name shows up in game.TimerFired events.
+        private void scheduleTimer(String name, Runnable task, long delayMillis) {
+            long due = clock.millis() + delayMillis;
+            gameTimers.put(gameId, loop.schedule(() -> {
+                GameEvents.TimerFired event = new GameEvents.TimerFired();
+                event.begin();
+                GameEvents.setCurrentGame(gameId);
+                try {
+                    task.run();
+                } finally {
+                    GameEvents.setCurrentGame(null);
+                }
+                event.end();
+                if (event.shouldCommit()) {
+                    event.gameId = gameId;
+                    event.timer = name;
+                    event.lateness = Math.max(0, clock.millis() - due);
+                    event.commit();
+                }
+            }, delayMillis, TimeUnit.MILLISECONDS));
         }
 
         public boolean hasPlayer(String username) {
@@ -701,6 +2163,14 @@ public class GameServer extends GameServicePOA {
         public int getPlayerCount() {
             return players.size();
         }
+        
+        public List<String> getPlayers() {
+            return players;
+        }
+        
+        public long getWaitingTime() {
+            return waitingTime;
+        }
 
         public boolean isWaitingForPlayers() {
             return waitingForPlayers;
@@ -710,242 +2180,311 @@ public class GameServer extends GameServicePOA {
             return gameId;
         }
         
+        public GameMode getMode() {
+            return mode;
+        }
+        
+        public boolean isFinished() {
+            return winnerId != PlayerIds.NO_PLAYER;
+        }
+        
+        // Stops any further rounds from being scheduled once the game is removed
+        public void close() {
+            closed = true;
+            int last = phase.getAndSet(ServerMetrics.GONE);
+            metrics.gameMoved(last, ServerMetrics.GONE);
+            if (lobbyExpiry != null) {
+                lobbyExpiry.cancel();
+            }
+            // On the loop, after anything already queued there that may still use the IDs
+            try {
+                loop.execute(this::releasePlayerIds);
+            } catch (RejectedExecutionException e) {
+                // Shutting down
+            }
+        }
+        
+        // Removes a player whose client disconnected; an opponent still in a running game wins
+        public void forfeit(int playerId) {
+            if (!waitingForPlayers && winnerId == PlayerIds.NO_PLAYER && players.size() == 2) {
+                for (int id : slotIds) {
+                    if (id != playerId) {
+                        winnerId = id;
+                    }
+                }
+                forfeitedBy = playerIds.nameOf(playerId);
+                finishedTime = clock.millis();
+                ScheduledFuture<?> activeTimer = gameTimers.remove(gameId);
+                if (activeTimer != null) {
+                    activeTimer.cancel(false);
+                }
+                System.out.println("Player " + forfeitedBy + " disconnected - " + winnerName() + " wins game " + gameId + " by forfeit");
+                journal(GameJournal.GAME_OVER, gameId, winnerName(), currentRound, "forfeit by " + forfeitedBy);
+                recordResult(GameResult.FORFEIT);
+            }
+            removePlayer(playerId);
+        }
+        
+        // Server-side lobby deadline; the lobby is closed if nobody joins before it
+        public void scheduleLobbyExpiry() {
+            lobbyExpiry = expiryTimers.schedule(() -> expireLobby(gameId), createdTime + waitingTime * 1000 - clock.millis());
+        }
+        
+        // Whether a player can still join, checked on the loop as they join
+        public boolean isOpenLobby() {
+            return !closed && waitingForPlayers && players.size() < MAX_PLAYERS;
+        }
+        
+        // A lobby shouldn't be matched if it is past its deadline or its creator stopped polling
+        public boolean isStaleLobby(long now) {
+            return now >= createdTime + waitingTime * 1000 || now - lastActivityTime > lobbyStaleMillis;
+        }
+        
+        // Time after which the reaper may evict this game, given its current state
+        public long getReapDeadline() {
+            if (players.isEmpty()) {
+                return lastActivityTime;
+            }
+            if (winnerId != PlayerIds.NO_PLAYER) {
+                return finishedTime + finishedGraceMillis;
+            }
+            if (waitingForPlayers) {
+                return createdTime + waitingTime * 1000 + lobbyGraceMillis;
+            }
+            return lastActivityTime + idleTimeoutMillis;
+        }
+        
         public void startGame() {
+            if (lobbyExpiry != null) {
+                lobbyExpiry.cancel();
+            }
             waitingForPlayers = false;
             gameStarted = true;            
+            gameStartTime = clock.millis();
             // Add countdown delay before starting the first round
             System.out.println("Game " + gameId + " starting in 3 seconds...");
-            java.util.Timer startTimer = new java.util.Timer();
-            startTimer.schedule(new java.util.TimerTask() {
-                @Override
-                public void run() {
-                    System.out.println("DEBUG: 3-second countdown completed, starting first round...");
-                    startNewRound();
-                    startTimer.cancel();
-                }
+            scheduleTimer("countdown", () -> {
+                System.out.println("DEBUG: 3-second countdown completed, starting first round...");
+                startNewRound();
             }, 3000);
+            publish();
             
             System.out.println("Game " + gameId + " initialized with players: " + players);
         }
         
         private void startNewRound() {
-            java.util.Timer activeRoundTimer = gameTimers.get(gameId);
-            if (activeRoundTimer != null) {
+            if (closed || winnerId != PlayerIds.NO_PLAYER) {
+                return; // Game was removed or forfeited during the countdown
+            }
+            GameEvents.RoundStarted event = new GameEvents.RoundStarted();
+            event.begin();
+            ScheduledFuture<?> activeRoundTimer = gameTimers.remove(gameId);
+            if (activeRoundTimer != null && !activeRoundTimer.isDone()) {
                 System.out.println("DEBUG: Canceling previous round timer before starting new round");
-                activeRoundTimer.cancel();
-                gameTimers.remove(gameId);
+                activeRoundTimer.cancel(false);
             }
             
             // Reset round completion flags
             roundCompleted = false;
-            roundWinner = null;
+            roundWinnerId = PlayerIds.NO_PLAYER;
             roundCompletionTime = 0;
             
-            // Select word that hasn't been used in THIS game
-            String selectedWord = getNextAvailableWord();
+            // Select word that hasn't been used in THIS game, preferring one neither player saw lately
+            int wordIndex = picker.next(index -> !seenByAnyPlayer(words.wordAt(index)));
             
-            if (selectedWord != null) {
-                currentWord = selectedWord;
-                gameUsedWords.get(gameId).add(selectedWord); // Mark as used for THIS gameID
-                roundStartTime = System.currentTimeMillis();
+            if (wordIndex >= 0) {
+                currentWord = words.wordAt(wordIndex);
+                wordMask = words.maskOf(wordIndex);
+                for (int id : slotIds) {
+                    if (id != PlayerIds.NO_PLAYER) {
+                        recentWords.markSeen(id, currentWord);
+                    }
+                }
+                roundStartTime = clock.millis();
+                roundEvent = new GameEvents.RoundEnded();
+                roundEvent.begin();
                 currentRound++;
                 
                 System.out.println("DEBUG: Starting round " + currentRound + " in game " + gameId + " with word: " + currentWord);
                 
                 // Reset wrong guesses and guessed letters for this round
-                for (String player : players) {
-                    wrongGuesses.put(player, 0);
-                    guessedLetters.put(player, new HashSet<>());
-                }
+                Arrays.fill(wrongGuesses, 0);
+                Arrays.fill(guessedMasks, 0);
                 
                 System.out.println("Round " + currentRound + " started in game " + gameId + " with word: " + currentWord);
+                journal(GameJournal.ROUND_START, gameId, null, currentRound, currentWord);
+                event.end();
+                if (event.shouldCommit()) {
+                    event.gameId = gameId;
+                    event.round = currentRound;
+                    event.wordLength = currentWord.length();
+                    event.commit();
+                }
                 
                 // Start automatic round timeout timer and track it
-                java.util.Timer newRoundTimer = new java.util.Timer();
-                gameTimers.put(gameId, newRoundTimer);
-                newRoundTimer.schedule(new java.util.TimerTask() {
-                    @Override
-                    public void run() {
-                        System.out.println("DEBUG: Round " + currentRound + " timed out in game " + gameId);
-                        roundCompleted = true;
-                        roundWinner = "NO_WINNER";
-                        roundCompletionTime = System.currentTimeMillis();
-                        
-                        // Schedule next round start
-                        java.util.Timer nextRoundTimer = new java.util.Timer();
-                        nextRoundTimer.schedule(new java.util.TimerTask() {
-                            @Override
-                            public void run() {
-                                startNewRound();
-                                nextRoundTimer.cancel();
-                            }
-                        }, 3000);
-                        
-                        newRoundTimer.cancel();
-                        gameTimers.remove(gameId);
-                    }
-                }, roundDuration * 1000);                
+                scheduleTimer("roundTimeout", this::endRoundOnTimeout, roundDuration * 1000L);
             } else {
                 System.out.println("No more words available for game " + gameId);
-                winner = "DRAW";
+                winnerId = GameSnapshot.DRAW;
+                finishedTime = clock.millis();
+                journal(GameJournal.GAME_OVER, gameId, null, currentRound, "draw - no words left");
+                recordResult(GameResult.DRAW);
             }
+            publish();
+        }
+        
+        private void endRoundOnTimeout() {
+            System.out.println("DEBUG: Round " + currentRound + " timed out in game " + gameId);
+            roundCompleted = true;
+            roundWinnerId = GameSnapshot.NO_WINNER;
+            roundCompletionTime = clock.millis();
+            publish();
+            journal(GameJournal.ROUND_END, gameId, null, currentRound, "timeout");
+            recordRound(null);
+            
+            // Schedule next round start
+            scheduleTimer("nextRound", this::startNewRound, 3000);
         }
         
-        public boolean guessLetter(String username, char letter) {
-            if (!gameStarted || currentWord == null) {
+        public boolean guessLetter(int playerId, char letter) {
+            boolean correct = applyGuess(playerId, letter);
+            publish();
+            return correct;
+        }
+        
+        private boolean applyGuess(int playerId, char letter) {
+            lastActivityTime = clock.millis();
+            int slot = slotOf(playerId);
+            if (!gameStarted || currentWord == null || slot < 0) {
                 return false;
             }
 
-            if (wrongGuesses.get(username) >= 5) {
+            if (wrongGuesses[slot] >= 5) {
                 return false;
             }
 
-            if (System.currentTimeMillis() - roundStartTime > roundDuration * 1000) {
+            if (clock.millis() - roundStartTime > roundDuration * 1000) {
                 return false;
             }
 
-            char guessChar = Character.toUpperCase(letter);
-            Set<Character> playerGuesses = guessedLetters.get(username);
-            
-            if (playerGuesses.contains(guessChar)) {
-                return false;
+            int bit = GameSnapshot.letterBit(Character.toUpperCase(letter));
+            if (bit == 0 || (guessedMasks[slot] & bit) != 0) {
+                return false; // Not a letter, or already guessed
             }            
             
-            playerGuesses.add(guessChar);            
-            if (currentWord.indexOf(guessChar) >= 0) {
-                // Correct guess - check if word is now complete
-                boolean wordComplete = true;
-                for (char c : currentWord.toCharArray()) {
-                    if (!playerGuesses.contains(c)) {
-                        wordComplete = false;
-                        break;
-                    }
-                }
-                
-                if (wordComplete) {
+            guessedMasks[slot] |= bit;            
+            boolean hit = (wordMask & bit) != 0;
+            journal(GameJournal.GUESS, gameId, slotNames[slot], Character.toUpperCase(letter), hit ? "hit" : "miss");
+            playerStats.guess(slotNames[slot], hit);
+            metrics.guessed();
+            if (hit) {
+                // Correct guess - the word is complete once every letter in it is guessed
+                if ((guessedMasks[slot] & wordMask) == wordMask) {
                     // Player won this round
-                    int newScore = scores.get(username) + 1;
-                    scores.put(username, newScore);
+                    int newScore = ++scores[slot];
                     roundCompleted = true;
-                    roundWinner = username;
-                    roundCompletionTime = System.currentTimeMillis();
+                    roundWinnerId = playerId;
+                    roundCompletionTime = clock.millis();
+                    String username = slotNames[slot];
+                    journal(GameJournal.ROUND_END, gameId, username, currentRound, "solved " + currentWord);
+                    recordRound(username);
+                    playerStats.roundWon(username, roundCompletionTime - roundStartTime);
                     
                     // Cancel the round timer
-                    java.util.Timer activeTimer = gameTimers.get(gameId);
+                    ScheduledFuture<?> activeTimer = gameTimers.remove(gameId);
                     if (activeTimer != null) {
-                        activeTimer.cancel();
-                        gameTimers.remove(gameId);
+                        activeTimer.cancel(false);
                     }
                     
-                    updatePlayerWins(username);
+                    if (conn != null) { // No database in a simulation
+                        dbWriter.execute(() -> updatePlayerWins(username));
+                    }
                     
                     if (newScore >= 3) {
-                        winner = username;
+                        winnerId = playerId;
+                        finishedTime = clock.millis();
                         System.out.println("Game " + gameId + " completed! Winner: " + username);
+                        journal(GameJournal.GAME_OVER, gameId, username, currentRound, "won " + newScore + " rounds");
+                        recordResult(GameResult.WON);
                     } else {
                         // Schedule next round
-                        java.util.Timer nextRoundTimer = new java.util.Timer();
-                        nextRoundTimer.schedule(new java.util.TimerTask() {
-                            @Override
-                            public void run() {
-                                startNewRound();
-                                nextRoundTimer.cancel();
-                            }
-                        }, 3000);
+                        scheduleTimer("nextRound", this::startNewRound, 3000);
                     }
                 }
                 return true;            
             } else {
                 // Wrong guess
-                int newWrongCount = wrongGuesses.get(username) + 1;
-                wrongGuesses.put(username, newWrongCount);
+                int newWrongCount = ++wrongGuesses[slot];
                 
                 if (newWrongCount >= 5) {
-                    System.out.println("Player " + username + " reached maximum wrong guesses in game " + gameId);
+                    System.out.println("Player " + slotNames[slot] + " reached maximum wrong guesses in game " + gameId);
                 }
                 return false;
             }
         }
 
-        public String getPartialWord(String username) {
-            // Check if game is waiting to start (before first round)
-            if (gameStarted && currentWord == null && currentRound == 0) {
-                return "Game starting soon... Please wait for the first round to begin.";
+        // Adds the round that just ended to the game's history
+        private void recordRound(String winner) {
+            String[] guesses = new String[MAX_PLAYERS];
+            for (int i = 0; i < MAX_PLAYERS; i++) {
+                guesses[i] = GameResult.letters(guessedMasks[i]);
             }
-            
-            if (currentWord == null) return "No active game";
-            
-            StringBuilder partial = new StringBuilder();
-            Set<Character> playerGuesses = guessedLetters.get(username);
-            
-            for (char c : currentWord.toCharArray()) {
-                if (playerGuesses.contains(c)) {
-                    partial.append(c);
-                } else {
-                    partial.append('_');
-                }
-                partial.append(' ');
+            long endedAt = roundCompletionTime > 0 ? roundCompletionTime : clock.millis();
+            roundResults.add(new GameResult.Round(currentRound, currentWord, winner, roundStartTime, endedAt, guesses, wrongGuesses.clone()));
+            // Begun when the round started; a round restored from a checkpoint or the journal
+            // was begun by the previous run, so its event only has the round length
+            GameEvents.RoundEnded event = roundEvent != null ? roundEvent : new GameEvents.RoundEnded();
+            roundEvent = null;
+            event.end();
+            if (event.shouldCommit()) {
+                event.gameId = gameId;
+                event.round = currentRound;
+                event.winner = winner;
+                event.roundLength = endedAt - roundStartTime;
+                event.commit();
             }
-            
-            String result = partial.toString().trim();
-            
-            // Add game status info
-            if (winner != null) {
-                if (winner.equals(username)) {
-                    return currentWord + " | Congratulations! You won the game! The final word was: " + currentWord + " (3/3 rounds)";
-                } else {
-                    return currentWord + " | Game finished. Winner: " + winner + ". The final word was: " + currentWord + " (3/3 rounds)";
-                }
+        }
+        
+        // Hands the finished game to the history writer, once. Lobbies that never started are not recorded.
+        public void recordResult(String outcome) {
+            recordResult(outcome, true);
+        }
+        
+        private void recordResult(String outcome, boolean countStats) {
+            if (resultRecorded || !gameStarted) {
+                return;
             }
-            
-            // Check if round was just completed
-            if (roundCompleted && roundCompletionTime > 0) {
-                long timeSinceCompletion = System.currentTimeMillis() - roundCompletionTime;
-                long countdownRemaining = 3000 - timeSinceCompletion;
-                
-                if (countdownRemaining > 0) {
-                    int secondsLeft = (int) Math.ceil(countdownRemaining / 1000.0);                    
-                    if ("NO_WINNER".equals(roundWinner)) {
-                        return currentWord + " | Round timed out! The word was: " + currentWord + ". Starting next round in " + secondsLeft + " second" + (secondsLeft == 1 ? "" : "s") + "...";
-                    } else if (roundWinner.equals(username)) {
-                        return result + " | You won the round! Starting next round in " + secondsLeft + " second" + (secondsLeft == 1 ? "" : "s") + "...";
-                    } else {
-                        return currentWord + " | " + roundWinner + " won the round! The word was: " + currentWord + ". Starting next round in " + secondsLeft + " second" + (secondsLeft == 1 ? "" : "s") + "...";
-                    }
-                } else {
-                    // Reset round completion flags after countdown
-                    roundCompleted = false;
-                    roundWinner = null;
-                    roundCompletionTime = 0;
-                }
+            resultRecorded = true;
+            if (currentWord != null && !roundCompleted) {
+                recordRound(null); // Game ended in the middle of a round
             }
-            
-            long timeLeft = (roundDuration * 1000) - (System.currentTimeMillis() - roundStartTime);
-            if (timeLeft <= 0) {
-                if (!roundCompleted) {
-                    return currentWord + " | Round expired! The word was: " + currentWord + ". Waiting for next round...";
-                } else {
-                    return currentWord + " | Round expired! The word was: " + currentWord;
+            String winner = winnerId > 0 ? playerIds.nameOf(winnerId) : null;
+            long finishedAt = finishedTime > 0 ? finishedTime : clock.millis();
+            resultWriter.submit(new GameResult(gameId, mode.toString(), resultNames.clone(), scores.clone(),
+                    winner, outcome, gameStartTime, finishedAt, roundResults));
+            if (countStats) {
+                // The winner's streak grows; losing or drawing ends it, an abandoned game leaves it alone
+                for (String player : resultNames) {
+                    if (player != null) {
+                        playerStats.gameFinished(player, player.equals(winner), !outcome.equals(GameResult.ABANDONED));
+                    }
                 }
             }
-            
-            int playerScore = scores.get(username);
-            int wrongCount = wrongGuesses.get(username);
-            
-            if (wrongCount >= 5) {
-                return currentWord + " | You got 5 letters wrong! The word was: " + currentWord + ". Waiting for the other player's round result...";
-            }
-            return String.format("%s | Score: %d/3 | Wrong: %d/5 | Time: %ds", result, playerScore, wrongCount, timeLeft / 1000);
         }
         
-        private String getNextAvailableWord() {
-            Set<String> usedWordsInThisGame = gameUsedWords.get(gameId);
-            for (String word : availableWords) {
-                if (!usedWordsInThisGame.contains(word)) {
-                    return word;
+        private boolean seenByAnyPlayer(String word) {
+            for (int id : slotIds) {
+                if (id != PlayerIds.NO_PLAYER && recentWords.hasSeen(id, word)) {
+                    return true;
                 }
             }
-            return null;
+            return false;
+        }
+
+        // Lock-free: reads the last published snapshot, so polls never wait behind guesses
+        public String getPartialWord(int playerId) {
+            lastActivityTime = clock.millis();
+            return snapshot.render(playerId, lastActivityTime);
         }
     }
 }
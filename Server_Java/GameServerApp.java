@@ -6,14 +6,26 @@ import org.omg.CosNaming.*;
 public class GameServerApp {
     public static void main(String[] args) {
         try {
-            ORB orb = ORB.init(args, null);
+            // Time every remote call for the metrics (see OperationTimer)
+            java.util.Properties props = new java.util.Properties();
+            props.put("org.omg.PortableInterceptor.ORBInitializerClass.OperationTimer$Initializer", "");
+            ORB orb = ORB.init(args, props);
             POA rootpoa = POAHelper.narrow(orb.resolve_initial_references("RootPOA"));
             rootpoa.the_POAManager().activate();
 
             GameServer server = new GameServer();
             server.setORB(orb);
 
-            org.omg.CORBA.Object ref = rootpoa.servant_to_reference(server);
+            // With game.trace.file set, requests reach the server through a recording
+            // proxy (see TraceRecorder) and the generated Tie class instead of directly
+            Servant servant = server;
+            TraceRecorder trace = TraceRecorder.open();
+            if (trace != null) {
+                servant = new GameServicePOATie(trace.wrap(server));
+                Runtime.getRuntime().addShutdownHook(new Thread(trace::close));
+            }
+
+            org.omg.CORBA.Object ref = rootpoa.servant_to_reference(servant);
             GameService href = GameServiceHelper.narrow(ref);
 
             org.omg.CORBA.Object objRef = orb.resolve_initial_references("NameService");
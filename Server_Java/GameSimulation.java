@@ -0,0 +1,276 @@
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Runs the real game server on virtual time: simulated players log in, get
+// matched, poll and guess like the Java client does, and every countdown,
+// round timer, lobby and lease expiry fires on a VirtualScheduler instead of
+// the wall clock. Everything runs on one thread, so a game's 30-second rounds
+// take only the CPU time the server needs for them, which is what is reported
+// per game.
+//
+// Player behaviour comes from the seed, and so do game IDs and word order, so
+// the same seed always plays out the same way; the fingerprint printed at the
+// end changes if any game ends differently. Different seeds try different
+// interleavings, e.g. guesses landing just as a round times out.
+//
+// Usage: java GameSimulation [games] [players] [seed]
+// Players guess from the revealed letters and the dictionary with probability
+// game.sim.skill (default 0.7), otherwise the most common letter left. Players
+// who go silent mid-game (game.sim.dropRate, default 0.02 per game) exercise
+// lease expiry and forfeits. Round length and lobby wait come from
+// game.sim.roundSeconds and game.sim.waitSeconds. Server output is discarded
+// unless game.sim.verbose is true. The CPU figures include the simulated
+// players, which are cheap next to the server.
+public class GameSimulation {
+    private static final long START_TIME = 1700000000000L;
+    // Letters in roughly the order English words use them
+    private static final String LETTERS = "ETAOINSHRDLCUMWFGYPBVKJXQZ";
+
+    private final VirtualScheduler scheduler = new VirtualScheduler(START_TIME);
+    private final GameServer server;
+    private final Dictionary dictionary;
+    private final Random random;
+    private final long targetGames;
+    private final double dropRate = Double.parseDouble(System.getProperty("game.sim.dropRate", "0.02"));
+    private final double skill = Double.parseDouble(System.getProperty("game.sim.skill", "0.7"));
+    private long fingerprint = 17;
+    private long won = 0;
+    private long lost = 0;
+    private long draws = 0;
+    private long forfeitWins = 0;
+    private long lobbiesClosed = 0;
+    private long drops = 0;
+    private long guesses = 0;
+
+    // One simulated client: the same calls on the same timers as the Java client
+    private final class Player {
+        final String name;
+        final int index;
+        String token = "";
+        boolean inGame = false;
+        boolean roundActive = false;
+        boolean dropping = false;
+        String mask = "";  // Word as last shown, e.g. "M _ T _ _ X"
+        int guessed = 0;  // Bit n set = letter 'A' + n guessed this round
+
+        Player(int index) {
+            this.index = index;
+            this.name = "sim" + index;
+        }
+
+        void login() {
+            token = server.simulatedLogin(name).split(":")[1];
+            scheduler.schedule(this::poll, 1000, TimeUnit.MILLISECONDS);
+            scheduler.schedule(this::startGame, random.nextInt(2000), TimeUnit.MILLISECONDS);
+        }
+
+        void startGame() {
+            if (done()) {
+                return;
+            }
+            String[] result = server.startGame(name);
+            inGame = result.length > 0 && result[0].equals("SUCCESS");
+            roundActive = false;
+            if (!inGame) {
+                scheduler.schedule(this::startGame, 1000, TimeUnit.MILLISECONDS);
+            } else if (random.nextDouble() < dropRate) {
+                // Goes silent at some point in this game, then comes back with a new login
+                scheduler.schedule(() -> dropping = true, 5000 + random.nextInt(60000), TimeUnit.MILLISECONDS);
+            }
+        }
+
+        // Status and session check, once a second like the client's timers
+        void poll() {
+            if (done()) {
+                return;
+            }
+            if (dropping) {
+                dropping = false;
+                inGame = false;
+                drops++;
+                scheduler.schedule(this::login, 20000 + random.nextInt(10000), TimeUnit.MILLISECONDS);
+                return;
+            }
+            server.checkSessionStatus(name, token);
+            scheduler.schedule(this::poll, 1000, TimeUnit.MILLISECONDS);
+            if (!inGame) {
+                return;
+            }
+            String status = server.getPartialWord(name);
+            if (status.contains("You won the game")) {
+                finish(status.contains("forfeited") ? 'F' : 'W', status);
+            } else if (status.contains("Winner: DRAW")) {
+                finish('D', status);
+            } else if (status.contains("Game finished")) {
+                finish('L', status);
+            } else if (status.startsWith("Lobby closed") || status.equals("Not in a game")) {
+                finish('C', status);
+            } else if (status.contains("| Score:")) {
+                mask = status.substring(0, status.indexOf(" | "));
+                if (!roundActive) {
+                    roundActive = true;
+                    guessed = 0;
+                    scheduler.schedule(this::guess, thinkTime(), TimeUnit.MILLISECONDS);
+                }
+            } else {
+                roundActive = false;
+            }
+        }
+
+        void guess() {
+            if (!inGame || !roundActive || dropping || done()) {
+                return;
+            }
+            char letter = random.nextDouble() < skill ? bestLetter() : 0;
+            // Otherwise the most common letter not tried yet, sometimes one a little further down
+            int skip = random.nextInt(4) == 0 ? random.nextInt(4) : 0;
+            for (int i = 0; letter == 0 && i < LETTERS.length(); i++) {
+                if ((guessed & bit(LETTERS.charAt(i))) == 0 && skip-- <= 0) {
+                    letter = LETTERS.charAt(i);
+                }
+            }
+            if (letter != 0) {
+                guessed |= bit(letter);
+                server.guessLetter(name, letter);
+                guesses++;
+            }
+            scheduler.schedule(this::guess, thinkTime(), TimeUnit.MILLISECONDS);
+        }
+
+        // The untried letter found in the most dictionary words that fit the mask; 0 if none fit
+        char bestLetter() {
+            int length = (mask.length() + 1) / 2;
+            int revealed = 0;
+            for (int i = 0; i < length; i++) {
+                char c = mask.charAt(i * 2);
+                if (c != '_') {
+                    revealed |= bit(c);
+                }
+            }
+            int missed = guessed & ~revealed;
+            int[] counts = new int[26];
+            for (int index = dictionary.bucketStart(length); index < dictionary.bucketEnd(length); index++) {
+                if ((dictionary.maskOf(index) & missed) != 0 || !fits(dictionary.wordAt(index))) {
+                    continue;
+                }
+                int untried = dictionary.maskOf(index) & ~guessed;
+                for (int letter = 0; letter < 26; letter++) {
+                    if ((untried & (1 << letter)) != 0) {
+                        counts[letter]++;
+                    }
+                }
+            }
+            int best = -1;
+            for (int letter = 0; letter < 26; letter++) {
+                if (counts[letter] > 0 && (best < 0 || counts[letter] > counts[best])) {
+                    best = letter;
+                }
+            }
+            return best >= 0 ? (char) ('A' + best) : 0;
+        }
+
+        // Revealed letters match, and no hidden position holds a letter already guessed
+        boolean fits(String word) {
+            for (int i = 0; i < word.length(); i++) {
+                char shown = mask.charAt(i * 2);
+                if (shown == '_' ? (guessed & bit(word.charAt(i))) != 0 : shown != word.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void finish(char outcome, String status) {
+            inGame = false;
+            roundActive = false;
+            switch (outcome) {
+                case 'W': won++; break;
+                case 'F': forfeitWins++; break;
+                case 'L': lost++; break;
+                case 'D': draws++; break;
+                default: lobbiesClosed++; break;
+            }
+            fingerprint = fingerprint * 31 + index;
+            fingerprint = fingerprint * 31 + outcome;
+            fingerprint = fingerprint * 31 + status.hashCode();
+            fingerprint = fingerprint * 31 + scheduler.millis();
+            if (outcome != 'C') {
+                server.quitGame(name);
+            }
+            scheduler.schedule(this::startGame, 1000 + random.nextInt(5000), TimeUnit.MILLISECONDS);
+        }
+
+        long thinkTime() {
+            return 500 + random.nextInt(2500);
+        }
+    }
+
+    private static int bit(char letter) {
+        return 1 << (letter - 'A');
+    }
+
+    public GameSimulation(long seed, long targetGames) {
+        this.random = new Random(seed);
+        this.targetGames = targetGames;
+        GameConfig config = new GameConfig(Long.getLong("game.sim.waitSeconds", GameConfig.DEFAULTS.getWaitingTime()),
+                Long.getLong("game.sim.roundSeconds", GameConfig.DEFAULTS.getRoundDuration()));
+        this.server = new GameServer(scheduler, seed, config);
+        this.dictionary = server.getDictionary();
+    }
+
+    private boolean done() {
+        return server.getRecordedGames() >= targetGames;
+    }
+
+    public static void main(String[] args) {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 10000;
+        int players = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 1;
+        PrintStream console = System.out;
+        if (!Boolean.getBoolean("game.sim.verbose")) {
+            System.setOut(new PrintStream(new OutputStream() {
+                public void write(int b) {
+                }
+
+                public void write(byte[] b, int off, int len) {
+                }
+            }));
+        }
+
+        GameSimulation simulation = new GameSimulation(seed, games);
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        com.sun.management.ThreadMXBean allocation = threads instanceof com.sun.management.ThreadMXBean
+                ? (com.sun.management.ThreadMXBean) threads : null;
+        long threadId = Thread.currentThread().getId();
+        long startAllocated = allocation != null ? allocation.getThreadAllocatedBytes(threadId) : 0;
+        long startCpu = threads.getCurrentThreadCpuTime();
+        long startWall = System.nanoTime();
+
+        for (int i = 0; i < players; i++) {
+            Player player = simulation.new Player(i);
+            simulation.scheduler.schedule(player::login, simulation.random.nextInt(10000), TimeUnit.MILLISECONDS);
+        }
+        simulation.scheduler.runUntil(simulation::done);
+
+        long wall = System.nanoTime() - startWall;
+        long cpu = threads.getCurrentThreadCpuTime() - startCpu;
+        long allocated = allocation != null ? allocation.getThreadAllocatedBytes(threadId) - startAllocated : 0;
+        long recorded = simulation.server.getRecordedGames();
+        long virtual = simulation.scheduler.millis() - START_TIME;
+        System.setOut(console);
+
+        System.out.printf(Locale.ROOT, "%d games, %d players, seed %d%n", recorded, players, seed);
+        System.out.printf(Locale.ROOT, "Virtual time %.1f h in %.1f s wall (%.0fx), %d scheduled tasks%n",
+                virtual / 3600000.0, wall / 1e9, virtual / (wall / 1e6), simulation.scheduler.getTasksRun());
+        System.out.printf(Locale.ROOT, "Seen by players: %d won, %d lost, %d drawn, %d won by forfeit, %d lobbies closed; %d guesses, %d drop-outs%n",
+                simulation.won, simulation.lost, simulation.draws, simulation.forfeitWins, simulation.lobbiesClosed, simulation.guesses, simulation.drops);
+        System.out.printf(Locale.ROOT, "Per game: %.3f ms CPU, %.1f KB allocated%n",
+                cpu / 1e6 / Math.max(1, recorded), allocated / 1024.0 / Math.max(1, recorded));
+        System.out.printf("Fingerprint: %016x%n", simulation.fingerprint);
+    }
+}
@@ -0,0 +1,150 @@
+import java.util.Arrays;
+
+// Immutable copy of everything a status poll needs from a game. The game's
+// event loop builds a new one after every change and publishes it through a
+// volatile field, so getPartialWord can answer without locking or queueing
+// behind guesses. Per-player values sit in the same slots as in the game.
+public final class GameSnapshot {
+    // winnerId when the words ran out, roundWinnerId when the round timed out
+    public static final int DRAW = -1;
+    public static final int NO_WINNER = -1;
+
+    private final boolean gameStarted;
+    private final String currentWord;
+    private final int currentRound;
+    private final long roundStartTime;
+    private final long roundDurationMillis;
+    private final int roundWinnerId;
+    private final String roundWinnerName;
+    private final long roundCompletionTime;
+    private final int winnerId;
+    private final String winnerName;
+    private final String forfeitedBy;
+    private final int[] playerIds;
+    private final String[] maskedWords;
+    private final int[] scores;
+    private final int[] wrongGuesses;
+
+    public GameSnapshot(boolean gameStarted, String currentWord, int currentRound,
+                        long roundStartTime, long roundDurationMillis,
+                        int roundWinnerId, String roundWinnerName, long roundCompletionTime,
+                        int winnerId, String winnerName, String forfeitedBy,
+                        int[] playerIds, String[] maskedWords, int[] scores, int[] wrongGuesses) {
+        this.gameStarted = gameStarted;
+        this.currentWord = currentWord;
+        this.currentRound = currentRound;
+        this.roundStartTime = roundStartTime;
+        this.roundDurationMillis = roundDurationMillis;
+        this.roundWinnerId = roundWinnerId;
+        this.roundWinnerName = roundWinnerName;
+        this.roundCompletionTime = roundCompletionTime;
+        this.winnerId = winnerId;
+        this.winnerName = winnerName;
+        this.forfeitedBy = forfeitedBy;
+        this.playerIds = Arrays.copyOf(playerIds, playerIds.length);
+        this.maskedWords = Arrays.copyOf(maskedWords, maskedWords.length);
+        this.scores = Arrays.copyOf(scores, scores.length);
+        this.wrongGuesses = Arrays.copyOf(wrongGuesses, wrongGuesses.length);
+    }
+
+    // Bit for a guessable letter ('A' is bit 0), or 0 for anything else
+    public static int letterBit(char c) {
+        return c >= 'A' && c <= 'Z' ? 1 << (c - 'A') : 0;
+    }
+
+    // All the letter bits of a word
+    public static int wordMask(String word) {
+        int mask = 0;
+        for (int i = 0; i < word.length(); i++) {
+            mask |= letterBit(word.charAt(i));
+        }
+        return mask;
+    }
+
+    // "J _ V _" for a player who has guessed J and V; characters that can't be guessed are shown
+    public static String maskWord(String word, int guessedMask) {
+        StringBuilder partial = new StringBuilder(word.length() * 2);
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            int bit = letterBit(c);
+            if (i > 0) {
+                partial.append(' ');
+            }
+            partial.append(bit == 0 || (guessedMask & bit) != 0 ? c : '_');
+        }
+        return partial.toString();
+    }
+
+    public String getCurrentWord() { return currentWord; }
+    public int getCurrentRound() { return currentRound; }
+    public int getWinnerId() { return winnerId; }
+
+    // Status line shown to one player. Pure function of the snapshot and the clock:
+    // the round-end countdown is worked out from the time rather than reset in place.
+    public String render(int playerId, long now) {
+        // Opponent's client stopped responding
+        if (forfeitedBy != null) {
+            String word = currentWord != null ? currentWord : "-";
+            return word + " | Congratulations! You won the game! " + forfeitedBy + " disconnected and forfeited the game.";
+        }
+        // Check if game is waiting to start (before first round)
+        if (gameStarted && currentWord == null && currentRound == 0) {
+            return "Game starting soon... Please wait for the first round to begin.";
+        }
+
+        int slot = slotOf(playerId);
+        if (currentWord == null || slot < 0) return "No active game";
+
+        // Add game status info
+        if (winnerId != PlayerIds.NO_PLAYER) {
+            if (winnerId == playerId) {
+                return currentWord + " | Congratulations! You won the game! The final word was: " + currentWord + " (3/3 rounds)";
+            } else {
+                return currentWord + " | Game finished. Winner: " + winnerName + ". The final word was: " + currentWord + " (3/3 rounds)";
+            }
+        }
+
+        // Check if round was just completed
+        boolean roundCompleted = roundCompletionTime > 0;
+        if (roundCompleted) {
+            long countdownRemaining = 3000 - (now - roundCompletionTime);
+
+            if (countdownRemaining > 0) {
+                int secondsLeft = (int) Math.ceil(countdownRemaining / 1000.0);
+                String countdown = "Starting next round in " + secondsLeft + " second" + (secondsLeft == 1 ? "" : "s") + "...";
+                if (roundWinnerId == NO_WINNER) {
+                    return currentWord + " | Round timed out! The word was: " + currentWord + ". " + countdown;
+                } else if (roundWinnerId == playerId) {
+                    return maskedWords[slot] + " | You won the round! " + countdown;
+                } else {
+                    return currentWord + " | " + roundWinnerName + " won the round! The word was: " + currentWord + ". " + countdown;
+                }
+            }
+            // Countdown is over; the next round is about to be published
+            roundCompleted = false;
+        }
+
+        long timeLeft = roundDurationMillis - (now - roundStartTime);
+        if (timeLeft <= 0) {
+            if (!roundCompleted) {
+                return currentWord + " | Round expired! The word was: " + currentWord + ". Waiting for next round...";
+            } else {
+                return currentWord + " | Round expired! The word was: " + currentWord;
+            }
+        }
+
+        if (wrongGuesses[slot] >= 5) {
+            return currentWord + " | You got 5 letters wrong! The word was: " + currentWord + ". Waiting for the other player's round result...";
+        }
+        return String.format("%s | Score: %d/3 | Wrong: %d/5 | Time: %ds", maskedWords[slot], scores[slot], wrongGuesses[slot], timeLeft / 1000);
+    }
+
+    private int slotOf(int playerId) {
+        for (int i = 0; i < playerIds.length; i++) {
+            if (playerIds[i] == playerId && playerId != PlayerIds.NO_PLAYER) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,128 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+// Reads the segments written by GameJournal, oldest first. Can be run while
+// the server is up: a record only counts once its length is written and its
+// checksum matches, so one that is still being written is simply not seen.
+//
+// Usage: java JournalReader [journal directory] [game ID]
+public class JournalReader {
+    public static void main(String[] args) {
+        Path dir = Paths.get(args.length > 0 ? args[0] : "journal");
+        String gameFilter = args.length > 1 ? args[1] : null;
+        try {
+            int[] shown = {0};
+            int total = read(dir, event -> {
+                if (gameFilter == null || gameFilter.equals(event.getGameId())) {
+                    System.out.println(format(event));
+                    shown[0]++;
+                }
+            });
+            System.out.println(shown[0] + " of " + total + " events");
+        } catch (IOException e) {
+            System.err.println("Error reading journal: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    // Feeds every event in the journal to the consumer and returns how many there were
+    public static int read(Path dir, Consumer<GameJournal.Event> consumer) throws IOException {
+        int count = 0;
+        for (Path path : segments(dir)) {
+            count += readSegment(path, consumer);
+        }
+        return count;
+    }
+
+    public static List<Path> segments(Path dir) throws IOException {
+        List<Path> segments = new ArrayList<>();
+        if (!Files.isDirectory(dir)) {
+            return segments;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "journal-*.seg")) {
+            for (Path path : stream) {
+                segments.add(path);
+            }
+        }
+        Collections.sort(segments);
+        return segments;
+    }
+
+    public static int readSegment(Path path, Consumer<GameJournal.Event> consumer) throws IOException {
+        MappedByteBuffer data;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        int version = data.remaining() >= 8 && data.getInt() == GameJournal.SEGMENT_MAGIC ? data.getInt() : 0;
+        if (version < 1 || version > GameJournal.SEGMENT_VERSION) {
+            System.err.println("Skipping " + path.getFileName() + ": not a journal segment");
+            return 0;
+        }
+        boolean checked = version >= 2;
+        CRC32 crc = new CRC32();
+        int count = 0;
+        while (data.remaining() >= 4) {
+            int length = data.getInt();
+            int sum = checked && data.remaining() >= 4 ? data.getInt() : 0;
+            if (length <= 0 || length > data.remaining()) {
+                break; // End of the written part (or a record cut off by a crash)
+            }
+            if (checked && GameJournal.checksum(crc, data, data.position(), length) != sum) {
+                break; // Still being written, or torn by a crash
+            }
+            ByteBuffer record = data.slice();
+            record.limit(length);
+            data.position(data.position() + length);
+            byte type = record.get();
+            long time = record.getLong();
+            long sequence = version >= 3 ? record.getLong() : 0;
+            String gameId = string(record);
+            String player = string(record);
+            int value = record.getInt();
+            String text = string(record);
+            consumer.accept(new GameJournal.Event(sequence, type, time, gameId, player, value, text));
+            count++;
+        }
+        return count;
+    }
+
+    public static String format(GameJournal.Event event) {
+        StringBuilder line = new StringBuilder();
+        line.append(new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS").format(new Date(event.getTime())));
+        line.append(' ').append(event.getTypeName());
+        line.append(" game=").append(event.getGameId().isEmpty() ? "-" : event.getGameId());
+        if (!event.getPlayer().isEmpty()) {
+            line.append(" player=").append(event.getPlayer());
+        }
+        if (event.getType() == GameJournal.GUESS) {
+            line.append(" letter=").append((char) event.getValue());
+        } else if (event.getValue() != 0) {
+            line.append(" value=").append(event.getValue());
+        }
+        if (!event.getText().isEmpty()) {
+            line.append(' ').append(event.getText());
+        }
+        return line.toString();
+    }
+
+    private static String string(ByteBuffer record) {
+        byte[] bytes = new byte[record.getShort() & 0xffff];
+        record.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,249 @@
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+// In-memory standings of all players by wins, for rank lookups and paging
+// through the leaderboard without sorting the users table on every request.
+//
+// Players are kept in an indexable skip list ordered by wins (most first),
+// then username. Every forward link also records how many players it skips,
+// so finding a player's position and finding the player at a position both
+// take O(log n), and a win only moves one player. Players with the same
+// number of wins share a rank ("1, 2, 2, 4").
+public class Leaderboard {
+    private static final int MAX_LEVEL = 32;
+
+    public static final class Entry {
+        private final int rank;
+        private final String username;
+        private final int wins;
+
+        public Entry(int rank, String username, int wins) {
+            this.rank = rank;
+            this.username = username;
+            this.wins = wins;
+        }
+
+        public int getRank() { return rank; }
+        public String getUsername() { return username; }
+        public int getWins() { return wins; }
+    }
+
+    private static final class Node {
+        final String username;
+        final int wins;
+        final Node[] next;
+        // span[i] = number of players next[i] moves past (to the end of the list if next[i] is null)
+        final int[] span;
+
+        Node(String username, int wins, int levels) {
+            this.username = username;
+            this.wins = wins;
+            this.next = new Node[levels];
+            this.span = new int[levels];
+        }
+    }
+
+    private final Node head = new Node(null, 0, MAX_LEVEL);
+    private final Map<String, Integer> wins = new HashMap<>();
+    private int levels = 1;
+
+    // Adds the player or replaces their win count
+    public synchronized void set(String username, int playerWins) {
+        Integer old = wins.put(username, playerWins);
+        if (old != null) {
+            unlink(username, old);
+        }
+        link(username, playerWins);
+    }
+
+    // Adds one win; unknown players are added with one win
+    public synchronized void increment(String username) {
+        Integer old = wins.get(username);
+        set(username, old != null ? old + 1 : 1);
+    }
+
+    public synchronized void remove(String username) {
+        Integer old = wins.remove(username);
+        if (old != null) {
+            unlink(username, old);
+        }
+    }
+
+    // Replaces all standings at once, e.g. after reading the users table. Sorts once and
+    // appends every player at the end of the list, instead of searching for each one.
+    public synchronized void load(Map<String, Integer> all) {
+        List<Map.Entry<String, Integer>> sorted = new ArrayList<>(all.entrySet());
+        sorted.sort((a, b) -> !a.getValue().equals(b.getValue())
+                ? Integer.compare(b.getValue(), a.getValue()) : a.getKey().compareTo(b.getKey()));
+        wins.clear();
+        levels = 1;
+        Node[] last = new Node[MAX_LEVEL];
+        int[] lastPosition = new int[MAX_LEVEL];
+        for (int i = 0; i < MAX_LEVEL; i++) {
+            head.next[i] = null;
+            last[i] = head;
+        }
+        int position = 0;
+        for (Map.Entry<String, Integer> entry : sorted) {
+            position++;
+            Node node = new Node(entry.getKey(), entry.getValue(), randomLevels());
+            for (int i = 0; i < node.next.length; i++) {
+                last[i].next[i] = node;
+                last[i].span[i] = position - lastPosition[i];
+                last[i] = node;
+                lastPosition[i] = position;
+            }
+            levels = Math.max(levels, node.next.length);
+            wins.put(entry.getKey(), entry.getValue());
+        }
+        for (int i = 0; i < MAX_LEVEL; i++) {
+            last[i].span[i] = position - lastPosition[i];
+        }
+    }
+
+    public synchronized int size() {
+        return wins.size();
+    }
+
+    // Wins of a ranked player, or -1 if they are not on the leaderboard
+    public synchronized int getWins(String username) {
+        Integer playerWins = wins.get(username);
+        return playerWins != null ? playerWins : -1;
+    }
+
+    // 1 for the leader(s); 0 if the player is not on the leaderboard
+    public synchronized int rankOf(String username) {
+        Integer playerWins = wins.get(username);
+        if (playerWins == null) {
+            return 0;
+        }
+        // Everyone ahead of the first player with this many wins has strictly more
+        return countBefore(playerWins, "") + 1;
+    }
+
+    // Up to count entries starting at the given 0-based position
+    public synchronized List<Entry> page(int offset, int count) {
+        List<Entry> entries = new ArrayList<>();
+        if (offset < 0 || offset >= wins.size() || count <= 0) {
+            return entries;
+        }
+        Node node = nodeAt(offset);
+        int rank = countBefore(node.wins, "") + 1;
+        int previousWins = node.wins;
+        for (int position = offset; node != null && entries.size() < count; position++, node = node.next[0]) {
+            if (node.wins != previousWins) {
+                rank = position + 1; // Everyone before this position has more wins
+                previousWins = node.wins;
+            }
+            entries.add(new Entry(rank, node.username, node.wins));
+        }
+        return entries;
+    }
+
+    // Leaderboard order: more wins first, then by name
+    private static boolean before(Node node, int playerWins, String username) {
+        return node.wins > playerWins || (node.wins == playerWins && node.username.compareTo(username) < 0);
+    }
+
+    // Number of players that sort before (wins, username)
+    private int countBefore(int playerWins, String username) {
+        int count = 0;
+        Node node = head;
+        for (int i = levels - 1; i >= 0; i--) {
+            while (node.next[i] != null && before(node.next[i], playerWins, username)) {
+                count += node.span[i];
+                node = node.next[i];
+            }
+        }
+        return count;
+    }
+
+    // The player at a 0-based position; position must be less than size()
+    private Node nodeAt(int position) {
+        int target = position + 1;
+        int traversed = 0;
+        Node node = head;
+        for (int i = levels - 1; i >= 0; i--) {
+            while (node.next[i] != null && traversed + node.span[i] <= target) {
+                traversed += node.span[i];
+                node = node.next[i];
+            }
+            if (traversed == target) {
+                return node;
+            }
+        }
+        return null;
+    }
+
+    private void link(String username, int playerWins) {
+        Node[] update = new Node[MAX_LEVEL];
+        int[] rank = new int[MAX_LEVEL];
+        Node node = head;
+        for (int i = levels - 1; i >= 0; i--) {
+            rank[i] = i == levels - 1 ? 0 : rank[i + 1];
+            while (node.next[i] != null && before(node.next[i], playerWins, username)) {
+                rank[i] += node.span[i];
+                node = node.next[i];
+            }
+            update[i] = node;
+        }
+        int nodeLevels = randomLevels();
+        if (nodeLevels > levels) {
+            for (int i = levels; i < nodeLevels; i++) {
+                rank[i] = 0;
+                update[i] = head;
+                head.span[i] = wins.size() - 1; // Every other player, the new one isn't linked yet
+            }
+            levels = nodeLevels;
+        }
+        Node added = new Node(username, playerWins, nodeLevels);
+        for (int i = 0; i < nodeLevels; i++) {
+            added.next[i] = update[i].next[i];
+            update[i].next[i] = added;
+            added.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+            update[i].span[i] = rank[0] - rank[i] + 1;
+        }
+        for (int i = nodeLevels; i < levels; i++) {
+            update[i].span[i]++;
+        }
+    }
+
+    private void unlink(String username, int playerWins) {
+        Node[] update = new Node[MAX_LEVEL];
+        Node node = head;
+        for (int i = levels - 1; i >= 0; i--) {
+            while (node.next[i] != null && before(node.next[i], playerWins, username)) {
+                node = node.next[i];
+            }
+            update[i] = node;
+        }
+        Node removed = node.next[0];
+        if (removed == null || !removed.username.equals(username)) {
+            return;
+        }
+        for (int i = 0; i < levels; i++) {
+            if (update[i].next[i] == removed) {
+                update[i].span[i] += removed.span[i] - 1;
+                update[i].next[i] = removed.next[i];
+            } else {
+                update[i].span[i]--;
+            }
+        }
+        while (levels > 1 && head.next[levels - 1] == null) {
+            levels--;
+        }
+    }
+
+    // Each level is kept with probability 1/4, as in Redis sorted sets
+    private static int randomLevels() {
+        int nodeLevels = 1;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (nodeLevels < MAX_LEVEL && random.nextInt(4) == 0) {
+            nodeLevels++;
+        }
+        return nodeLevels;
+    }
+}
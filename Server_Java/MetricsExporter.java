@@ -0,0 +1,184 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.lang.management.ThreadMXBean;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Serves the server's metrics at http://host:port/metrics in the Prometheus
+// text format, using the JDK's built-in HTTP server. Scrapes are answered on
+// one background thread from counters and gauges that are already maintained,
+// so a scrape never takes a game or server lock.
+//
+// Operation timings and JVM numbers (GC, threads, heap) are always included;
+// the rest of the server adds its own sections with addSection.
+public class MetricsExporter {
+    public interface Section {
+        void write(StringBuilder out);
+    }
+
+    private final HttpServer server;
+    private final ExecutorService handler = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "metrics-exporter");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final List<Section> sections = new CopyOnWriteArrayList<>();
+
+    public MetricsExporter(String host, int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(host, port), 0);
+        server.createContext("/metrics", this::handle);
+        server.setExecutor(handler);
+    }
+
+    public void addSection(Section section) {
+        sections.add(section);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        handler.shutdownNow();
+    }
+
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        byte[] body;
+        int status = 200;
+        try {
+            body = scrape().getBytes(StandardCharsets.UTF_8);
+        } catch (RuntimeException e) {
+            status = 500;
+            body = ("Error collecting metrics: " + e + "\n").getBytes(StandardCharsets.UTF_8);
+        }
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private String scrape() {
+        StringBuilder out = new StringBuilder(8192);
+        writeOperations(out);
+        for (Section section : sections) {
+            section.write(out);
+        }
+        writeJvm(out);
+        return out.toString();
+    }
+
+    private void writeOperations(StringBuilder out) {
+        Map<String, OperationMetrics.Stats> operations = OperationTimer.METRICS.getOperations();
+        header(out, "game_operation_requests_total", "counter", "Remote calls handled, by operation");
+        for (Map.Entry<String, OperationMetrics.Stats> entry : operations.entrySet()) {
+            sample(out, "game_operation_requests_total", "operation", entry.getKey(), entry.getValue().getCalls());
+        }
+        header(out, "game_operation_errors_total", "counter", "Remote calls that ended in an exception, by operation");
+        for (Map.Entry<String, OperationMetrics.Stats> entry : operations.entrySet()) {
+            sample(out, "game_operation_errors_total", "operation", entry.getKey(), entry.getValue().getErrors());
+        }
+        header(out, "game_operation_duration_seconds", "histogram", "Time from receiving a call to sending its reply");
+        for (Map.Entry<String, OperationMetrics.Stats> entry : operations.entrySet()) {
+            String operation = escape(entry.getKey());
+            OperationMetrics.Stats stats = entry.getValue();
+            // Read the count first: it may only grow while the buckets are read, so +Inf stays >= every bucket
+            long calls = stats.getCalls();
+            long[] buckets = stats.getCumulativeBuckets();
+            for (int i = 0; i < buckets.length; i++) {
+                out.append("game_operation_duration_seconds_bucket{operation=\"").append(operation)
+                   .append("\",le=\"").append(BigDecimal.valueOf(OperationMetrics.BUCKETS[i]).toPlainString()).append("\"} ").append(Math.min(buckets[i], calls)).append('\n');
+            }
+            out.append("game_operation_duration_seconds_bucket{operation=\"").append(operation)
+               .append("\",le=\"+Inf\"} ").append(calls).append('\n');
+            out.append("game_operation_duration_seconds_sum{operation=\"").append(operation).append("\"} ")
+               .append(number(stats.getNanos() / 1e9)).append('\n');
+            out.append("game_operation_duration_seconds_count{operation=\"").append(operation).append("\"} ")
+               .append(calls).append('\n');
+        }
+        // Only counted while accounting is on (see OperationTimer)
+        header(out, "game_operation_accounted_requests_total", "counter", "Remote calls measured for CPU and allocation, by operation");
+        for (Map.Entry<String, OperationMetrics.Stats> entry : operations.entrySet()) {
+            sample(out, "game_operation_accounted_requests_total", "operation", entry.getKey(), entry.getValue().getAccountedCalls());
+        }
+        header(out, "game_operation_cpu_seconds_total", "counter", "CPU time used on the dispatch thread, by operation");
+        for (Map.Entry<String, OperationMetrics.Stats> entry : operations.entrySet()) {
+            sample(out, "game_operation_cpu_seconds_total", "operation", entry.getKey(), entry.getValue().getCpuNanos() / 1e9);
+        }
+        header(out, "game_operation_allocated_bytes_total", "counter", "Bytes allocated on the dispatch thread, by operation");
+        for (Map.Entry<String, OperationMetrics.Stats> entry : operations.entrySet()) {
+            sample(out, "game_operation_allocated_bytes_total", "operation", entry.getKey(), entry.getValue().getAllocatedBytes());
+        }
+    }
+
+    private void writeJvm(StringBuilder out) {
+        header(out, "jvm_gc_collections_total", "counter", "Garbage collections, by collector");
+        List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+        for (GarbageCollectorMXBean gc : collectors) {
+            sample(out, "jvm_gc_collections_total", "gc", gc.getName(), gc.getCollectionCount());
+        }
+        header(out, "jvm_gc_collection_seconds_total", "counter", "Time spent in garbage collection, by collector");
+        for (GarbageCollectorMXBean gc : collectors) {
+            sample(out, "jvm_gc_collection_seconds_total", "gc", gc.getName(), gc.getCollectionTime() / 1000.0);
+        }
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        gauge(out, "jvm_threads", "Live threads", threads.getThreadCount());
+        gauge(out, "jvm_threads_daemon", "Live daemon threads", threads.getDaemonThreadCount());
+        gauge(out, "jvm_threads_peak", "Most live threads since the JVM started", threads.getPeakThreadCount());
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        gauge(out, "jvm_memory_heap_used_bytes", "Heap in use", heap.getUsed());
+        gauge(out, "jvm_memory_heap_committed_bytes", "Heap reserved from the operating system", heap.getCommitted());
+        gauge(out, "jvm_memory_heap_max_bytes", "Largest the heap may grow", heap.getMax());
+        gauge(out, "jvm_uptime_seconds", "Time since the JVM started", ManagementFactory.getRuntimeMXBean().getUptime() / 1000.0);
+    }
+
+    // Helpers for sections: one # HELP / # TYPE header per metric, then its samples
+
+    public static void header(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    public static void gauge(StringBuilder out, String name, String help, double value) {
+        header(out, name, "gauge", help);
+        out.append(name).append(' ').append(number(value)).append('\n');
+    }
+
+    public static void counter(StringBuilder out, String name, String help, double value) {
+        header(out, name, "counter", help);
+        out.append(name).append(' ').append(number(value)).append('\n');
+    }
+
+    public static void sample(StringBuilder out, String name, String label, String labelValue, double value) {
+        out.append(name).append('{').append(label).append("=\"").append(escape(labelValue)).append("\"} ")
+           .append(number(value)).append('\n');
+    }
+
+    private static String number(double value) {
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return String.format(Locale.ROOT, "%.6g", value);
+    }
+
+    private static String escape(String labelValue) {
+        return labelValue.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
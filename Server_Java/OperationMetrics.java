@@ -0,0 +1,79 @@
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Call counts, errors and latency histograms per remote operation (login,
+// guessLetter, ...), plus CPU time and bytes allocated on the dispatch thread
+// while accounting is on. Recording is a few LongAdder increments, so requests
+// on different ORB threads don't contend, and reading never blocks a request.
+public class OperationMetrics {
+    // Upper bounds of the latency histogram buckets, in seconds
+    public static final double[] BUCKETS = {0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5};
+
+    public static final class Stats {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        // Only calls made while accounting was on are counted here
+        private final LongAdder accountedCalls = new LongAdder();
+        private final LongAdder cpuNanos = new LongAdder();
+        private final LongAdder allocatedBytes = new LongAdder();
+        // buckets[i] counts calls that took at most BUCKETS[i] (and more than BUCKETS[i - 1])
+        private final LongAdder[] buckets = new LongAdder[BUCKETS.length];
+
+        Stats() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        public long getCalls() { return calls.sum(); }
+        public long getErrors() { return errors.sum(); }
+        public long getNanos() { return nanos.sum(); }
+        public long getAccountedCalls() { return accountedCalls.sum(); }
+        public long getCpuNanos() { return cpuNanos.sum(); }
+        public long getAllocatedBytes() { return allocatedBytes.sum(); }
+
+        // Calls that took at most BUCKETS[i], as Prometheus histograms count them
+        public long[] getCumulativeBuckets() {
+            long[] cumulative = new long[buckets.length];
+            long total = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                total += buckets[i].sum();
+                cumulative[i] = total;
+            }
+            return cumulative;
+        }
+    }
+
+    private final Map<String, Stats> operations = new ConcurrentHashMap<>();
+
+    public void record(String operation, long elapsedNanos, boolean error) {
+        Stats stats = operations.computeIfAbsent(operation, name -> new Stats());
+        stats.calls.increment();
+        if (error) {
+            stats.errors.increment();
+        }
+        stats.nanos.add(elapsedNanos);
+        double seconds = elapsedNanos / 1e9;
+        for (int i = 0; i < BUCKETS.length; i++) {
+            if (seconds <= BUCKETS[i]) {
+                stats.buckets[i].increment();
+                break;
+            }
+        }
+    }
+
+    // CPU time and allocation of one call, measured on the thread that dispatched it
+    public void account(String operation, long cpuNanos, long allocatedBytes) {
+        Stats stats = operations.computeIfAbsent(operation, name -> new Stats());
+        stats.accountedCalls.increment();
+        stats.cpuNanos.add(cpuNanos);
+        stats.allocatedBytes.add(allocatedBytes);
+    }
+
+    // Live view; values keep changing while it is read
+    public Map<String, Stats> getOperations() {
+        return operations;
+    }
+}
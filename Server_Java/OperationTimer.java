@@ -0,0 +1,161 @@
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import org.omg.CORBA.LocalObject;
+import org.omg.PortableInterceptor.ForwardRequest;
+import org.omg.PortableInterceptor.ORBInitInfo;
+import org.omg.PortableInterceptor.ORBInitInfoPackage.DuplicateName;
+import org.omg.PortableInterceptor.ORBInitializer;
+import org.omg.PortableInterceptor.ServerRequestInfo;
+import org.omg.PortableInterceptor.ServerRequestInterceptor;
+
+// Times every remote call the server handles, from the moment the ORB has the
+// request until the reply (or exception) is sent, so each operation is measured
+// the same way without touching the servant. Installed by GameServerApp through
+// ORB.init; the numbers go to OperationTimer.METRICS.
+//
+// The JDK ORB runs a request's interception points on the thread that
+// dispatches it, so the call in progress is simply kept in a thread-local.
+// Each call is also a game.RemoteCall event for Flight Recorder.
+//
+// With accounting on (game.metrics.accounting, or setAccounting at runtime)
+// the thread MXBeans also measure CPU time and bytes allocated by each call on
+// the dispatch thread. Work a call hands to a game loop or the database writer
+// is not included. Reading the counters costs about a microsecond per call,
+// which is why it can be switched off.
+public class OperationTimer extends LocalObject implements ServerRequestInterceptor {
+    private static final long serialVersionUID = 1L;
+    public static final OperationMetrics METRICS = new OperationMetrics();
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    // HotSpot's extension adds per-thread allocation counters; null on JVMs without it
+    private static final com.sun.management.ThreadMXBean ALLOCATION = THREADS instanceof com.sun.management.ThreadMXBean
+            && ((com.sun.management.ThreadMXBean) THREADS).isThreadAllocatedMemorySupported()
+            ? (com.sun.management.ThreadMXBean) THREADS : null;
+    private static volatile boolean accounting = false;
+
+    static {
+        if (Boolean.getBoolean("game.metrics.accounting")) {
+            setAccounting(true);
+        }
+    }
+
+    // Turns CPU and allocation accounting on or off; false if this JVM can't measure either
+    public static synchronized boolean setAccounting(boolean enabled) {
+        boolean cpu = THREADS.isCurrentThreadCpuTimeSupported();
+        if (enabled && !cpu && ALLOCATION == null) {
+            return false;
+        }
+        if (enabled && cpu && !THREADS.isThreadCpuTimeEnabled()) {
+            THREADS.setThreadCpuTimeEnabled(true);
+        }
+        if (enabled && ALLOCATION != null && !ALLOCATION.isThreadAllocatedMemoryEnabled()) {
+            ALLOCATION.setThreadAllocatedMemoryEnabled(true);
+        }
+        accounting = enabled;
+        System.out.println("Operation CPU/allocation accounting " + (enabled ? "on" : "off"));
+        return true;
+    }
+
+    public static boolean isAccounting() {
+        return accounting;
+    }
+
+    // Registered with ORB.init as org.omg.PortableInterceptor.ORBInitializerClass.OperationTimer$Initializer
+    public static class Initializer extends LocalObject implements ORBInitializer {
+        private static final long serialVersionUID = 1L;
+
+        public void pre_init(ORBInitInfo info) {
+            try {
+                info.add_server_request_interceptor(new OperationTimer());
+            } catch (DuplicateName e) {
+                // Already installed
+            }
+        }
+
+        public void post_init(ORBInitInfo info) {
+        }
+    }
+
+    private static final class Call {
+        long startTime;
+        boolean accounted;
+        long startCpu;
+        long startAllocated;
+        GameEvents.RemoteCall event;
+    }
+
+    private final ThreadLocal<Call> current = ThreadLocal.withInitial(Call::new);
+
+    public String name() {
+        return "OperationTimer";
+    }
+
+    public void destroy() {
+    }
+
+    public void receive_request_service_contexts(ServerRequestInfo ri) throws ForwardRequest {
+        Call call = current.get();
+        GameEvents.setCurrentGame(null); // Left over from this thread's last call
+        call.event = new GameEvents.RemoteCall();
+        call.event.begin();
+        call.accounted = accounting;
+        if (call.accounted) {
+            call.startCpu = cpuTime();
+            call.startAllocated = allocatedBytes();
+        }
+        call.startTime = System.nanoTime();
+    }
+
+    public void receive_request(ServerRequestInfo ri) throws ForwardRequest {
+    }
+
+    public void send_reply(ServerRequestInfo ri) {
+        finish(ri, false);
+    }
+
+    public void send_exception(ServerRequestInfo ri) throws ForwardRequest {
+        finish(ri, true);
+    }
+
+    public void send_other(ServerRequestInfo ri) throws ForwardRequest {
+        finish(ri, false);
+    }
+
+    private void finish(ServerRequestInfo ri, boolean error) {
+        String operation = ri.operation();
+        // Skip the ORB's own requests (_is_a, _non_existent, ...)
+        if (operation.startsWith("_")) {
+            return;
+        }
+        Call call = current.get();
+        METRICS.record(operation, System.nanoTime() - call.startTime, error);
+        if (call.accounted) {
+            call.accounted = false;
+            METRICS.account(operation, cpuTime() - call.startCpu, allocatedBytes() - call.startAllocated);
+        }
+        GameEvents.RemoteCall event = call.event;
+        if (event != null) {
+            call.event = null;
+            event.end();
+            if (event.shouldCommit()) {
+                event.gameId = GameEvents.currentGame();
+                event.operation = operation;
+                event.failed = error;
+                event.commit();
+            }
+        }
+    }
+
+    private static long cpuTime() {
+        long cpu = THREADS.getCurrentThreadCpuTime();
+        return cpu >= 0 ? cpu : 0;
+    }
+
+    private static long allocatedBytes() {
+        if (ALLOCATION == null) {
+            return 0;
+        }
+        long bytes = ALLOCATION.getThreadAllocatedBytes(Thread.currentThread().getId());
+        return bytes >= 0 ? bytes : 0;
+    }
+}
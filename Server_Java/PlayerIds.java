@@ -0,0 +1,96 @@
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntConsumer;
+
+// Gives every player a small integer ID, so game state can be kept in per-game
+// slot arrays instead of username-keyed maps; the name stored here is the one
+// instance of that username the game code keeps hold of.
+//
+// IDs are reference counted: a player's session holds one, and so does every
+// game that refers to the player, until the game is removed. When the last
+// holder lets go the ID is freed and handed to the next new player, so the
+// table only ever holds the players with a session or a game on the server,
+// and the name array only grows to the most there have been at once.
+// onRelease is told about freed IDs, so per-player state keyed by ID can be
+// dropped before the ID is reused.
+public class PlayerIds {
+    public static final int NO_PLAYER = 0;
+
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile String[] names = new String[64];
+    private int[] holders = new int[64];
+    private int[] freeIds = new int[16];
+    private int freeCount = 0;
+    private int nextId = 1;
+    private final IntConsumer onRelease;
+
+    public PlayerIds(IntConsumer onRelease) {
+        this.onRelease = onRelease;
+    }
+
+    // The player's ID, or NO_PLAYER if nothing holds one for them. Only holders may rely
+    // on the ID staying the player's.
+    public int idOf(String username) {
+        Integer id = ids.get(username);
+        return id != null ? id : NO_PLAYER;
+    }
+
+    public String nameOf(int id) {
+        String[] current = names;
+        return id > NO_PLAYER && id < current.length ? current[id] : null;
+    }
+
+    public int size() {
+        return ids.size();
+    }
+
+    // Holds the player's ID, assigning one if they have none
+    public synchronized int retain(String username) {
+        Integer existing = ids.get(username);
+        int id = existing != null ? existing : assign(username);
+        holders[id]++;
+        return id;
+    }
+
+    public synchronized void retain(int id) {
+        if (nameOf(id) != null) {
+            holders[id]++;
+        }
+    }
+
+    public synchronized void release(String username) {
+        Integer id = ids.get(username);
+        if (id != null) {
+            release(id);
+        }
+    }
+
+    public synchronized void release(int id) {
+        String name = nameOf(id);
+        if (name == null || --holders[id] > 0) {
+            return;
+        }
+        ids.remove(name);
+        names[id] = null;
+        onRelease.accept(id);
+        if (freeCount == freeIds.length) {
+            freeIds = Arrays.copyOf(freeIds, freeIds.length * 2);
+        }
+        freeIds[freeCount++] = id;
+    }
+
+    private int assign(String username) {
+        int id = freeCount > 0 ? freeIds[--freeCount] : nextId++;
+        String[] current = names;
+        if (id >= current.length) {
+            current = Arrays.copyOf(current, current.length * 2);
+            holders = Arrays.copyOf(holders, current.length);
+        }
+        current[id] = username;
+        holders[id] = 0;
+        // Publish the name before the ID becomes visible to other threads
+        names = current;
+        ids.put(username, id);
+        return id;
+    }
+}
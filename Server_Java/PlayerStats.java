@@ -0,0 +1,273 @@
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+// Per-player statistics collected in memory as games are played, and written
+// to the player_stats table in periodic batches instead of one UPDATE per
+// guess. Only players with changes since the last flush are written. The
+// database holds the totals and memory only the changes not yet flushed, so
+// nothing has to be loaded at startup, and a flush drops the entries it has
+// emptied. Changes and flushes go through the map's compute for the player,
+// which locks only that entry, so a change is never made to an entry a flush
+// has just dropped; the counters are LongAdders so withPending can read them
+// without taking that lock.
+public class PlayerStats {
+    // Rows per INSERT statement
+    private static final int ROWS_PER_STATEMENT = 200;
+
+    // A player's totals: the stored row plus anything not yet flushed
+    public static final class Totals {
+        public static final Totals NONE = new Totals(0, 0, 0, 0, 0, 0, 0, 0);
+
+        private final long gamesPlayed;
+        private final long gamesWon;
+        private final long roundsWon;
+        private final long solveMillis;
+        private final long guesses;
+        private final long wrongGuesses;
+        private final int currentStreak;
+        private final int bestStreak;
+
+        public Totals(long gamesPlayed, long gamesWon, long roundsWon, long solveMillis,
+                      long guesses, long wrongGuesses, int currentStreak, int bestStreak) {
+            this.gamesPlayed = gamesPlayed;
+            this.gamesWon = gamesWon;
+            this.roundsWon = roundsWon;
+            this.solveMillis = solveMillis;
+            this.guesses = guesses;
+            this.wrongGuesses = wrongGuesses;
+            this.currentStreak = currentStreak;
+            this.bestStreak = bestStreak;
+        }
+
+        public long getGamesPlayed() { return gamesPlayed; }
+        public long getGamesWon() { return gamesWon; }
+        public long getRoundsWon() { return roundsWon; }
+        public long getGuesses() { return guesses; }
+        public long getWrongGuesses() { return wrongGuesses; }
+        public int getCurrentStreak() { return currentStreak; }
+        public int getBestStreak() { return bestStreak; }
+
+        // Average time from round start to solving the word, over the rounds this player won
+        public double getAverageSolveSeconds() {
+            return roundsWon > 0 ? solveMillis / 1000.0 / roundsWon : 0;
+        }
+
+        public double getWrongGuessRate() {
+            return guesses > 0 ? (double) wrongGuesses / guesses : 0;
+        }
+
+        public String describe() {
+            return String.format("%d games played, %d games won, %d rounds won, avg solve %.1fs, %.0f%% wrong guesses, streak %d (best %d)",
+                    gamesPlayed, gamesWon, roundsWon, getAverageSolveSeconds(), getWrongGuessRate() * 100, currentStreak, bestStreak);
+        }
+    }
+
+    // Changes since the last flush
+    private static final class Pending {
+        final LongAdder gamesPlayed = new LongAdder();
+        final LongAdder gamesWon = new LongAdder();
+        final LongAdder roundsWon = new LongAdder();
+        final LongAdder solveMillis = new LongAdder();
+        final LongAdder guesses = new LongAdder();
+        final LongAdder wrongGuesses = new LongAdder();
+        // Streaks only change when a game ends, so a lock is fine here.
+        // streakReset = the stored streak was broken; streakAdded = games won since
+        int streakAdded;
+        boolean streakReset;
+    }
+
+    private final Map<String, Pending> pending = new ConcurrentHashMap<>();
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+
+    public void guess(String username, boolean hit) {
+        change(username, stats -> {
+            stats.guesses.increment();
+            if (!hit) {
+                stats.wrongGuesses.increment();
+            }
+        });
+    }
+
+    public void roundWon(String username, long solveMillis) {
+        change(username, stats -> {
+            stats.roundsWon.increment();
+            stats.solveMillis.add(Math.max(0, solveMillis));
+        });
+    }
+
+    // A finished game: the winner extends their streak; breaksStreak ends it for the others
+    public void gameFinished(String username, boolean won, boolean breaksStreak) {
+        change(username, stats -> {
+            stats.gamesPlayed.increment();
+            if (won) {
+                stats.gamesWon.increment();
+            }
+            synchronized (stats) {
+                if (won) {
+                    stats.streakAdded++;
+                } else if (breaksStreak) {
+                    stats.streakReset = true;
+                    stats.streakAdded = 0;
+                }
+            }
+        });
+    }
+
+    public void remove(String username) {
+        pending.computeIfPresent(username, (name, stats) -> {
+            dirty.remove(name);
+            return null;
+        });
+    }
+
+    // Adds the changes not yet flushed to a player's stored totals
+    public Totals withPending(String username, Totals stored) {
+        Pending stats = pending.get(username);
+        if (stats == null) {
+            return stored;
+        }
+        int streak;
+        synchronized (stats) {
+            streak = (stats.streakReset ? 0 : stored.currentStreak) + stats.streakAdded;
+        }
+        return new Totals(stored.gamesPlayed + stats.gamesPlayed.sum(), stored.gamesWon + stats.gamesWon.sum(),
+                stored.roundsWon + stats.roundsWon.sum(), stored.solveMillis + stats.solveMillis.sum(),
+                stored.guesses + stats.guesses.sum(), stored.wrongGuesses + stats.wrongGuesses.sum(),
+                streak, Math.max(stored.bestStreak, streak));
+    }
+
+    public int getDirtyCount() {
+        return dirty.size();
+    }
+
+    // Writes every player's changes since the last flush as a few multi-row upserts.
+    // Returns the number of players written; on failure the changes not written are
+    // kept for the next try.
+    public synchronized int flush(Connection conn) {
+        List<String> names = new ArrayList<>();
+        List<long[]> deltas = new ArrayList<>();
+        for (String username : dirty) {
+            long[] delta = new long[8];
+            // Takes the changes and drops the emptied entry; anything counted after this
+            // makes a new entry and marks the player again
+            pending.compute(username, (name, stats) -> {
+                dirty.remove(name);
+                if (stats == null) {
+                    return null;
+                }
+                delta[0] = stats.gamesPlayed.sum();
+                delta[1] = stats.gamesWon.sum();
+                delta[2] = stats.roundsWon.sum();
+                delta[3] = stats.solveMillis.sum();
+                delta[4] = stats.guesses.sum();
+                delta[5] = stats.wrongGuesses.sum();
+                synchronized (stats) {
+                    delta[6] = stats.streakAdded;
+                    delta[7] = stats.streakReset ? 1 : 0;
+                }
+                names.add(name);
+                deltas.add(delta);
+                return null;
+            });
+        }
+        if (names.isEmpty()) {
+            return 0;
+        }
+        // The connection is shared and stays in autocommit, so each statement commits on its
+        // own; only the rows of statements that didn't go through are put back
+        boolean[] written = new boolean[names.size()];
+        try {
+            // A reset streak replaces the stored one, otherwise the games won are added to it
+            upsert(conn, names, deltas, true, written);
+            upsert(conn, names, deltas, false, written);
+            return names.size();
+        } catch (SQLException e) {
+            int failed = 0;
+            for (int i = 0; i < names.size(); i++) {
+                if (!written[i]) {
+                    restore(names.get(i), deltas.get(i));
+                    failed++;
+                }
+            }
+            System.err.println("Error flushing player stats for " + failed + " of " + names.size() + " players: " + e.getMessage());
+            return names.size() - failed;
+        }
+    }
+
+    private void upsert(Connection conn, List<String> names, List<long[]> deltas, boolean resets, boolean[] written) throws SQLException {
+        List<Integer> rows = new ArrayList<>();
+        for (int i = 0; i < names.size(); i++) {
+            if ((deltas.get(i)[7] == 1) == resets) {
+                rows.add(i);
+            }
+        }
+        for (int from = 0; from < rows.size(); from += ROWS_PER_STATEMENT) {
+            int to = Math.min(rows.size(), from + ROWS_PER_STATEMENT);
+            StringBuilder sql = new StringBuilder("INSERT INTO player_stats (username, games_played, games_won, rounds_won, "
+                    + "solve_time_ms, guesses, wrong_guesses, current_streak, best_streak) VALUES ");
+            for (int i = from; i < to; i++) {
+                sql.append(i == from ? "" : ", ").append("(?, ?, ?, ?, ?, ?, ?, ?, ?)");
+            }
+            // Assignments run left to right, so best_streak sees the new current_streak
+            sql.append(" ON DUPLICATE KEY UPDATE games_played = games_played + VALUES(games_played), ")
+               .append("games_won = games_won + VALUES(games_won), rounds_won = rounds_won + VALUES(rounds_won), ")
+               .append("solve_time_ms = solve_time_ms + VALUES(solve_time_ms), guesses = guesses + VALUES(guesses), ")
+               .append("wrong_guesses = wrong_guesses + VALUES(wrong_guesses), ")
+               .append(resets ? "current_streak = VALUES(current_streak), " : "current_streak = current_streak + VALUES(current_streak), ")
+               .append("best_streak = GREATEST(best_streak, current_streak)");
+            try (PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+                int p = 1;
+                for (int i = from; i < to; i++) {
+                    int row = rows.get(i);
+                    long[] delta = deltas.get(row);
+                    stmt.setString(p++, names.get(row));
+                    for (int column = 0; column < 6; column++) {
+                        stmt.setLong(p++, delta[column]);
+                    }
+                    stmt.setLong(p++, delta[6]);
+                    stmt.setLong(p++, delta[6]);
+                }
+                stmt.executeUpdate();
+            }
+            for (int i = from; i < to; i++) {
+                written[rows.get(i)] = true;
+            }
+        }
+    }
+
+    // Puts changes back after a failed flush. Streak changes made since then come after these.
+    private void restore(String username, long[] delta) {
+        change(username, stats -> {
+            stats.gamesPlayed.add(delta[0]);
+            stats.gamesWon.add(delta[1]);
+            stats.roundsWon.add(delta[2]);
+            stats.solveMillis.add(delta[3]);
+            stats.guesses.add(delta[4]);
+            stats.wrongGuesses.add(delta[5]);
+            synchronized (stats) {
+                if (!stats.streakReset) {
+                    stats.streakAdded += (int) delta[6];
+                    stats.streakReset = delta[7] == 1;
+                }
+            }
+        });
+    }
+
+    // Applies a change to the player's entry, making one if needed, and marks them for the next flush
+    private void change(String username, Consumer<Pending> change) {
+        pending.compute(username, (name, stats) -> {
+            Pending changed = stats != null ? stats : new Pending();
+            change.accept(changed);
+            dirty.add(name);
+            return changed;
+        });
+    }
+}
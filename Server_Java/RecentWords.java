@@ -0,0 +1,140 @@
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Remembers, per player, roughly which words they were shown recently, so new
+// games can avoid repeating them. Each player has two small Bloom filters:
+// words go into the current one, and once it holds wordsPerFilter words it
+// becomes the previous one and a fresh filter takes its place. A player
+// therefore remembers between wordsPerFilter and 2 * wordsPerFilter words in a
+// fixed 2 * bitsPerFilter bits, however large the dictionary is. At most
+// maxPlayers players are tracked; the least recently active are forgotten.
+// A false positive only means a word is skipped when it didn't need to be.
+//
+// Every game loop checks and marks words here, so players are split over
+// STRIPES independent maps by ID, each with its own lock and its share of
+// maxPlayers; two loops only contend when their players share a stripe.
+public class RecentWords {
+    private static final int HASHES = 4;
+    private static final int STRIPES = 64;
+
+    private static class Filter {
+        long[] current;
+        long[] previous;
+        int currentCount;
+
+        Filter(int words) {
+            current = new long[words];
+            previous = new long[words];
+        }
+    }
+
+    private final int bits;
+    private final int wordsPerFilter;
+    // Each stripe is locked on its own; stripe i holds the players whose ID % STRIPES == i
+    private final Map<Integer, Filter>[] stripes;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public RecentWords(int maxPlayers, int bitsPerFilter, int wordsPerFilter) {
+        // Round up to whole longs
+        this.bits = Math.max(64, (bitsPerFilter + 63) / 64 * 64);
+        this.wordsPerFilter = Math.max(1, wordsPerFilter);
+        final int maxPerStripe = Math.max(1, (maxPlayers + STRIPES - 1) / STRIPES);
+        this.stripes = new Map[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            // Access-ordered so the least recently active player is dropped first when full
+            stripes[i] = new LinkedHashMap<Integer, Filter>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, Filter> eldest) {
+                    return size() > maxPerStripe;
+                }
+            };
+        }
+    }
+
+    public boolean hasSeen(int playerId, String word) {
+        int h1 = mix(word.hashCode());
+        int h2 = mix(h1 ^ 0x9E3779B9) | 1;
+        Map<Integer, Filter> filters = stripeOf(playerId);
+        synchronized (filters) {
+            Filter filter = filters.get(playerId);
+            return filter != null && (contains(filter.current, h1, h2) || contains(filter.previous, h1, h2));
+        }
+    }
+
+    public void markSeen(int playerId, String word) {
+        int h1 = mix(word.hashCode());
+        int h2 = mix(h1 ^ 0x9E3779B9) | 1;
+        Map<Integer, Filter> filters = stripeOf(playerId);
+        synchronized (filters) {
+            Filter filter = filters.get(playerId);
+            if (filter == null) {
+                filter = new Filter(bits / 64);
+                filters.put(playerId, filter);
+            }
+            if (filter.currentCount >= wordsPerFilter) {
+                // Rotate: forget the oldest half of the player's history
+                long[] recycled = filter.previous;
+                Arrays.fill(recycled, 0L);
+                filter.previous = filter.current;
+                filter.current = recycled;
+                filter.currentCount = 0;
+            }
+            for (int i = 0; i < HASHES; i++) {
+                int bit = Math.floorMod(h1 + i * h2, bits);
+                filter.current[bit >>> 6] |= 1L << bit;
+            }
+            filter.currentCount++;
+        }
+    }
+
+    // Called when the player's ID is freed, so whoever gets it next starts with no history
+    public void forget(int playerId) {
+        Map<Integer, Filter> filters = stripeOf(playerId);
+        synchronized (filters) {
+            filters.remove(playerId);
+        }
+    }
+
+    // Number of players currently tracked
+    public int size() {
+        int size = 0;
+        for (Map<Integer, Filter> filters : stripes) {
+            synchronized (filters) {
+                size += filters.size();
+            }
+        }
+        return size;
+    }
+
+    private Map<Integer, Filter> stripeOf(int playerId) {
+        return stripes[(playerId & 0x7fffffff) % STRIPES];
+    }
+
+    // Bytes of filter data per tracked player
+    public int bytesPerPlayer() {
+        return bits / 8 * 2;
+    }
+
+    private boolean contains(long[] filter, int h1, int h2) {
+        for (int i = 0; i < HASHES; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bits);
+            if ((filter[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Final mixing step of MurmurHash3, spreads String.hashCode over all bits
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
@@ -0,0 +1,164 @@
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Live counters and gauges for the admin dashboard. Everything here is updated
+// where it happens (a game changing phase, a guess, a database call), so reading
+// the dashboard never has to walk the games or take the server lock.
+//
+// Rates are computed from the cumulative counters: sample() is called once a
+// second and keeps the last RATE_WINDOW_SECONDS samples, and a rate is the
+// difference between the newest and the oldest sample.
+public class ServerMetrics {
+    // Game phases, as tracked by each GameSession
+    public static final int GONE = 0;
+    public static final int LOBBY = 1;
+    public static final int PLAYING = 2;
+    public static final int FINISHED = 3;
+
+    private static final int RATE_WINDOW_SECONDS = 10;
+
+    private final long startTime = System.currentTimeMillis();
+    private final AtomicInteger[] gamesByPhase = {
+            new AtomicInteger(), new AtomicInteger(), new AtomicInteger(), new AtomicInteger()};
+    private final LongAdder guesses = new LongAdder();
+    private final LongAdder dbCalls = new LongAdder();
+    private final LongAdder dbNanos = new LongAdder();
+    private final LongAdder dbErrors = new LongAdder();
+
+    // Ring of samples: time, guesses, dbCalls, dbNanos
+    private final long[][] samples = new long[RATE_WINDOW_SECONDS + 1][4];
+    private int newestSample = -1;
+    private int sampleCount = 0;
+
+    // A game moved from one phase to another (GONE when it is created or removed)
+    public void gameMoved(int from, int to) {
+        if (from != GONE) {
+            gamesByPhase[from].decrementAndGet();
+        }
+        if (to != GONE) {
+            gamesByPhase[to].incrementAndGet();
+        }
+    }
+
+    public int getGames(int phase) {
+        return gamesByPhase[phase].get();
+    }
+
+    public void guessed() {
+        guesses.increment();
+    }
+
+    public long getGuesses() {
+        return guesses.sum();
+    }
+
+    public long getDbCalls() {
+        return dbCalls.sum();
+    }
+
+    public long getDbErrors() {
+        return dbErrors.sum();
+    }
+
+    public long getDbNanos() {
+        return dbNanos.sum();
+    }
+
+    public long getUptimeSeconds() {
+        return (System.currentTimeMillis() - startTime) / 1000;
+    }
+
+    // Called once a second by the housekeeping thread
+    public synchronized void sample() {
+        newestSample = (newestSample + 1) % samples.length;
+        long[] sample = samples[newestSample];
+        sample[0] = System.currentTimeMillis();
+        sample[1] = guesses.sum();
+        sample[2] = dbCalls.sum();
+        sample[3] = dbNanos.sum();
+        sampleCount = Math.min(sampleCount + 1, samples.length);
+    }
+
+    // Guesses per second over the last RATE_WINDOW_SECONDS
+    public synchronized double getGuessesPerSecond() {
+        if (sampleCount < 2) {
+            return 0;
+        }
+        long[] newest = samples[newestSample];
+        long[] oldest = oldestSample();
+        return (newest[1] - oldest[1]) * 1000.0 / Math.max(1, newest[0] - oldest[0]);
+    }
+
+    // Average database call time over the last RATE_WINDOW_SECONDS; 0 when there were no calls
+    public synchronized double getDbLatencyMillis() {
+        if (sampleCount < 2) {
+            return 0;
+        }
+        long[] newest = samples[newestSample];
+        long[] oldest = oldestSample();
+        long calls = newest[2] - oldest[2];
+        return calls > 0 ? (newest[3] - oldest[3]) / 1e6 / calls : 0;
+    }
+
+    private long[] oldestSample() {
+        return samples[(newestSample - sampleCount + 1 + samples.length) % samples.length];
+    }
+
+    // Wraps a connection so every statement it prepares is timed when executed
+    public Connection timed(Connection conn) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(conn, method, args);
+                    Class<?> type = method.getReturnType();
+                    if (result instanceof Statement && type.isInterface()) {
+                        String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+                        return timedStatement(result, type, sql);
+                    }
+                    return result;
+                });
+    }
+
+    // Each execute is also a game.JdbcCall event for Flight Recorder
+    private Object timedStatement(Object statement, Class<?> type, String sql) {
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (!method.getName().startsWith("execute")) {
+                return invoke(statement, method, args);
+            }
+            GameEvents.JdbcCall event = new GameEvents.JdbcCall();
+            event.begin();
+            long start = System.nanoTime();
+            boolean failed = false;
+            try {
+                return invoke(statement, method, args);
+            } catch (Throwable e) {
+                failed = true;
+                dbErrors.increment();
+                throw e;
+            } finally {
+                dbNanos.add(System.nanoTime() - start);
+                dbCalls.increment();
+                event.end();
+                if (event.shouldCommit()) {
+                    event.gameId = GameEvents.currentGame();
+                    event.sql = sql != null ? sql : args != null && args.length > 0 ? String.valueOf(args[0]) : null;
+                    event.method = method.getName();
+                    event.failed = failed;
+                    event.commit();
+                }
+            }
+        });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
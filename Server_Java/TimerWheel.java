@@ -0,0 +1,158 @@
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Hashed timer wheel: one thread serves any number of timeouts. Scheduling and
+// cancelling are O(1); every tick only the timeouts in the current slot are
+// looked at. Precision is one tick, which is plenty for lobby and lease expiry.
+// A wheel can also be ticked by a scheduler instead of its own thread, which is
+// how GameSimulation runs it on virtual time.
+public class TimerWheel {
+    public class Timeout {
+        private final Runnable task;
+        private final long deadline;
+        private long remainingRounds;
+        private volatile boolean cancelled = false;
+        private volatile boolean expired = false;
+
+        private Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        // Cancelled timeouts are dropped the next time the wheel passes their slot
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() { return cancelled; }
+        public boolean isExpired() { return expired; }
+        public long getDeadline() { return deadline; }
+    }
+
+    private final long tickMillis;
+    private final LinkedList<Timeout>[] slots;
+    private final ConcurrentLinkedQueue<Timeout> pending = new ConcurrentLinkedQueue<>();
+    private final GameClock clock;
+    private final Thread worker;  // null when ticked by a scheduler
+    private final long startTime;
+    private long tick = 0;
+    private volatile boolean running = true;
+    private volatile int scheduledCount = 0;
+
+    public TimerWheel(String name, long tickMillis, int slotCount) {
+        this(GameClock.SYSTEM, name, tickMillis, slotCount);
+    }
+
+    // Ticked every tickMillis by the ticker (which must run one task at a time) on the clock's time
+    public TimerWheel(ScheduledExecutorService ticker, GameClock clock, long tickMillis, int slotCount) {
+        this(clock, null, tickMillis, slotCount);
+        ticker.scheduleAtFixedRate(this::advance, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private TimerWheel(GameClock clock, String threadName, long tickMillis, int slotCount) {
+        this.clock = clock;
+        this.tickMillis = tickMillis;
+        this.slots = new LinkedList[slotCount];
+        for (int i = 0; i < slotCount; i++) {
+            slots[i] = new LinkedList<>();
+        }
+        this.startTime = clock.millis();
+        if (threadName != null) {
+            this.worker = new Thread(this::run, threadName);
+            this.worker.setDaemon(true);
+            this.worker.start();
+        } else {
+            this.worker = null;
+        }
+    }
+
+    public Timeout schedule(Runnable task, long delayMillis) {
+        Timeout timeout = new Timeout(task, clock.millis() + Math.max(0, delayMillis));
+        // Handed to the worker thread, which owns the slots
+        pending.add(timeout);
+        return timeout;
+    }
+
+    // Number of timeouts currently held in the wheel (including not yet purged cancelled ones)
+    public int size() {
+        return scheduledCount + pending.size();
+    }
+
+    public void shutdown() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            long nextTickTime = startTime + (tick + 1) * tickMillis;
+            long sleep = nextTickTime - clock.millis();
+            if (sleep > 0) {
+                try {
+                    Thread.sleep(sleep);
+                } catch (InterruptedException e) {
+                    if (!running) {
+                        return;
+                    }
+                }
+                continue;
+            }
+            nextTick();
+        }
+    }
+
+    // Catches up on every tick that is due (when ticked by a scheduler)
+    private void advance() {
+        while (running && clock.millis() >= startTime + (tick + 1) * tickMillis) {
+            nextTick();
+        }
+    }
+
+    private void nextTick() {
+        tick++;
+        transferPending();
+        expireSlot(slots[(int) (tick % slots.length)]);
+    }
+
+    private void transferPending() {
+        Timeout timeout;
+        while ((timeout = pending.poll()) != null) {
+            if (timeout.cancelled) {
+                continue;
+            }
+            // Overdue timeouts land in the current slot and fire on this tick
+            long ticksAway = Math.max(0, (timeout.deadline - startTime + tickMillis - 1) / tickMillis - tick);
+            timeout.remainingRounds = ticksAway / slots.length;
+            slots[(int) ((tick + ticksAway) % slots.length)].add(timeout);
+            scheduledCount++;
+        }
+    }
+
+    private void expireSlot(LinkedList<Timeout> slot) {
+        Iterator<Timeout> it = slot.iterator();
+        while (it.hasNext()) {
+            Timeout timeout = it.next();
+            if (timeout.cancelled) {
+                it.remove();
+                scheduledCount--;
+            } else if (timeout.remainingRounds > 0) {
+                timeout.remainingRounds--;
+            } else {
+                it.remove();
+                scheduledCount--;
+                timeout.expired = true;
+                try {
+                    timeout.task.run();
+                } catch (Throwable t) {
+                    System.err.println("Timer task failed: " + t);
+                }
+            }
+        }
+    }
+}
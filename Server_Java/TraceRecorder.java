@@ -0,0 +1,305 @@
+import GameApp.GameServiceOperations;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Records every GameService request (operation, arguments, caller, start time
+// and duration) to a compact binary trace file, so real traffic can be played
+// back against a test server with TraceReplay. Turned on by starting the server
+// with -Dgame.trace.file=<file>.
+//
+// GameServerApp then serves the GameServer through the generated Tie class and
+// a proxy from wrap(), which sees each call's arguments. Like GameJournal,
+// request threads only queue calls and one writer thread appends them to the
+// file; recording stops when the file reaches game.trace.maxMB, and calls are
+// dropped (and counted) if the writer falls too far behind. Passwords are
+// never written: they are recorded as "" and TraceReplay supplies them.
+//
+// File layout: int magic, int version, long start time (epoch ms), then records:
+//   long start (ns since the trace started), long duration (ns), UTF operation,
+//   UTF username ("" if none), boolean failed, byte argument count, then per
+//   argument a type tag ('S' UTF, 'I' int, 'Z' boolean, 'C' char) and its value
+// Records are written as calls finish; TraceReplay sorts them by start time.
+public class TraceRecorder {
+    public static final int MAGIC = 0x47545243; // "GTRC"
+    public static final int VERSION = 2; // 1 had passwords in the clear
+    private static final int MAX_QUEUED = 100000;
+    // Every operation whose first string argument isn't a player's name
+    private static final String[] NOT_A_USERNAME = {"getWindowedLeaderboard"};
+    // Every operation with a password, always its second argument
+    private static final String[] HAS_PASSWORD = {"login", "createPlayer", "updatePlayer"};
+
+    public static final class Call {
+        private final long start;
+        private final long duration;
+        private final String operation;
+        private final String username;
+        private final boolean failed;
+        private final Object[] args;
+
+        public Call(long start, long duration, String operation, String username, boolean failed, Object[] args) {
+            this.start = start;
+            this.duration = duration;
+            this.operation = operation;
+            this.username = username;
+            this.failed = failed;
+            this.args = args;
+        }
+
+        public long getStart() { return start; }
+        public long getDuration() { return duration; }
+        public String getOperation() { return operation; }
+        public String getUsername() { return username; }
+        public boolean isFailed() { return failed; }
+        public Object[] getArgs() { return args; }
+
+        void write(DataOutputStream out) throws IOException {
+            out.writeLong(start);
+            out.writeLong(duration);
+            out.writeUTF(operation);
+            out.writeUTF(username);
+            out.writeBoolean(failed);
+            out.writeByte(args.length);
+            for (Object arg : args) {
+                if (arg instanceof Integer) {
+                    out.writeByte('I');
+                    out.writeInt((Integer) arg);
+                } else if (arg instanceof Boolean) {
+                    out.writeByte('Z');
+                    out.writeBoolean((Boolean) arg);
+                } else if (arg instanceof Character) {
+                    out.writeByte('C');
+                    out.writeChar((Character) arg);
+                } else {
+                    out.writeByte('S');
+                    out.writeUTF(arg != null ? arg.toString() : "");
+                }
+            }
+        }
+
+        static Call read(DataInputStream in) throws IOException {
+            long start = in.readLong();
+            long duration = in.readLong();
+            String operation = in.readUTF();
+            String username = in.readUTF();
+            boolean failed = in.readBoolean();
+            Object[] args = new Object[in.readUnsignedByte()];
+            for (int i = 0; i < args.length; i++) {
+                byte tag = in.readByte();
+                switch (tag) {
+                    case 'I': args[i] = in.readInt(); break;
+                    case 'Z': args[i] = in.readBoolean(); break;
+                    case 'C': args[i] = in.readChar(); break;
+                    case 'S': args[i] = in.readUTF(); break;
+                    default: throw new IOException("Unknown argument type " + tag + " in " + operation);
+                }
+            }
+            return new Call(start, duration, operation, username, failed, args);
+        }
+    }
+
+    private final Path file;
+    private final long maxBytes;
+    private final long startNanos = System.nanoTime();
+    private final ConcurrentLinkedQueue<Call> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Thread writer;
+    private volatile boolean running = true;
+    private volatile long recorded = 0;
+    private final AtomicLong dropped = new AtomicLong();
+    private CountingOutputStream out;  // Owned by the writer thread
+
+    public TraceRecorder(Path file, long maxBytes) throws IOException {
+        this.file = file;
+        this.maxBytes = maxBytes;
+        this.out = new CountingOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 64 * 1024));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(System.currentTimeMillis());
+        this.writer = new Thread(this::run, "trace-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    // The recorder configured by game.trace.file, or null when tracing is off
+    public static TraceRecorder open() {
+        String file = System.getProperty("game.trace.file", "");
+        if (file.isEmpty()) {
+            return null;
+        }
+        try {
+            TraceRecorder recorder = new TraceRecorder(Paths.get(file), Long.getLong("game.trace.maxMB", 1024) * 1024 * 1024);
+            System.out.println("Recording requests to " + file);
+            return recorder;
+        } catch (IOException e) {
+            System.err.println("Cannot record requests to " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    // A GameServiceOperations that records each call and passes it on to target
+    public GameServiceOperations wrap(GameServiceOperations target) {
+        return (GameServiceOperations) Proxy.newProxyInstance(GameServiceOperations.class.getClassLoader(),
+                new Class<?>[]{GameServiceOperations.class}, (proxy, method, args) -> {
+                    long start = System.nanoTime();
+                    boolean failed = false;
+                    try {
+                        return method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        failed = true;
+                        throw e.getCause();
+                    } finally {
+                        record(method, args, start, System.nanoTime() - start, failed);
+                    }
+                });
+    }
+
+    public long getRecorded() { return recorded; }
+    public long getDropped() { return dropped.get(); }
+
+    // Writes out everything queued so far and closes the file
+    public void close() {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        System.out.println("Recorded " + recorded + " requests to " + file + (dropped.get() > 0 ? " (" + dropped.get() + " dropped)" : ""));
+    }
+
+    // Reads a whole trace, in the order the calls finished
+    public static List<Call> read(Path file) throws IOException {
+        List<Call> calls = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 64 * 1024))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException(file + " is not a request trace");
+            }
+            int version = in.readInt();
+            if (version != 1 && version != VERSION) {
+                throw new IOException("Unsupported trace version " + version);
+            }
+            in.readLong(); // Start time, for reference
+            while (true) {
+                try {
+                    calls.add(Call.read(in));
+                } catch (EOFException e) {
+                    break; // End of trace; a record cut off by a crash is dropped
+                }
+            }
+        }
+        return calls;
+    }
+
+    private void record(Method method, Object[] args, long start, long duration, boolean failed) {
+        if (!running) {
+            return;
+        }
+        if (queued.incrementAndGet() > MAX_QUEUED) {
+            queued.decrementAndGet();
+            dropped.incrementAndGet();
+            return;
+        }
+        Object[] recordedArgs = args != null ? args.clone() : new Object[0];
+        String username = "";
+        if (recordedArgs.length > 0 && recordedArgs[0] instanceof String && !isOneOf(method.getName(), NOT_A_USERNAME)) {
+            username = (String) recordedArgs[0];
+        }
+        if (recordedArgs.length > 1 && isOneOf(method.getName(), HAS_PASSWORD)) {
+            recordedArgs[1] = "";
+        }
+        queue.add(new Call(start - startNanos, duration, method.getName(), username, failed, recordedArgs));
+    }
+
+    private static boolean isOneOf(String operation, String[] operations) {
+        for (String name : operations) {
+            if (name.equals(operation)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void run() {
+        long lastFlush = System.currentTimeMillis();
+        while (running || !queue.isEmpty()) {
+            Call call = queue.poll();
+            if (call == null) {
+                if (out != null && System.currentTimeMillis() - lastFlush >= 1000) {
+                    flush();
+                    lastFlush = System.currentTimeMillis();
+                }
+                LockSupport.parkNanos(1_000_000);
+                continue;
+            }
+            queued.decrementAndGet();
+            if (out == null) {
+                continue; // Stopped at the size limit or after an error; keep draining
+            }
+            try {
+                call.write(out);
+                recorded++;
+                if (out.getTotal() >= maxBytes) {
+                    System.out.println("Request trace " + file + " reached its size limit; recording stopped");
+                    closeFile();
+                }
+            } catch (IOException e) {
+                System.err.println("Trace write failed, recording stopped: " + e.getMessage());
+                closeFile();
+            }
+        }
+        closeFile();
+    }
+
+    // Counts bytes written in a long; DataOutputStream.size() is an int that stops at 2 GB
+    private static final class CountingOutputStream extends DataOutputStream {
+        private long total = 0;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        long getTotal() {
+            total += written;
+            written = 0;
+            return total;
+        }
+    }
+
+    private void flush() {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            System.err.println("Trace write failed, recording stopped: " + e.getMessage());
+            closeFile();
+        }
+    }
+
+    private void closeFile() {
+        if (out != null) {
+            try {
+                out.close();
+            } catch (IOException e) {
+                System.err.println("Error closing " + file + ": " + e.getMessage());
+            }
+            out = null;
+        }
+    }
+}
@@ -0,0 +1,357 @@
+import GameApp.GameService;
+import GameApp.GameServiceHelper;
+import GameApp.GameServiceOperations;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.omg.CORBA.ORB;
+import org.omg.CosNaming.NamingContextExt;
+import org.omg.CosNaming.NamingContextExtHelper;
+
+// Plays a trace written by TraceRecorder against a (test) server and measures
+// each call's latency as the client sees it, so two builds can be compared on
+// the same real traffic.
+//
+// Usage:
+//   java TraceReplay summary <trace>
+//   java TraceReplay replay <trace> <results> [speed] [ORB options]
+//   java TraceReplay compare <baseline results> <candidate results>
+//
+// replay keeps the recorded timing (speed 1), plays it faster (speed 4 = four
+// times as fast) or back to back (speed 0). Calls for the same player run in
+// their recorded order on one worker thread; session tokens are taken from
+// the replayed logins. The test server's database needs the same accounts as
+// the recorded one, e.g. a copy of it.
+//
+// Traces don't hold passwords. Logins use -Dgame.replay.password=<password>
+// for every player if it is given, otherwise each player's password is read
+// from the test database (game.replay.dbUrl, dbUser, dbPassword; by default
+// the server's own). Players created or changed by the replay get that
+// password, or "replay" if there is none.
+public class TraceReplay {
+    private static final int WORKERS = 16;
+    private static final String DEFAULT_PASSWORD = "replay";
+    private static final Map<String, Method> METHODS = new HashMap<>();
+
+    static {
+        for (Method method : GameServiceOperations.class.getMethods()) {
+            METHODS.put(method.getName(), method);
+        }
+    }
+
+    // Latencies of one operation, in nanoseconds
+    static final class Samples {
+        private long[] nanos = new long[64];
+        private int count;
+        private long errors;
+
+        void add(long elapsed, boolean error) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = elapsed;
+            if (error) {
+                errors++;
+            }
+        }
+
+        void addAll(Samples other) {
+            for (int i = 0; i < other.count; i++) {
+                add(other.nanos[i], false);
+            }
+            errors += other.errors;
+        }
+
+        // count errors mean p50 p95 p99 max, times in milliseconds
+        String format() {
+            long[] sorted = Arrays.copyOf(nanos, count);
+            Arrays.sort(sorted);
+            long total = 0;
+            for (long value : sorted) {
+                total += value;
+            }
+            return String.format(Locale.ROOT, "%d %d %.3f %.3f %.3f %.3f %.3f", count, errors,
+                    count > 0 ? total / 1e6 / count : 0, percentile(sorted, 50), percentile(sorted, 95),
+                    percentile(sorted, 99), count > 0 ? sorted[count - 1] / 1e6 : 0);
+        }
+
+        private static double percentile(long[] sorted, int percent) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percent / 100.0 * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+    }
+
+    // One thread per worker; a player's calls always go to the same one
+    private static final class Worker {
+        final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        final Map<String, Samples> samples = new HashMap<>();  // Only touched by the worker thread
+        long maxLag = 0;
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            usage();
+        }
+        try {
+            switch (args[0]) {
+                case "summary":
+                    summary(Paths.get(args[1]));
+                    break;
+                case "replay":
+                    if (args.length < 3) {
+                        usage();
+                    }
+                    double speed = args.length > 3 ? Double.parseDouble(args[3]) : 1;
+                    replay(Paths.get(args[1]), Paths.get(args[2]), speed, Arrays.copyOfRange(args, Math.min(4, args.length), args.length));
+                    break;
+                case "compare":
+                    if (args.length < 3) {
+                        usage();
+                    }
+                    compare(Paths.get(args[1]), Paths.get(args[2]));
+                    break;
+                default:
+                    usage();
+            }
+        } catch (IOException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    private static void usage() {
+        System.err.println("Usage: java TraceReplay summary <trace>");
+        System.err.println("       java TraceReplay replay <trace> <results> [speed] [ORB options]");
+        System.err.println("       java TraceReplay compare <baseline results> <candidate results>");
+        System.exit(2);
+    }
+
+    // Per-operation counts and latencies as the server measured them while recording
+    public static void summary(Path trace) throws IOException {
+        List<TraceRecorder.Call> calls = TraceRecorder.read(trace);
+        Map<String, Samples> results = new TreeMap<>();
+        long end = 0;
+        for (TraceRecorder.Call call : calls) {
+            results.computeIfAbsent(call.getOperation(), name -> new Samples()).add(call.getDuration(), call.isFailed());
+            end = Math.max(end, call.getStart() + call.getDuration());
+        }
+        System.out.printf(Locale.ROOT, "%d calls over %.1f s (server-side times)%n", calls.size(), end / 1e9);
+        print(results);
+    }
+
+    public static void replay(Path trace, Path output, double speed, String[] orbArgs) throws IOException {
+        List<TraceRecorder.Call> calls = TraceRecorder.read(trace);
+        calls.sort(Comparator.comparingLong(TraceRecorder.Call::getStart));
+        if (calls.isEmpty()) {
+            throw new IOException(trace + " has no calls");
+        }
+
+        GameService game;
+        try {
+            ORB orb = ORB.init(orbArgs, null);
+            NamingContextExt ncRef = NamingContextExtHelper.narrow(orb.resolve_initial_references("NameService"));
+            game = GameServiceHelper.narrow(ncRef.resolve_str("Game"));
+        } catch (Exception e) {
+            throw new IOException("Cannot reach the game server: " + e, e);
+        }
+
+        Map<String, String> passwords = loadPasswords();
+        System.out.println("Replaying " + calls.size() + " calls at " + (speed > 0 ? speed + "x" : "full speed") + "...");
+        Map<String, String> tokens = new ConcurrentHashMap<>();
+        Worker[] workers = new Worker[WORKERS];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = new Worker();
+        }
+        long first = calls.get(0).getStart();
+        long begin = System.nanoTime() + 100_000_000L; // Time to get everything scheduled
+        int next = 0;
+        for (TraceRecorder.Call call : calls) {
+            // Calls without a player are spread over the workers
+            Worker worker = call.getUsername().isEmpty() ? workers[next++ % WORKERS]
+                    : workers[Math.floorMod(call.getUsername().hashCode(), WORKERS)];
+            long due = speed > 0 ? begin + (long) ((call.getStart() - first) / speed) : begin;
+            worker.executor.schedule(() -> play(game, call, worker, due, tokens, passwords), due - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        Map<String, Samples> results = new TreeMap<>();
+        long maxLag = 0;
+        for (Worker worker : workers) {
+            worker.executor.shutdown();
+            try {
+                worker.executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted", e);
+            }
+            for (Map.Entry<String, Samples> entry : worker.samples.entrySet()) {
+                results.computeIfAbsent(entry.getKey(), name -> new Samples()).addAll(entry.getValue());
+            }
+            maxLag = Math.max(maxLag, worker.maxLag);
+        }
+
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(output, StandardCharsets.UTF_8))) {
+            out.printf(Locale.ROOT, "# trace=%s speed=%s calls=%d maxLagMillis=%.1f%n", trace, speed, calls.size(), maxLag / 1e6);
+            out.println("# operation count errors meanMs p50Ms p95Ms p99Ms maxMs");
+            for (Map.Entry<String, Samples> entry : results.entrySet()) {
+                out.println(entry.getKey() + " " + entry.getValue().format());
+            }
+        }
+        print(results);
+        // The replay can't keep up with the recorded pace if this is large
+        System.out.printf(Locale.ROOT, "Largest delay behind schedule: %.1f ms%n", maxLag / 1e6);
+        System.out.println("Results written to " + output);
+    }
+
+    // Every player's password: the one given on the command line, or those in the test database
+    private static Map<String, String> loadPasswords() throws IOException {
+        Map<String, String> passwords = new ConcurrentHashMap<>();
+        String password = System.getProperty("game.replay.password");
+        if (password != null) {
+            return passwords; // passwordFor falls back to it
+        }
+        String url = System.getProperty("game.replay.dbUrl", "jdbc:mysql://localhost:3306/game_db");
+        try (Connection conn = DriverManager.getConnection(url, System.getProperty("game.replay.dbUser", "root"),
+                System.getProperty("game.replay.dbPassword", ""));
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT username, password FROM users")) {
+            while (rs.next()) {
+                passwords.put(rs.getString("username"), rs.getString("password"));
+            }
+        } catch (SQLException e) {
+            throw new IOException("Cannot read passwords from " + url + " (or give -Dgame.replay.password): " + e.getMessage(), e);
+        }
+        System.out.println("Read " + passwords.size() + " passwords from " + url);
+        return passwords;
+    }
+
+    private static String passwordFor(String username, Map<String, String> passwords) {
+        String password = passwords.get(username);
+        return password != null ? password : System.getProperty("game.replay.password", DEFAULT_PASSWORD);
+    }
+
+    private static void play(GameService game, TraceRecorder.Call call, Worker worker, long due,
+                             Map<String, String> tokens, Map<String, String> passwords) {
+        Object[] args = call.getArgs();
+        switch (call.getOperation()) {
+            case "checkSessionStatus":
+                if (args.length == 2) {
+                    // The recorded token belongs to the recorded server's login
+                    args = new Object[]{args[0], tokens.getOrDefault(call.getUsername(), "")};
+                }
+                break;
+            case "login":
+            case "createPlayer":
+            case "updatePlayer":
+                // Recorded without the password (version 1 traces still have it)
+                if (args.length == 2 && "".equals(args[1])) {
+                    String password = passwordFor((String) args[0], passwords);
+                    passwords.put((String) args[0], password);
+                    args = new Object[]{args[0], password};
+                }
+                break;
+            default:
+                break;
+        }
+        long start = System.nanoTime();
+        worker.maxLag = Math.max(worker.maxLag, start - due);
+        Method method = METHODS.get(call.getOperation());
+        if (method == null) {
+            return; // Not in this build's interface
+        }
+        boolean error = false;
+        try {
+            Object result = method.invoke(game, args);
+            if (call.getOperation().equals("login") && result instanceof String && ((String) result).startsWith("SUCCESS:")) {
+                String[] parts = ((String) result).split(":");
+                tokens.put(call.getUsername(), parts[1]);
+            }
+        } catch (InvocationTargetException | IllegalAccessException | IllegalArgumentException e) {
+            error = true;
+        }
+        worker.samples.computeIfAbsent(call.getOperation(), name -> new Samples()).add(System.nanoTime() - start, error);
+    }
+
+    // Prints each operation's p50/p95/p99 in both results files and how much they changed
+    public static void compare(Path baseline, Path candidate) throws IOException {
+        Map<String, double[]> before = load(baseline);
+        Map<String, double[]> after = load(candidate);
+        System.out.printf(Locale.ROOT, "%-24s %8s %19s %19s %19s%n", "operation", "calls", "p50 ms", "p95 ms", "p99 ms");
+        for (Map.Entry<String, double[]> entry : before.entrySet()) {
+            double[] b = entry.getValue();
+            double[] c = after.get(entry.getKey());
+            if (c == null) {
+                System.out.printf(Locale.ROOT, "%-24s %8d  (not in %s)%n", entry.getKey(), (long) b[0], candidate.getFileName());
+                continue;
+            }
+            System.out.printf(Locale.ROOT, "%-24s %8d %19s %19s %19s%n", entry.getKey(), (long) c[0],
+                    change(b[3], c[3]), change(b[4], c[4]), change(b[5], c[5]));
+        }
+        for (String operation : after.keySet()) {
+            if (!before.containsKey(operation)) {
+                System.out.printf(Locale.ROOT, "%-24s %8d  (not in %s)%n", operation, (long) after.get(operation)[0], baseline.getFileName());
+            }
+        }
+    }
+
+    private static String change(double before, double after) {
+        String percent = before > 0 ? String.format(Locale.ROOT, "%+.0f%%", (after - before) * 100 / before) : "";
+        return String.format(Locale.ROOT, "%.2f>%.2f %s", before, after, percent);
+    }
+
+    // operation -> count, errors, mean, p50, p95, p99, max
+    private static Map<String, double[]> load(Path results) throws IOException {
+        Map<String, double[]> operations = new TreeMap<>();
+        try (BufferedReader in = Files.newBufferedReader(results, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.trim().split(" ");
+                if (fields.length != 8) {
+                    throw new IOException(results + " is not a TraceReplay results file");
+                }
+                double[] values = new double[7];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = Double.parseDouble(fields[i + 1]);
+                }
+                operations.put(fields[0], values);
+            }
+        }
+        return operations;
+    }
+
+    private static void print(Map<String, Samples> results) {
+        System.out.printf(Locale.ROOT, "%-24s %8s %6s %9s %9s %9s %9s %9s%n", "operation", "calls", "errors", "mean ms", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        for (Map.Entry<String, Samples> entry : results.entrySet()) {
+            String[] fields = entry.getValue().format().split(" ");
+            System.out.printf(Locale.ROOT, "%-24s %8s %6s %9s %9s %9s %9s %9s%n", entry.getKey(),
+                    fields[0], fields[1], fields[2], fields[3], fields[4], fields[5], fields[6]);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// Bounded, expiring cache of rows from the users table so that login and
+// getUserType don't have to query the database on every call.
+// Unknown usernames are cached too (with a shorter lifetime) so floods of
+// invalid logins are answered from memory.
+//
+// A row read from the database must not go back into the cache if the user was
+// invalidated while it was being read, or an old password or a deleted user
+// would be served until the entry expires. Callers take generation() before
+// the query and hand it to put(), which drops the row if invalidate() ran in
+// between. Generations are kept per stripe of usernames, not per user, so they
+// take fixed memory; an invalidation only costs other users in its stripe one
+// cache fill.
+public class UserCache {
+    private static final int GENERATION_STRIPES = 256;
+
+    public static class UserRecord {
+        private final String password;
+        private final String userType;
+        private final int wins;
+
+        public UserRecord(String password, String userType, int wins) {
+            this.password = password;
+            this.userType = userType;
+            this.wins = wins;
+        }
+
+        public String getPassword() { return password; }
+        public String getUserType() { return userType; }
+        public int getWins() { return wins; }
+        public boolean exists() { return this != NOT_FOUND; }
+    }
+
+    // Shared marker for usernames that are not in the database
+    public static final UserRecord NOT_FOUND = new UserRecord(null, null, 0);
+
+    private static class Entry {
+        private final UserRecord record;
+        private final long expiresAt;
+
+        Entry(UserRecord record, long expiresAt) {
+            this.record = record;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final long ttlMillis;
+    private final long negativeTtlMillis;
+    private final Map<String, Entry> entries;
+    private final long[] generations = new long[GENERATION_STRIPES];
+    private long hits = 0;
+    private long misses = 0;
+
+    public UserCache(final int maxEntries, long ttlSeconds, long negativeTtlSeconds) {
+        this.ttlMillis = ttlSeconds * 1000;
+        this.negativeTtlMillis = negativeTtlSeconds * 1000;
+        // Access-ordered so the least recently used user is dropped first when full
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    // Returns the cached record (possibly NOT_FOUND), or null if the caller has to load it
+    public synchronized UserRecord get(String username) {
+        String key = key(username);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        if (System.currentTimeMillis() >= entry.expiresAt) {
+            entries.remove(key);
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.record;
+    }
+
+    // Taken before loading a user from the database; see put()
+    public synchronized long generation(String username) {
+        return generations[stripe(key(username))];
+    }
+
+    // Caches a record loaded after generation() returned the given value, unless the user
+    // has been invalidated since; false if the record was dropped
+    public synchronized boolean put(String username, UserRecord record, long generation) {
+        String key = key(username);
+        if (generations[stripe(key)] != generation) {
+            return false;
+        }
+        long ttl = record.exists() ? ttlMillis : negativeTtlMillis;
+        entries.put(key, new Entry(record, System.currentTimeMillis() + ttl));
+        return true;
+    }
+
+    public synchronized void invalidate(String username) {
+        String key = key(username);
+        entries.remove(key);
+        generations[stripe(key)]++;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        for (int i = 0; i < generations.length; i++) {
+            generations[i]++;
+        }
+    }
+
+    public synchronized int size() { return entries.size(); }
+    public synchronized long getHits() { return hits; }
+    public synchronized long getMisses() { return misses; }
+
+    private static int stripe(String key) {
+        return (key.hashCode() & 0x7fffffff) % GENERATION_STRIPES;
+    }
+
+    // MySQL compares usernames case-insensitively, so the cache has to as well,
+    // otherwise invalidating "player1" would leave a stale "Player1" entry behind
+    private static String key(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+}
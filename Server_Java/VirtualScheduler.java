@@ -0,0 +1,184 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableScheduledFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+// A ScheduledExecutorService on a virtual clock, run by whoever calls
+// runNext()/runFor()/runUntil() on a single thread. Scheduled tasks run in
+// order of due time, ties in the order they were scheduled, and the clock
+// jumps straight to the next due task, so hours of game timers take as long
+// as the work they do and the same inputs always run in the same order.
+//
+// execute() and submit() run the task immediately on the calling thread, as
+// if it had been queued on an idle loop and waited for; no virtual time
+// passes. That is what GameEventLoops.call() expects, so the server's
+// submit-and-wait calls work unchanged. Only used by GameSimulation.
+public class VirtualScheduler extends AbstractExecutorService implements ScheduledExecutorService, GameClock {
+    private final PriorityQueue<Task<?>> queue = new PriorityQueue<>();
+    private long now;
+    private long sequence = 0;
+    private long tasksRun = 0;
+    private boolean shutdown = false;
+
+    private final class Task<V> extends FutureTask<V> implements RunnableScheduledFuture<V> {
+        private long time;
+        private final long period;  // > 0 fixed rate, < 0 fixed delay, 0 one-shot
+        private final long order = sequence++;
+
+        Task(Callable<V> callable, long time) {
+            super(callable);
+            this.time = time;
+            this.period = 0;
+        }
+
+        Task(Runnable runnable, long time, long period) {
+            super(runnable, null);
+            this.time = time;
+            this.period = period;
+        }
+
+        public boolean isPeriodic() {
+            return period != 0;
+        }
+
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(time - now, TimeUnit.MILLISECONDS);
+        }
+
+        public int compareTo(Delayed other) {
+            Task<?> task = (Task<?>) other;
+            return time != task.time ? Long.compare(time, task.time) : Long.compare(order, task.order);
+        }
+
+        public void run() {
+            if (!isPeriodic()) {
+                super.run();
+            } else if (runAndReset() && !shutdown) {
+                time = period > 0 ? time + period : now - period;
+                queue.add(this);
+            }
+        }
+    }
+
+    public VirtualScheduler(long startMillis) {
+        this.now = startMillis;
+    }
+
+    public long millis() {
+        return now;
+    }
+
+    public long getTasksRun() {
+        return tasksRun;
+    }
+
+    // Scheduled tasks not run yet, including cancelled ones that haven't come due
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    // Moves the clock to the next due task and runs it; false if nothing is scheduled
+    public boolean runNext() {
+        Task<?> task;
+        while ((task = queue.poll()) != null) {
+            if (task.isCancelled()) {
+                continue;
+            }
+            now = Math.max(now, task.time);
+            tasksRun++;
+            task.run();
+            return true;
+        }
+        return false;
+    }
+
+    // Runs everything due in the next millis of virtual time and leaves the clock there
+    public void runFor(long millis) {
+        long end = now + millis;
+        Task<?> task;
+        while ((task = queue.peek()) != null && task.time <= end) {
+            runNext();
+        }
+        now = Math.max(now, end);
+    }
+
+    // Runs tasks until done says so or nothing is left; false if the queue ran dry first
+    public boolean runUntil(BooleanSupplier done) {
+        while (!done.getAsBoolean()) {
+            if (!runNext()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void execute(Runnable command) {
+        if (shutdown) {
+            throw new RejectedExecutionException("Scheduler is shut down");
+        }
+        command.run();
+    }
+
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        return enqueue(new Task<>(Executors.callable(command), now + Math.max(0, unit.toMillis(delay))));
+    }
+
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+        return enqueue(new Task<>(callable, now + Math.max(0, unit.toMillis(delay))));
+    }
+
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("period must be positive");
+        }
+        return enqueue(new Task<>(command, now + Math.max(0, unit.toMillis(initialDelay)), unit.toMillis(period)));
+    }
+
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+        if (delay <= 0) {
+            throw new IllegalArgumentException("delay must be positive");
+        }
+        return enqueue(new Task<>(command, now + Math.max(0, unit.toMillis(initialDelay)), -unit.toMillis(delay)));
+    }
+
+    private <V> Task<V> enqueue(Task<V> task) {
+        if (shutdown) {
+            throw new RejectedExecutionException("Scheduler is shut down");
+        }
+        queue.add(task);
+        return task;
+    }
+
+    public void shutdown() {
+        shutdown = true;
+    }
+
+    public List<Runnable> shutdownNow() {
+        shutdown = true;
+        List<Runnable> pending = new ArrayList<>(queue);
+        queue.clear();
+        return pending;
+    }
+
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    public boolean isTerminated() {
+        return shutdown && queue.isEmpty();
+    }
+
+    public boolean awaitTermination(long timeout, TimeUnit unit) {
+        return isTerminated();
+    }
+}
@@ -0,0 +1,100 @@
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Wins over a rolling time window (e.g. the last 24 hours), kept up to date as
+// wins happen instead of being summed from history on every request.
+//
+// The window is split into a ring of fixed-size time buckets, each holding
+// the wins per player in that slice of time, and a Leaderboard holds each
+// player's total over the whole ring for ranked reads. When time moves into a
+// new bucket, the oldest bucket is the one that falls out of the window: its
+// counts are subtracted from the totals and the slot is reused. A rollover
+// therefore only touches the players who won in the expiring bucket, and
+// every win is added once and subtracted once, whatever the window length.
+//
+// Buckets are aligned to multiples of the bucket size since the epoch (UTC),
+// so the window covers between (buckets - 1) and buckets bucket lengths.
+public class WindowedLeaderboard {
+    private final long bucketMillis;
+    private final Map<String, Integer>[] buckets;
+    private final Leaderboard totals = new Leaderboard();
+    // Number (time / bucketMillis) of the newest bucket; slot = number % buckets.length
+    private long newestBucket;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public WindowedLeaderboard(long bucketMillis, int bucketCount) {
+        this.bucketMillis = bucketMillis;
+        this.buckets = new Map[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new HashMap<>();
+        }
+        this.newestBucket = System.currentTimeMillis() / bucketMillis;
+    }
+
+    // Length of time the window covers
+    public long getWindowMillis() {
+        return bucketMillis * buckets.length;
+    }
+
+    // Records a win at the given time; wins older than the window are ignored
+    public synchronized void recordWin(String username, long time) {
+        advance(System.currentTimeMillis());
+        long bucket = time / bucketMillis;
+        if (bucket <= newestBucket - buckets.length || bucket > newestBucket) {
+            return;
+        }
+        buckets[slot(bucket)].merge(username, 1, Integer::sum);
+        totals.increment(username);
+    }
+
+    public synchronized void remove(String username) {
+        for (Map<String, Integer> bucket : buckets) {
+            bucket.remove(username);
+        }
+        totals.remove(username);
+    }
+
+    public synchronized int size() {
+        advance(System.currentTimeMillis());
+        return totals.size();
+    }
+
+    // 1-based rank among players with wins in the window; 0 if the player has none
+    public synchronized int rankOf(String username) {
+        advance(System.currentTimeMillis());
+        return totals.rankOf(username);
+    }
+
+    public synchronized List<Leaderboard.Entry> page(int offset, int count) {
+        advance(System.currentTimeMillis());
+        return totals.page(offset, count);
+    }
+
+    // Moves the window forward to now, expiring every bucket that fell out of it
+    private void advance(long now) {
+        long current = now / bucketMillis;
+        if (current <= newestBucket) {
+            return;
+        }
+        // Past a whole window everything is gone; no need to visit a bucket more than once
+        long expire = Math.min(current - newestBucket, buckets.length);
+        for (long i = 1; i <= expire; i++) {
+            Map<String, Integer> expired = buckets[slot(newestBucket + i)];
+            for (Map.Entry<String, Integer> entry : expired.entrySet()) {
+                int left = totals.getWins(entry.getKey()) - entry.getValue();
+                if (left > 0) {
+                    totals.set(entry.getKey(), left);
+                } else {
+                    totals.remove(entry.getKey());
+                }
+            }
+            expired.clear();
+        }
+        newestBucket = current;
+    }
+
+    private int slot(long bucket) {
+        return (int) (bucket % buckets.length);
+    }
+}
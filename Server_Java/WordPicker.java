@@ -0,0 +1,161 @@
+import java.util.ArrayDeque;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntPredicate;
+
+// Draws a game's words from the dictionary pools that match its mode. The
+// matching pools are contiguous index ranges, so the picker never filters the
+// word list. It walks the combined pool from a random start with a random
+// stride coprime to the pool size. That visits every matching word exactly
+// once, so a game can't repeat a word and needs no record of used words.
+public class WordPicker {
+    // How many unwanted words next(IntPredicate) passes over before giving in
+    private static final int MAX_SKIPS = 16;
+
+    private final Dictionary words;
+    private final int[] rangeStarts;
+    private final int[] rangeSizes;
+    private final int size;
+    private final int start;
+    private final int stride;
+    private int step = 0;
+    // Words passed over by next(IntPredicate); handed out once nothing better is left
+    private final ArrayDeque<Integer> deferred = new ArrayDeque<>();
+
+    public WordPicker(Dictionary words, GameMode mode) {
+        this(words, mode, ThreadLocalRandom.current());
+    }
+
+    // Takes the start and stride from the given source, e.g. a seeded one for a repeatable simulation
+    public WordPicker(Dictionary words, GameMode mode, Random random) {
+        this(words, mode, -1, -1, 0, new int[0], random);
+    }
+
+    // Resumes a walk saved from getStart(), getStride(), getStep() and getDeferred().
+    // A start or stride that doesn't fit the pool (e.g. the dictionary changed) starts a new walk.
+    public WordPicker(Dictionary words, GameMode mode, int savedStart, int savedStride, int savedStep, int[] savedDeferred) {
+        this(words, mode, savedStart, savedStride, savedStep, savedDeferred, ThreadLocalRandom.current());
+    }
+
+    private WordPicker(Dictionary words, GameMode mode, int savedStart, int savedStride, int savedStep, int[] savedDeferred, Random random) {
+        this.words = words;
+        int minLength = Math.max(1, mode.getMinLength());
+        int maxLength = mode.getMaxLength() > 0 ? Math.min(mode.getMaxLength(), words.getMaxLength()) : words.getMaxLength();
+        int lengths = Math.max(0, maxLength - minLength + 1);
+        rangeStarts = new int[lengths];
+        rangeSizes = new int[lengths];
+        int total = 0;
+        for (int i = 0; i < lengths; i++) {
+            int length = minLength + i;
+            if (mode.getDifficulty() == GameMode.ANY_DIFFICULTY) {
+                rangeStarts[i] = words.bucketStart(length);
+                rangeSizes[i] = words.bucketEnd(length) - rangeStarts[i];
+            } else {
+                rangeStarts[i] = words.poolStart(length, mode.getDifficulty());
+                rangeSizes[i] = words.poolEnd(length, mode.getDifficulty()) - rangeStarts[i];
+            }
+            total += rangeSizes[i];
+        }
+        size = total;
+
+        if (savedStart >= 0 && savedStart < size && savedStride > 0 && savedStride < Math.max(2, size)
+                && gcd(savedStride, size) == 1) {
+            start = savedStart;
+            stride = savedStride;
+            step = Math.min(Math.max(0, savedStep), size);
+            for (int index : savedDeferred) {
+                deferred.add(index);
+            }
+            return;
+        }
+        start = size > 0 ? random.nextInt(size) : 0;
+        int candidate = 1;
+        if (size > 2) {
+            do {
+                candidate = 1 + random.nextInt(size - 1);
+            } while (gcd(candidate, size) != 1);
+        }
+        stride = candidate;
+    }
+
+    // Number of words that match the mode
+    public int size() {
+        return size;
+    }
+
+    public int remaining() {
+        return size - step + deferred.size();
+    }
+
+    // Dictionary index of the next word, or -1 once every matching word has been used
+    public int next() {
+        int index = nextInWalk();
+        if (index < 0 && !deferred.isEmpty()) {
+            return deferred.poll();
+        }
+        return index;
+    }
+
+    // Next word the filter accepts. Rejected words are not lost, just put back for later,
+    // and after MAX_SKIPS rejections the longest-deferred word is used anyway.
+    public int next(IntPredicate wanted) {
+        for (int skips = 0; skips < MAX_SKIPS; skips++) {
+            int index = nextInWalk();
+            if (index < 0) {
+                break;
+            }
+            if (wanted.test(index)) {
+                return index;
+            }
+            deferred.add(index);
+        }
+        Integer fallback = deferred.poll();
+        return fallback != null ? fallback : -1;
+    }
+
+    private int nextInWalk() {
+        if (step >= size) {
+            return -1;
+        }
+        int position = (int) ((start + (long) step * stride) % size);
+        step++;
+        return indexAt(position);
+    }
+
+    public Dictionary getDictionary() {
+        return words;
+    }
+
+    public int getStart() { return start; }
+    public int getStride() { return stride; }
+    public int getStep() { return step; }
+
+    public int[] getDeferred() {
+        int[] indexes = new int[deferred.size()];
+        int i = 0;
+        for (int index : deferred) {
+            indexes[i++] = index;
+        }
+        return indexes;
+    }
+
+    // Maps a position in the combined pool to a dictionary index (one range per word length)
+    private int indexAt(int position) {
+        for (int i = 0; i < rangeSizes.length; i++) {
+            if (position < rangeSizes[i]) {
+                return rangeStarts[i] + position;
+            }
+            position -= rangeSizes[i];
+        }
+        return -1;
+    }
+
+    private static int gcd(int a, int b) {
+        while (b != 0) {
+            int t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+}
@@ -5,7 +5,7 @@ REM Set classpath to include MySQL connector and parent directory for GameApp pa
 set CLASSPATH=.;mysql-connector-j-9.3.0.jar;..
 
 REM Compile the server
-javac -cp %CLASSPATH% GameServerApp.java GameServer.java
+javac -cp %CLASSPATH% *.java
 
 if %ERRORLEVEL% EQU 0 (
     echo Compilation successful!
@@ -31,6 +31,65 @@ INSERT INTO game_config (config_name, config_value, description) VALUES
 ('wait_time', 10, 'Wait time for players to join a game (seconds)'),
 ('round_duration', 30, 'Duration of each game round (seconds)');
 
+-- Drop game history tables if exists to recreate
+DROP TABLE IF EXISTS round_results;
+DROP TABLE IF EXISTS game_results;
+
+-- Create game history tables, filled in batches by the server's results writer.
+-- A game is identified by its game ID and start time (game IDs are short and can repeat).
+CREATE TABLE game_results (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    game_id VARCHAR(16) NOT NULL,
+    started_at DATETIME(3) NOT NULL,
+    finished_at DATETIME(3) NOT NULL,
+    duration_ms BIGINT NOT NULL,
+    mode VARCHAR(40) NOT NULL,
+    player1 VARCHAR(50) DEFAULT NULL,
+    player2 VARCHAR(50) DEFAULT NULL,
+    player1_score INT NOT NULL DEFAULT 0,
+    player2_score INT NOT NULL DEFAULT 0,
+    winner VARCHAR(50) DEFAULT NULL,
+    outcome ENUM('won', 'forfeit', 'draw', 'abandoned') NOT NULL,
+    rounds INT NOT NULL DEFAULT 0,
+    UNIQUE KEY uq_game_results_game (game_id, started_at),
+    KEY idx_game_results_finished (finished_at),
+    KEY idx_game_results_winner (winner)
+);
+
+CREATE TABLE round_results (
+    game_id VARCHAR(16) NOT NULL,
+    game_started_at DATETIME(3) NOT NULL,
+    round_number INT NOT NULL,
+    word VARCHAR(64) NOT NULL,
+    winner VARCHAR(50) DEFAULT NULL,
+    started_at DATETIME(3) NOT NULL,
+    duration_ms BIGINT NOT NULL,
+    player1_guesses VARCHAR(26) NOT NULL DEFAULT '',
+    player2_guesses VARCHAR(26) NOT NULL DEFAULT '',
+    player1_wrong INT NOT NULL DEFAULT 0,
+    player2_wrong INT NOT NULL DEFAULT 0,
+    PRIMARY KEY (game_id, game_started_at, round_number),
+    KEY idx_round_results_started (started_at)
+);
+
+-- Drop player statistics table if exists to recreate
+DROP TABLE IF EXISTS player_stats;
+
+-- Create per-player statistics table. The server counts in memory and adds its
+-- changes here in periodic batches (game.stats.flushSeconds).
+CREATE TABLE player_stats (
+    username VARCHAR(50) PRIMARY KEY,
+    games_played INT NOT NULL DEFAULT 0,
+    games_won INT NOT NULL DEFAULT 0,
+    rounds_won INT NOT NULL DEFAULT 0,
+    solve_time_ms BIGINT NOT NULL DEFAULT 0,
+    guesses INT NOT NULL DEFAULT 0,
+    wrong_guesses INT NOT NULL DEFAULT 0,
+    current_streak INT NOT NULL DEFAULT 0,
+    best_streak INT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+);
+
 -- Insert some default users for testing
 INSERT INTO users (username, password, user_type, wins) VALUES
 ('admin', 'admin123', 'admin', 0),